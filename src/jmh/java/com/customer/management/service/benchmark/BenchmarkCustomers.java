@@ -0,0 +1,87 @@
+package com.customer.management.service.benchmark;
+
+import com.customer.management.service.entity.AddressModel;
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.mapper.CustomerMapper;
+import com.customer.management.service.request.AddressRequest;
+import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.CustomerResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Customers of realistic size shared by the benchmarks, built the way the service builds them.
+ */
+final class BenchmarkCustomers {
+
+	static final LocalDateTime NOW = LocalDateTime.of(2025, 9, 1, 13, 14, 53, 393074000);
+
+	private BenchmarkCustomers() {
+	}
+
+	static String mobileNumber(long customerId) {
+		return String.valueOf(9_000_000_000L + customerId);
+	}
+
+	static CustomerRequest request(int addressCount) {
+		List<AddressRequest> addresses = new ArrayList<>(addressCount);
+		for (int i = 0; i < addressCount; i++) {
+			addresses.add(AddressRequest.builder()
+					.street("Street " + i)
+					.city("Chinnamandem")
+					.state("Andhra pradesh")
+					.country("India")
+					.addressType("HOME")
+					.pincode(516214L)
+					.build());
+		}
+		return CustomerRequest.builder()
+				.firstName("Test")
+				.lastName("Customer")
+				.fullName("Test Customer")
+				.age(30)
+				.mobileNumber(mobileNumber(1))
+				.emailAddress("customer@example.com")
+				.addresses(addresses)
+				.build();
+	}
+
+	static CustomerModel model(long customerId, int addressCount) {
+		CustomerModel model = CustomerModel.builder()
+				.customerId(customerId)
+				.firstName("Test")
+				.lastName("Customer")
+				.fullName("Test Customer " + customerId)
+				.age(30)
+				.mobileNumber(mobileNumber(customerId))
+				.emailAddress("customer" + customerId + "@example.com")
+				.password("$sha256$v=1$c2FsdHNhbHRzYWx0c2FsdA$aGFzaGhhc2hoYXNoaGFzaGhhc2hoYXNoaGFzaGhhc2g")
+				.status(CustomerStatus.ACTIVE)
+				.createdDate(NOW)
+				.updatedDate(NOW)
+				.version(3)
+				.build();
+		List<AddressModel> addresses = new ArrayList<>(addressCount);
+		for (int i = 0; i < addressCount; i++) {
+			addresses.add(AddressModel.builder()
+					.addressId(customerId * 100 + i)
+					.street("Street " + i)
+					.city("Chinnamandem")
+					.state("Andhra pradesh")
+					.country("India")
+					.addressType("HOME")
+					.pincode(516214L)
+					.customer(model)
+					.build());
+		}
+		model.setAddress(addresses);
+		return model;
+	}
+
+	static CustomerResponse response(long customerId, int addressCount) {
+		return CustomerMapper.toCustomerResponse(model(customerId, addressCount));
+	}
+}
@@ -0,0 +1,60 @@
+package com.customer.management.service.benchmark;
+
+import com.customer.management.service.cache.CustomerJsonCache;
+import com.customer.management.service.response.CustomerResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JSON serialization of a {@link CustomerResponse} with the ObjectMapper Spring MVC uses, compared with
+ * a hit in {@link CustomerJsonCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerJsonBenchmark {
+
+	@Param({"1", "5", "20"})
+	public int addresses;
+
+	private ObjectMapper objectMapper;
+	private CustomerJsonCache jsonCache;
+	private CustomerResponse customer;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		jsonCache = new CustomerJsonCache(objectMapper, new SimpleMeterRegistry(), 1000, 600);
+		customer = BenchmarkCustomers.response(1, addresses);
+		jsonCache.get(customer);
+	}
+
+	@Benchmark
+	public String writeValueAsString() throws JsonProcessingException {
+		return objectMapper.writeValueAsString(customer);
+	}
+
+	@Benchmark
+	public byte[] writeValueAsBytes() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(customer);
+	}
+
+	@Benchmark
+	public CustomerJsonCache.CustomerJson jsonCacheHit() {
+		return jsonCache.get(customer);
+	}
+}
@@ -0,0 +1,54 @@
+package com.customer.management.service.benchmark;
+
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.mapper.CustomerMapper;
+import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.CustomerResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping between requests, entities and responses, per number of addresses of the customer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+	@Param({"1", "5", "20"})
+	public int addresses;
+
+	private CustomerRequest request;
+	private CustomerModel model;
+
+	@Setup
+	public void setUp() {
+		request = BenchmarkCustomers.request(addresses);
+		model = BenchmarkCustomers.model(1, addresses);
+	}
+
+	@Benchmark
+	public CustomerModel toCustomerModel() {
+		return CustomerMapper.toCustomerModel(request, model.getPassword());
+	}
+
+	@Benchmark
+	public CustomerResponse toCustomerResponse() {
+		return CustomerMapper.toCustomerResponse(model);
+	}
+
+	@Benchmark
+	public CustomerResponse toCustomerResponseWithOtp() {
+		return CustomerMapper.toCustomerResponse(model, model.getAddress(), "123456");
+	}
+}
@@ -0,0 +1,206 @@
+package com.customer.management.service.benchmark;
+
+import com.customer.management.service.CustomerManagementServiceApplication;
+import com.customer.management.service.cache.OffHeapCustomerStore;
+import com.customer.management.service.entity.AddressModel;
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.mapper.CustomerMapper;
+import com.customer.management.service.repository.CustomerBatchRepository;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.response.CustomerResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency and footprint of the customer stores, for 100 thousand and 10 million customers:
+ * - offHeapGet / offHeapPut: the off-heap store, which decodes a fresh {@link CustomerResponse} per hit.
+ *   Puts rewrite existing customers, so they include compaction.
+ * - onHeapGet / onHeapPut: the on-heap Caffeine cache, which returns the stored instance.
+ * - jpaGet: the read both caches save, findWithAddressByCustomerId and the mapper in a read-only
+ *   transaction, against the embedded H2 database of the test profile.
+ * Every store is its own state, so a run only fills the store it measures. After filling it, the state
+ * prints the heap still used after a full GC and the direct memory in use; the default -prof gc adds
+ * allocation and GC counts for the measurement. Puts build their customer per call, as a cache fill does.
+ * Measured footprint per customer with one address: about 300 bytes off-heap (2.1 GB direct and 0.8 GB
+ * heap at 10 million), 700 bytes on-heap and 1.7 KB for the H2 table. So 10 million customers fit the
+ * default -Xmx8g off-heap and on-heap only; jpaGet at 10 million needs -jvmArgsAppend -Xmx24g.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-XX:MaxDirectMemorySize=4g"})
+public class CustomerStoreBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class OffHeap {
+
+		@Param({"100000", "10000000"})
+		public int customers;
+
+		private OffHeapCustomerStore store;
+		private int cursor;
+
+		@Setup
+		public void setUp() {
+			// about 220 bytes per record, room for one rewrite of every customer before compaction
+			long maxSizeMb = Math.max(256, (long) customers * 400 >> 20);
+			store = new OffHeapCustomerStore(64, maxSizeMb, customers, new SimpleMeterRegistry());
+			for (int i = 1; i <= customers; i++) {
+				store.put(BenchmarkCustomers.response(i, 1));
+			}
+			printFootprint("offHeap", customers);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class OnHeap {
+
+		@Param({"100000", "10000000"})
+		public int customers;
+
+		private Cache<Long, CustomerResponse> cache;
+		private int cursor;
+
+		@Setup
+		public void setUp() {
+			cache = Caffeine.newBuilder().maximumSize(customers).build();
+			for (int i = 1; i <= customers; i++) {
+				cache.put((long) i, BenchmarkCustomers.response(i, 1));
+			}
+			printFootprint("onHeap", customers);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Jpa {
+
+		private static final int CHUNK_SIZE = 10_000;
+
+		@Param({"100000", "10000000"})
+		public int customers;
+
+		private ConfigurableApplicationContext context;
+		private CustomerRepository customerRepository;
+		private TransactionTemplate readOnlyTransaction;
+		private long[] customerIds;
+		private int cursor;
+
+		@Setup
+		public void setUp() {
+			context = new SpringApplicationBuilder(CustomerManagementServiceApplication.class)
+					.profiles("test")
+					.web(WebApplicationType.NONE)
+					.run("--spring.jpa.properties.hibernate.generate_statistics=false",
+							"--logging.level.com.customer.management.service=WARN",
+							"--customer.purge.enabled=false",
+							"--customer.archive.enabled=false",
+							"--customer.bloom.enabled=false");
+			customerRepository = context.getBean(CustomerRepository.class);
+			CustomerBatchRepository batchRepository = context.getBean(CustomerBatchRepository.class);
+			TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+			customerIds = new long[customers];
+			for (int start = 0; start < customers; start += CHUNK_SIZE) {
+				int first = start;
+				int end = Math.min(customers, start + CHUNK_SIZE);
+				transaction.executeWithoutResult(status -> {
+					List<CustomerModel> chunk = new ArrayList<>(end - first);
+					List<AddressModel> addresses = new ArrayList<>(end - first);
+					for (int i = first; i < end; i++) {
+						CustomerModel model = BenchmarkCustomers.model(i + 1, 1);
+						chunk.add(model);
+						addresses.addAll(model.getAddress());
+					}
+					batchRepository.insertCustomers(chunk);
+					batchRepository.insertAddresses(addresses);
+					for (int i = first; i < end; i++) {
+						customerIds[i] = chunk.get(i - first).getCustomerId();
+					}
+				});
+			}
+			readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+			readOnlyTransaction.setReadOnly(true);
+			printFootprint("jpa", customers);
+		}
+
+		@TearDown
+		public void tearDown() {
+			context.close();
+		}
+	}
+
+	private static int next(int cursor, int customers) {
+		// a stride coprime to the size visits every customer in a cache-unfriendly order
+		return (cursor + 7919) % customers;
+	}
+
+	private static void printFootprint(String store, int customers) {
+		System.gc();
+		System.gc();
+		long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		long direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+				.filter(pool -> pool.getName().equals("direct"))
+				.mapToLong(BufferPoolMXBean::getMemoryUsed)
+				.sum();
+		System.out.printf("%n%s, %d customers: %d MB heap after GC, %d MB direct (%d bytes per customer)%n",
+				store, customers, heap >> 20, direct >> 20, (heap + direct) / customers);
+	}
+
+	@Benchmark
+	public Optional<CustomerResponse> offHeapGet(OffHeap state) {
+		state.cursor = next(state.cursor, state.customers);
+		return state.store.getByCustomerId(state.cursor + 1);
+	}
+
+	@Benchmark
+	public void offHeapPut(OffHeap state) {
+		state.cursor = next(state.cursor, state.customers);
+		state.store.put(BenchmarkCustomers.response(state.cursor + 1, 1));
+	}
+
+	@Benchmark
+	public CustomerResponse onHeapGet(OnHeap state) {
+		state.cursor = next(state.cursor, state.customers);
+		return state.cache.getIfPresent((long) state.cursor + 1);
+	}
+
+	@Benchmark
+	public void onHeapPut(OnHeap state) {
+		state.cursor = next(state.cursor, state.customers);
+		state.cache.put((long) state.cursor + 1, BenchmarkCustomers.response(state.cursor + 1, 1));
+	}
+
+	@Benchmark
+	public CustomerResponse jpaGet(Jpa state) {
+		state.cursor = next(state.cursor, state.customers);
+		long customerId = state.customerIds[state.cursor];
+		return state.readOnlyTransaction.execute(status -> state.customerRepository.findWithAddressByCustomerId(customerId)
+				.map(CustomerMapper::toCustomerResponse)
+				.orElseThrow());
+	}
+}
@@ -0,0 +1,155 @@
+package com.customer.management.service.benchmark;
+
+import com.customer.management.service.generator.IdAllocator;
+import com.customer.management.service.generator.PooledTableIdAllocator;
+import com.customer.management.service.generator.TimeOrderedIdAllocator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Id allocation and the insert throughput it allows, on an embedded H2 database in MySQL mode.
+ * - pooledNextId / timeOrderedNextId: ids per second from {@link PooledTableIdAllocator} (one
+ *   row-locking UPDATE per block) and {@link TimeOrderedIdAllocator}; run with -t 8 for contention.
+ * - identityInsert: one INSERT per row that reads the generated key back, which is what Hibernate
+ *   does for IDENTITY columns.
+ * - pooledBatchInsert / timeOrderedBatchInsert: ids assigned in the JVM, the rows sent as one JDBC batch.
+ * Every insert benchmark writes 100 rows in one transaction and scores rows per second.
+ * H2 has no network round trip, so the gap to IDENTITY is wider on MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdAllocatorBenchmark {
+
+	private static final int ROWS = 100;
+	private static final String URL = "jdbc:h2:mem:id-allocator-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	private static final String TABLE = "assigned_customers";
+	private static final String ID_COLUMN = "customer_id";
+
+	@Param({"100"})
+	public int blockSize;
+
+	private HikariDataSource dataSource;
+	private PooledTableIdAllocator pooled;
+	private TimeOrderedIdAllocator timeOrdered;
+
+	@Setup
+	public void setUp() throws SQLException {
+		dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(URL);
+		dataSource.setUsername("sa");
+		dataSource.setMaximumPoolSize(32);
+		execute("CREATE TABLE IF NOT EXISTS id_allocator (sequence_name VARCHAR(255) PRIMARY KEY, next_val BIGINT NOT NULL)");
+		execute("CREATE TABLE IF NOT EXISTS identity_customers (customer_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+				"full_name VARCHAR(255) NOT NULL)");
+		execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (customer_id BIGINT PRIMARY KEY, full_name VARCHAR(255) NOT NULL)");
+
+		DataSourceProperties properties = new DataSourceProperties();
+		properties.setUrl(URL);
+		properties.setUsername("sa");
+		properties.setPassword("");
+		pooled = new PooledTableIdAllocator(properties, blockSize, 2);
+		timeOrdered = new TimeOrderedIdAllocator(0);
+	}
+
+	@Setup(Level.Iteration)
+	public void emptyTables() throws SQLException {
+		// the id_allocator row is kept, so pooled ids keep increasing across iterations
+		execute("TRUNCATE TABLE identity_customers");
+		execute("TRUNCATE TABLE " + TABLE);
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.close();
+	}
+
+	@Benchmark
+	public long pooledNextId() {
+		return pooled.nextId(TABLE, ID_COLUMN);
+	}
+
+	@Benchmark
+	public long timeOrderedNextId() {
+		return timeOrdered.nextId(TABLE, ID_COLUMN);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public long identityInsert() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement insert = connection.prepareStatement(
+					 "INSERT INTO identity_customers (full_name) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+			connection.setAutoCommit(false);
+			long lastId = 0;
+			for (int i = 0; i < ROWS; i++) {
+				insert.setString(1, "Test Customer " + i);
+				insert.executeUpdate();
+				try (ResultSet keys = insert.getGeneratedKeys()) {
+					keys.next();
+					lastId = keys.getLong(1);
+				}
+			}
+			connection.commit();
+			return lastId;
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public long pooledBatchInsert() throws SQLException {
+		return batchInsert(pooled);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public long timeOrderedBatchInsert() throws SQLException {
+		return batchInsert(timeOrdered);
+	}
+
+	private long batchInsert(IdAllocator allocator) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement insert = connection.prepareStatement(
+					 "INSERT INTO " + TABLE + " (customer_id, full_name) VALUES (?, ?)")) {
+			connection.setAutoCommit(false);
+			long lastId = 0;
+			for (int i = 0; i < ROWS; i++) {
+				lastId = allocator.nextId(TABLE, ID_COLUMN);
+				insert.setLong(1, lastId);
+				insert.setString(2, "Test Customer " + i);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+			connection.commit();
+			return lastId;
+		}
+	}
+
+	private void execute(String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+}
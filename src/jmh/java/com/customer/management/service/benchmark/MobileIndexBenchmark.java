@@ -0,0 +1,63 @@
+package com.customer.management.service.benchmark;
+
+import com.customer.management.service.util.LongLongHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mobile number to customerId lookups in the primitive {@link LongLongHashMap} behind MobileNumberIndex,
+ * keyed by the number parsed as a long, compared with a HashMap&lt;String, Long&gt;.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MobileIndexBenchmark {
+
+	@Param({"1000000"})
+	public int customers;
+
+	private LongLongHashMap primitiveIndex;
+	private Map<String, Long> boxedIndex;
+	private String[] mobileNumbers;
+	private int cursor;
+
+	@Setup
+	public void setUp() {
+		primitiveIndex = new LongLongHashMap(customers, -1);
+		boxedIndex = new HashMap<>(customers * 2);
+		mobileNumbers = new String[customers];
+		for (int i = 0; i < customers; i++) {
+			mobileNumbers[i] = BenchmarkCustomers.mobileNumber(i + 1);
+			primitiveIndex.put(Long.parseLong(mobileNumbers[i]), i + 1);
+			boxedIndex.put(mobileNumbers[i], (long) i + 1);
+		}
+	}
+
+	private String nextMobileNumber() {
+		cursor = (cursor + 7919) % customers;
+		return mobileNumbers[cursor];
+	}
+
+	@Benchmark
+	public long primitiveGet() {
+		return primitiveIndex.get(Long.parseLong(nextMobileNumber()));
+	}
+
+	@Benchmark
+	public Long boxedGet() {
+		return boxedIndex.get(nextMobileNumber());
+	}
+}
@@ -0,0 +1,109 @@
+package com.customer.management.service.benchmark;
+
+import com.customer.management.service.password.Pbkdf2PasswordHasher;
+import com.customer.management.service.password.Sha256PasswordHasher;
+import com.customer.management.service.util.PasswordUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Password hashing per algorithm, PBKDF2 per iteration count, compared with the unsalted SHA-256 of the
+ * old PasswordUtil.encodePassword and PasswordUtil.autoGenerateHashPassword (copied here as they were).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+	private static final String PASSWORD = "sufiyan@1234";
+
+	private final Sha256PasswordHasher sha256 = new Sha256PasswordHasher();
+	private String sha256Hash;
+
+	@State(Scope.Benchmark)
+	public static class Pbkdf2 {
+
+		@Param({"1000", "10000", "210000"})
+		public int iterations;
+
+		Pbkdf2PasswordHasher hasher;
+		String hash;
+
+		@Setup
+		public void setUp() {
+			hasher = new Pbkdf2PasswordHasher(iterations);
+			hash = hasher.hash(PASSWORD);
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		sha256Hash = sha256.hash(PASSWORD);
+	}
+
+	@Benchmark
+	public String pbkdf2Hash(Pbkdf2 pbkdf2) {
+		return pbkdf2.hasher.hash(PASSWORD);
+	}
+
+	@Benchmark
+	public boolean pbkdf2Matches(Pbkdf2 pbkdf2) {
+		return pbkdf2.hasher.matches(PASSWORD, pbkdf2.hash);
+	}
+
+	@Benchmark
+	public String sha256Hash() {
+		return sha256.hash(PASSWORD);
+	}
+
+	@Benchmark
+	public boolean sha256Matches() {
+		return sha256.matches(PASSWORD, sha256Hash);
+	}
+
+	/**
+	 * What PasswordHashingService.hashGeneratedPassword does, without the timer.
+	 */
+	@Benchmark
+	public String generatedPasswordHash() {
+		return sha256.hash(PasswordUtil.generatePassword());
+	}
+
+	@Benchmark
+	public String encodePasswordLegacy() throws NoSuchAlgorithmException {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		byte[] hashBytes = digest.digest(PASSWORD.getBytes(StandardCharsets.UTF_8));
+		return Base64.getEncoder().encodeToString(hashBytes);
+	}
+
+	@Benchmark
+	public String autoGenerateHashPasswordLegacy() throws NoSuchAlgorithmException {
+		String plainPassword = RandomGenerationBenchmark.legacyPassword();
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		byte[] encodedHash = digest.digest(plainPassword.getBytes());
+		StringBuilder hexString = new StringBuilder();
+		for (byte b : encodedHash) {
+			String hex = Integer.toHexString(0xff & b);
+			if (hex.length() == 1) {
+				hexString.append('0');
+			}
+			hexString.append(hex);
+		}
+		return hexString.toString();
+	}
+}
@@ -0,0 +1,161 @@
+package com.customer.management.service.load;
+
+import com.customer.management.service.entity.AddressModel;
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.repository.CustomerBatchRepository;
+import com.customer.management.service.request.AddressRequest;
+import com.customer.management.service.request.CustomerRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic synthetic customers: customer i always has the same names, age, contact details and
+ * addresses for a given seed, so runs of different builds load identical data.
+ * - Mobile numbers 7000000000 + i and emails c{i}@load.example.com are unique without any lookup.
+ * - Values are derived from a hash of (seed, i), so any customer can be rebuilt without the others.
+ * Rows are written through {@link CustomerBatchRepository}, one JDBC batch and transaction per chunk.
+ */
+final class DatasetGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+	static final long SEEDED_MOBILE_BASE = 7_000_000_000L;
+	static final long CREATED_MOBILE_BASE = 8_000_000_000L;
+	static final long PATCHED_MOBILE_BASE = 8_500_000_000L;
+
+	private static final String[] FIRST_NAMES = {"Aarav", "Ananya", "Hayathulla", "Ishaan", "Kavya", "Mohammed",
+			"Priya", "Rahul", "Sufiyan", "Zara", "Arjun", "Meera", "Vikram", "Fatima", "Rohan", "Sneha"};
+	private static final String[] LAST_NAMES = {"Khan", "Sharma", "Reddy", "Iyer", "Patel", "Naidu", "Gupta",
+			"Shaikh", "Menon", "Rao", "Das", "Verma"};
+	private static final String[][] PLACES = {{"Chinnamandem", "Andhra pradesh"}, {"Bengaluru", "Karnataka"},
+			{"Hyderabad", "Telangana"}, {"Chennai", "Tamil Nadu"}, {"Pune", "Maharashtra"}, {"Kochi", "Kerala"}};
+	private static final String[] ADDRESS_TYPES = {"HOME", "OFFICE", "OTHER"};
+
+	private final long seed;
+	private final int addressesPerCustomer;
+
+	DatasetGenerator(long seed, int addressesPerCustomer) {
+		this.seed = seed;
+		this.addressesPerCustomer = addressesPerCustomer;
+	}
+
+	static String mobileNumber(long index) {
+		return String.valueOf(SEEDED_MOBILE_BASE + index);
+	}
+
+	static String emailAddress(long index) {
+		return "c" + index + "@load.example.com";
+	}
+
+	String fullName(long index) {
+		long hash = hash(index);
+		return FIRST_NAMES[(int) (hash & 15)] + " " + LAST_NAMES[(int) ((hash >>> 4) % LAST_NAMES.length)] + " " + index;
+	}
+
+	/**
+	 * @return a create request for a customer that is not part of the seeded data
+	 */
+	CustomerRequest newCustomer(long number) {
+		long hash = hash(-number - 1);
+		String mobileNumber = String.valueOf(CREATED_MOBILE_BASE + number);
+		List<AddressRequest> addresses = new ArrayList<>(addressesPerCustomer);
+		for (int i = 0; i < Math.max(1, addressesPerCustomer); i++) {
+			String[] place = PLACES[(int) ((hash >>> (8 * i)) & 0xff) % PLACES.length];
+			addresses.add(AddressRequest.builder()
+					.street("Street " + (hash >>> 40) % 500)
+					.city(place[0])
+					.state(place[1])
+					.country("India")
+					.addressType(ADDRESS_TYPES[i % ADDRESS_TYPES.length])
+					.pincode(500000L + (hash >>> 20) % 100000)
+					.build());
+		}
+		return CustomerRequest.builder()
+				.firstName(FIRST_NAMES[(int) (hash & 15)])
+				.lastName(LAST_NAMES[(int) ((hash >>> 4) % LAST_NAMES.length)])
+				.fullName("Created Customer " + number)
+				.age(18 + (int) ((hash >>> 12) % 60))
+				.mobileNumber(mobileNumber)
+				.emailAddress("n" + number + "@load.example.com")
+				.addresses(addresses)
+				.build();
+	}
+
+	/**
+	 * Inserts customers 0 to count - 1 in chunks.
+	 *
+	 * @param passwordHash hash stored for every seeded customer (hashing millions of passwords is not the point)
+	 * @return the allocated customerId of every customer, by index
+	 */
+	long[] seed(int count, int chunkSize, CustomerBatchRepository batchRepository, TransactionTemplate transactionTemplate,
+				String passwordHash) {
+		long[] customerIds = new long[count];
+		long started = System.nanoTime();
+		for (int from = 0; from < count; from += chunkSize) {
+			int to = Math.min(count, from + chunkSize);
+			List<CustomerModel> customers = new ArrayList<>(to - from);
+			List<AddressModel> addresses = new ArrayList<>((to - from) * addressesPerCustomer);
+			for (int index = from; index < to; index++) {
+				CustomerModel customer = customer(index, passwordHash);
+				customers.add(customer);
+				addresses.addAll(customer.getAddress());
+			}
+			transactionTemplate.executeWithoutResult(status -> {
+				batchRepository.insertCustomers(customers);
+				batchRepository.insertAddresses(addresses);
+			});
+			for (int i = 0; i < customers.size(); i++) {
+				customerIds[from + i] = customers.get(i).getCustomerId();
+			}
+			if ((to / chunkSize) % 50 == 0 || to == count) {
+				logger.warn("Seeded {} of {} customers ({} per second)", to, count,
+						(long) (to * 1e9 / (System.nanoTime() - started)));
+			}
+		}
+		return customerIds;
+	}
+
+	private CustomerModel customer(long index, String passwordHash) {
+		long hash = hash(index);
+		CustomerModel customer = CustomerModel.builder()
+				.firstName(FIRST_NAMES[(int) (hash & 15)])
+				.lastName(LAST_NAMES[(int) ((hash >>> 4) % LAST_NAMES.length)])
+				.fullName(fullName(index))
+				.age(18 + (int) ((hash >>> 12) % 60))
+				.mobileNumber(mobileNumber(index))
+				.emailAddress(emailAddress(index))
+				.password(passwordHash)
+				.status((hash >>> 19 & 3) == 0 ? CustomerStatus.INACTIVE : CustomerStatus.ACTIVE)
+				.build();
+		List<AddressModel> addresses = new ArrayList<>(addressesPerCustomer);
+		for (int i = 0; i < addressesPerCustomer; i++) {
+			String[] place = PLACES[(int) ((hash >>> (8 * i)) & 0xff) % PLACES.length];
+			addresses.add(AddressModel.builder()
+					.street("Street " + (hash >>> 40) % 500)
+					.city(place[0])
+					.state(place[1])
+					.country("India")
+					.addressType(ADDRESS_TYPES[i % ADDRESS_TYPES.length])
+					.pincode(500000L + (hash >>> 20) % 100000)
+					.customer(customer)
+					.build());
+		}
+		customer.setAddress(addresses);
+		return customer;
+	}
+
+	/**
+	 * SplitMix64 finalizer of (seed, index).
+	 */
+	private long hash(long index) {
+		long z = seed + index * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return (z ^ (z >>> 31)) >>> 1;
+	}
+}
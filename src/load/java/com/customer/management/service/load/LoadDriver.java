@@ -0,0 +1,249 @@
+package com.customer.management.service.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load driver: one thread per client sends one request, wait for the response and pick the
+ * next operation from the weighted mix. Latencies are recorded per operation into HdrHistogram
+ * {@link Recorder}s, in microseconds, only during the measurement phase.
+ * Being closed-loop, a slow server also slows the clients down (coordinated omission): compare builds by
+ * throughput and percentiles together.
+ */
+final class LoadDriver {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(REQUEST_TIMEOUT)
+			.build();
+	private final String baseUri;
+	private final ObjectMapper objectMapper;
+	private final DatasetGenerator generator;
+	private final long[] customerIds;
+	private final int stableCount;
+	private final int listPages;
+	private final int bulkSize;
+	private final LoadOperation[] operations;
+	private final int[] cumulativeWeights;
+	private final Map<LoadOperation, Endpoint> endpoints = new EnumMap<>(LoadOperation.class);
+	private final AtomicLong created = new AtomicLong();
+	private final AtomicLong patched = new AtomicLong();
+	private final AtomicInteger deleteCursor;
+	private volatile boolean measuring;
+	private volatile boolean stopped;
+
+	LoadDriver(String baseUri, ObjectMapper objectMapper, DatasetGenerator generator, long[] customerIds,
+			   int mutableCount, int listPages, int bulkSize, Map<LoadOperation, Integer> mix) {
+		this.baseUri = baseUri;
+		this.objectMapper = objectMapper;
+		this.generator = generator;
+		this.customerIds = customerIds;
+		this.stableCount = customerIds.length - mutableCount;
+		this.listPages = Math.max(1, listPages);
+		this.bulkSize = Math.max(1, bulkSize);
+		this.deleteCursor = new AtomicInteger(customerIds.length - 1);
+		this.operations = mix.keySet().toArray(new LoadOperation[0]);
+		this.cumulativeWeights = new int[operations.length];
+		int total = 0;
+		for (int i = 0; i < operations.length; i++) {
+			total += mix.get(operations[i]);
+			cumulativeWeights[i] = total;
+			endpoints.put(operations[i], new Endpoint());
+		}
+	}
+
+	/**
+	 * Runs the warmup, then measures for the given duration. May be called again with another client count;
+	 * created, patched and deleted customers carry over, measurements start from zero.
+	 *
+	 * @return measured duration in nanoseconds and one histogram per operation
+	 */
+	Result run(int clients, Duration warmup, Duration duration, long seed) throws InterruptedException {
+		stopped = false;
+		ExecutorService pool = Executors.newFixedThreadPool(clients, runnable -> {
+			Thread thread = new Thread(runnable, "load-client");
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (int i = 0; i < clients; i++) {
+			SplittableRandom random = new SplittableRandom(seed + i);
+			pool.execute(() -> drive(random));
+		}
+		Thread.sleep(warmup.toMillis());
+		endpoints.values().forEach(Endpoint::reset);
+		measuring = true;
+		long started = System.nanoTime();
+		Thread.sleep(duration.toMillis());
+		measuring = false;
+		long measuredNanos = System.nanoTime() - started;
+		stopped = true;
+		pool.shutdown();
+		pool.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+
+		Map<LoadOperation, Measured> measured = new LinkedHashMap<>();
+		endpoints.forEach((operation, endpoint) -> measured.put(operation, endpoint.measured()));
+		return new Result(measuredNanos, measured);
+	}
+
+	private void drive(SplittableRandom random) {
+		while (!stopped) {
+			LoadOperation operation = pick(random);
+			HttpRequest request = operation.request(this, random);
+			long started = System.nanoTime();
+			int status;
+			try {
+				status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			} catch (IOException exception) {
+				status = -1;
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			if (measuring) {
+				endpoints.get(operation).record(status, (System.nanoTime() - started) / 1000);
+			}
+		}
+	}
+
+	private LoadOperation pick(SplittableRandom random) {
+		int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (value < cumulativeWeights[i]) {
+				return operations[i];
+			}
+		}
+		return operations[operations.length - 1];
+	}
+
+	DatasetGenerator generator() {
+		return generator;
+	}
+
+	long stableIndex(SplittableRandom random) {
+		return random.nextInt(stableCount);
+	}
+
+	long mutableCustomerId(SplittableRandom random) {
+		return customerIds[stableCount + random.nextInt(customerIds.length - stableCount)];
+	}
+
+	/**
+	 * @return the next mutable customer not deleted yet, or a random mutable one once all are deleted
+	 */
+	long nextDeleted(SplittableRandom random) {
+		int index = deleteCursor.getAndDecrement();
+		return index >= stableCount ? customerIds[index] : mutableCustomerId(random);
+	}
+
+	int listPages() {
+		return listPages;
+	}
+
+	int bulkSize() {
+		return bulkSize;
+	}
+
+	long nextCreated() {
+		return created.getAndIncrement();
+	}
+
+	long nextPatch() {
+		return patched.getAndIncrement();
+	}
+
+	String json(Object body) {
+		try {
+			return objectMapper.writeValueAsString(body);
+		} catch (JsonProcessingException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	HttpRequest get(String path) {
+		return builder(path).GET().build();
+	}
+
+	HttpRequest post(String path, String json) {
+		return builder(path).header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json)).build();
+	}
+
+	HttpRequest patch(String path) {
+		return builder(path).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+	}
+
+	HttpRequest delete(String path) {
+		return builder(path).DELETE().build();
+	}
+
+	private HttpRequest.Builder builder(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(REQUEST_TIMEOUT);
+	}
+
+	/**
+	 * Latency recorder and response counters of one operation.
+	 */
+	private static final class Endpoint {
+		private final Recorder latency = new Recorder(3);
+		private final LongAdder ok = new LongAdder();
+		private final LongAdder notFound = new LongAdder();
+		private final LongAdder conflicts = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+
+		private void record(int status, long micros) {
+			latency.recordValue(Math.max(1, micros));
+			if (status >= 200 && status < 300) {
+				ok.increment();
+			} else if (status == 404) {
+				notFound.increment();
+			} else if (status == 409 || status == 412) {
+				conflicts.increment();
+			} else {
+				errors.increment();
+			}
+		}
+
+		private void reset() {
+			latency.reset();
+			ok.reset();
+			notFound.reset();
+			conflicts.reset();
+			errors.reset();
+		}
+
+		private Measured measured() {
+			return new Measured(latency.getIntervalHistogram(), ok.sum(), notFound.sum(), conflicts.sum(), errors.sum());
+		}
+	}
+
+	/**
+	 * What was measured for one operation: latencies in microseconds and responses by outcome
+	 * (409/412 are conflicts, other non-2xx statuses and I/O failures are errors).
+	 */
+	record Measured(Histogram latencyMicros, long ok, long notFound, long conflicts, long errors) {
+	}
+
+	record Result(long measuredNanos, Map<LoadOperation, Measured> operations) {
+	}
+}
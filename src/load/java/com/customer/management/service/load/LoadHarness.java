@@ -0,0 +1,168 @@
+package com.customer.management.service.load;
+
+import com.customer.management.service.CustomerManagementServiceApplication;
+import com.customer.management.service.cache.CustomerLookupFilter;
+import com.customer.management.service.cache.MobileNumberIndex;
+import com.customer.management.service.password.PasswordHashingService;
+import com.customer.management.service.repository.CustomerBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * End-to-end load test of the real application on an embedded H2 database (profile load,
+ * see application-load.properties):
+ * - Boots the application on a random port.
+ * - Seeds load.customers deterministic customers with {@link DatasetGenerator}, then rebuilds the lookup
+ *   filters and the mobile number index as a restart would.
+ * - Drives the load.mix of CustomerController endpoints from load.clients concurrent clients
+ *   ({@link LoadDriver}) and writes per-endpoint HdrHistogram percentiles and throughput to load.report.
+ *   A list such as load.clients=1,16,128 runs one warmup and measurement per client count on the same
+ *   dataset, writes one report per count (load-report-16clients.json) and prints p50/p99 per count at the end.
+ * Every argument is passed to Spring Boot, so load.* and application properties can both be overridden,
+ * e.g. --load.customers=5000000 --customer.cache.maximum-size=0.
+ */
+public class LoadHarness {
+
+	public static void main(String[] args) throws InterruptedException, IOException {
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		SpringApplication application = new SpringApplication(CustomerManagementServiceApplication.class);
+		application.setAdditionalProfiles("load");
+		try (ConfigurableApplicationContext context = application.run(args)) {
+			Environment environment = context.getEnvironment();
+			int customers = environment.getProperty("load.customers", Integer.class, 1_000_000);
+			double mutableFraction = environment.getProperty("load.mutable-fraction", Double.class, 0.1);
+			int mutableCount = (int) Math.max(1, Math.round(customers * mutableFraction));
+			if (customers < 2 || mutableCount >= customers) {
+				throw new IllegalArgumentException("load.customers must be at least 2 and load.mutable-fraction below 1");
+			}
+			int[] clientCounts = parseClients(environment.getProperty("load.clients", "64"));
+			Map<String, Object> settings = new LinkedHashMap<>();
+			settings.put("customers", customers);
+			settings.put("addressesPerCustomer", environment.getProperty("load.addresses-per-customer", Integer.class, 1));
+			settings.put("seed", environment.getProperty("load.seed", Long.class, 42L));
+			settings.put("warmupSeconds", environment.getProperty("load.warmup-seconds", Integer.class, 30));
+			settings.put("durationSeconds", environment.getProperty("load.duration-seconds", Integer.class, 120));
+			settings.put("mix", environment.getProperty("load.mix", "getByMobileNumber=1"));
+			settings.put("mutableFraction", mutableFraction);
+			settings.put("listPages", environment.getProperty("load.list-pages", Integer.class, 100));
+			settings.put("bulkSize", environment.getProperty("load.bulk-size", Integer.class, 100));
+			settings.put("javaVersion", System.getProperty("java.version"));
+			settings.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+			settings.put("maxHeapMb", Runtime.getRuntime().maxMemory() >> 20);
+
+			DatasetGenerator generator = new DatasetGenerator((long) settings.get("seed"),
+					(int) settings.get("addressesPerCustomer"));
+			long[] customerIds = generator.seed(customers, environment.getProperty("load.seed-chunk-size", Integer.class, 10_000),
+					context.getBean(CustomerBatchRepository.class), context.getBean(TransactionTemplate.class),
+					context.getBean(PasswordHashingService.class).hashGeneratedPassword());
+			context.getBeanProvider(CustomerLookupFilter.class).ifAvailable(CustomerLookupFilter::rebuild);
+			context.getBeanProvider(MobileNumberIndex.class).ifAvailable(MobileNumberIndex::rebuild);
+
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			String baseUri = "http://localhost:" + port + environment.getProperty("server.servlet.context-path", "")
+					+ "/customer-management-service/api/v1";
+			ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+			LoadDriver driver = new LoadDriver(baseUri, objectMapper, generator, customerIds, mutableCount,
+					(int) settings.get("listPages"), (int) settings.get("bulkSize"), parseMix((String) settings.get("mix")));
+			Path reportPath = Path.of(environment.getProperty("load.report", "target/load-report.json"));
+			if (reportPath.getParent() != null) {
+				Files.createDirectories(reportPath.getParent());
+			}
+			Map<Integer, LoadReport> reports = new LinkedHashMap<>();
+			for (int clients : clientCounts) {
+				LoadDriver.Result result = driver.run(clients,
+						Duration.ofSeconds((int) settings.get("warmupSeconds")),
+						Duration.ofSeconds((int) settings.get("durationSeconds")), (long) settings.get("seed"));
+				Map<String, Object> phaseSettings = new LinkedHashMap<>(settings);
+				phaseSettings.put("clients", clients);
+				LoadReport report = LoadReport.of(environment.getProperty("load.label", ""), phaseSettings, result);
+				Path phasePath = clientCounts.length == 1 ? reportPath : phasePath(reportPath, clients);
+				objectMapper.writerWithDefaultPrettyPrinter().writeValue(phasePath.toFile(), report);
+				System.out.printf("%n%d clients", clients);
+				printSummary(report, phasePath);
+				reports.put(clients, report);
+			}
+			if (reports.size() > 1) {
+				printComparison(reports);
+			}
+		}
+	}
+
+	/**
+	 * @param clients comma separated client counts, e.g. 1,16,128
+	 */
+	static int[] parseClients(String clients) {
+		int[] counts = Arrays.stream(clients.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+		if (counts.length == 0 || Arrays.stream(counts).anyMatch(count -> count < 1)) {
+			throw new IllegalArgumentException("load.clients must be one or more positive counts, not " + clients);
+		}
+		return counts;
+	}
+
+	private static Path phasePath(Path reportPath, int clients) {
+		String name = reportPath.getFileName().toString();
+		int extension = name.lastIndexOf('.');
+		String phaseName = extension < 0 ? name + "-" + clients + "clients"
+				: name.substring(0, extension) + "-" + clients + "clients" + name.substring(extension);
+		return reportPath.resolveSibling(phaseName);
+	}
+
+	/**
+	 * @param mix comma separated operation=weight pairs, e.g. getByMobileNumber=30,create=5
+	 */
+	static Map<LoadOperation, Integer> parseMix(String mix) {
+		Map<LoadOperation, Integer> weights = new LinkedHashMap<>();
+		for (String entry : mix.split(",")) {
+			String[] pair = entry.trim().split("=");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("load.mix entries must be operation=weight, not " + entry);
+			}
+			int weight = Integer.parseInt(pair[1].trim());
+			if (weight > 0) {
+				weights.put(LoadOperation.of(pair[0].trim()), weight);
+			}
+		}
+		if (weights.isEmpty()) {
+			throw new IllegalArgumentException("load.mix has no operation with a positive weight");
+		}
+		return weights;
+	}
+
+	private static void printSummary(LoadReport report, Path reportPath) {
+		System.out.printf("%n%-20s %10s %10s %8s %8s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s", "404", "errors",
+				"p50 ms", "p99 ms", "p99.9 ms", "max ms");
+		report.endpoints().forEach((name, endpoint) -> printLine(name, endpoint));
+		printLine("total", report.total());
+		System.out.println("Report written to " + reportPath.toAbsolutePath());
+	}
+
+	private static void printComparison(Map<Integer, LoadReport> reports) {
+		System.out.printf("%n%-20s %8s %10s %9s %9s%n", "endpoint", "clients", "req/s", "p50 ms", "p99 ms");
+		reports.values().iterator().next().endpoints().keySet().forEach(name -> reports.forEach((clients, report) ->
+				printComparisonLine(name, clients, report.endpoints().get(name))));
+		reports.forEach((clients, report) -> printComparisonLine("total", clients, report.total()));
+	}
+
+	private static void printComparisonLine(String name, int clients, LoadReport.EndpointReport endpoint) {
+		System.out.printf("%-20s %8d %10.1f %9.3f %9.3f%n", name, clients, endpoint.throughput(),
+				endpoint.latencyMillis().p50(), endpoint.latencyMillis().p99());
+	}
+
+	private static void printLine(String name, LoadReport.EndpointReport endpoint) {
+		System.out.printf("%-20s %10d %10.1f %8d %8d %9.3f %9.3f %9.3f %9.3f%n", name, endpoint.requests(),
+				endpoint.throughput(), endpoint.notFound(), endpoint.errors(), endpoint.latencyMillis().p50(),
+				endpoint.latencyMillis().p99(), endpoint.latencyMillis().p999(), endpoint.latencyMillis().max());
+	}
+}
@@ -0,0 +1,102 @@
+package com.customer.management.service.load;
+
+import com.customer.management.service.request.CustomerRequest;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * CustomerController endpoints driven by the harness, named as in load.mix.
+ * Lookups and list pages read the stable part of the seeded customers; patches and deletes only touch the
+ * mutable part (load.mutable-fraction), so reads keep hitting existing customers for the whole run.
+ * createBulk posts load.bulk-size new customers per request.
+ */
+enum LoadOperation {
+
+	CREATE("create") {
+		@Override
+		HttpRequest request(LoadDriver driver, SplittableRandom random) {
+			return driver.post("/create", driver.json(driver.generator().newCustomer(driver.nextCreated())));
+		}
+	},
+	CREATE_BULK("createBulk") {
+		@Override
+		HttpRequest request(LoadDriver driver, SplittableRandom random) {
+			List<CustomerRequest> customers = new ArrayList<>(driver.bulkSize());
+			for (int i = 0; i < driver.bulkSize(); i++) {
+				customers.add(driver.generator().newCustomer(driver.nextCreated()));
+			}
+			return driver.post("/customers/bulk", driver.json(customers));
+		}
+	},
+	GET_BY_MOBILE_NUMBER("getByMobileNumber") {
+		@Override
+		HttpRequest request(LoadDriver driver, SplittableRandom random) {
+			return driver.get("/getCustomerByMobileNumber/" + DatasetGenerator.mobileNumber(driver.stableIndex(random)));
+		}
+	},
+	GET_BY_EMAIL_ADDRESS("getByEmailAddress") {
+		@Override
+		HttpRequest request(LoadDriver driver, SplittableRandom random) {
+			return driver.get("/getCustomerByEmailAddress/" + DatasetGenerator.emailAddress(driver.stableIndex(random)));
+		}
+	},
+	GET_BY_FULL_NAME("getByFullName") {
+		@Override
+		HttpRequest request(LoadDriver driver, SplittableRandom random) {
+			String fullName = driver.generator().fullName(driver.stableIndex(random));
+			return driver.get("/getByFullName/" + URLEncoder.encode(fullName, StandardCharsets.UTF_8).replace("+", "%20"));
+		}
+	},
+	LIST("list") {
+		@Override
+		HttpRequest request(LoadDriver driver, SplittableRandom random) {
+			return driver.get("/customers?size=20&page=" + random.nextInt(driver.listPages()));
+		}
+	},
+	PATCH_MOBILE_NUMBER("patchMobileNumber") {
+		@Override
+		HttpRequest request(LoadDriver driver, SplittableRandom random) {
+			long newMobileNumber = DatasetGenerator.PATCHED_MOBILE_BASE + driver.nextPatch();
+			return driver.patch("/updateCustomerByMobileNumber/" + driver.mutableCustomerId(random) + "/" + newMobileNumber);
+		}
+	},
+	PATCH_EMAIL_ADDRESS("patchEmailAddress") {
+		@Override
+		HttpRequest request(LoadDriver driver, SplittableRandom random) {
+			String newEmailAddress = "p" + driver.nextPatch() + "@load.example.com";
+			return driver.patch("/updateCustomerByEmailAddress/" + driver.mutableCustomerId(random) + "/" + newEmailAddress);
+		}
+	},
+	DELETE("delete") {
+		@Override
+		HttpRequest request(LoadDriver driver, SplittableRandom random) {
+			return driver.delete("/deleteCustomerByCustomerId/" + driver.nextDeleted(random));
+		}
+	};
+
+	private final String key;
+
+	LoadOperation(String key) {
+		this.key = key;
+	}
+
+	String key() {
+		return key;
+	}
+
+	abstract HttpRequest request(LoadDriver driver, SplittableRandom random);
+
+	static LoadOperation of(String key) {
+		for (LoadOperation operation : values()) {
+			if (operation.key.equals(key)) {
+				return operation;
+			}
+		}
+		throw new IllegalArgumentException("Unknown operation " + key + " in load.mix");
+	}
+}
@@ -0,0 +1,70 @@
+package com.customer.management.service.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load run, written as JSON to load.report.
+ * Latencies are in milliseconds, throughput in requests per second of the measurement phase;
+ * settings records everything needed to repeat the run, so reports of two builds can be diffed.
+ *
+ * @param label           free text from load.label, e.g. the commit under test
+ * @param settings        load.* settings of the run
+ * @param measuredSeconds length of the measurement phase
+ * @param total           all operations together
+ * @param endpoints       per operation, in load.mix order
+ */
+record LoadReport(String label, Map<String, Object> settings, double measuredSeconds, EndpointReport total,
+				  Map<String, EndpointReport> endpoints) {
+
+	static LoadReport of(String label, Map<String, Object> settings, LoadDriver.Result result) {
+		double seconds = result.measuredNanos() / 1e9;
+		Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+		Histogram all = new Histogram(3);
+		long ok = 0;
+		long notFound = 0;
+		long conflicts = 0;
+		long errors = 0;
+		for (Map.Entry<LoadOperation, LoadDriver.Measured> entry : result.operations().entrySet()) {
+			LoadDriver.Measured measured = entry.getValue();
+			endpoints.put(entry.getKey().key(), EndpointReport.of(measured.latencyMicros(), measured.ok(),
+					measured.notFound(), measured.conflicts(), measured.errors(), seconds));
+			all.add(measured.latencyMicros());
+			ok += measured.ok();
+			notFound += measured.notFound();
+			conflicts += measured.conflicts();
+			errors += measured.errors();
+		}
+		return new LoadReport(label, settings, seconds, EndpointReport.of(all, ok, notFound, conflicts, errors, seconds),
+				endpoints);
+	}
+
+	record EndpointReport(long requests, long ok, long notFound, long conflicts, long errors, double throughput,
+						  Latency latencyMillis) {
+
+		static EndpointReport of(Histogram micros, long ok, long notFound, long conflicts, long errors, double seconds) {
+			return new EndpointReport(micros.getTotalCount(), ok, notFound, conflicts, errors,
+					round(micros.getTotalCount() / seconds), Latency.of(micros));
+		}
+	}
+
+	record Latency(double mean, double p50, double p90, double p99, double p999, double p9999, double max) {
+
+		static Latency of(Histogram micros) {
+			return new Latency(millis(micros.getMean()), millis(micros.getValueAtPercentile(50)),
+					millis(micros.getValueAtPercentile(90)), millis(micros.getValueAtPercentile(99)),
+					millis(micros.getValueAtPercentile(99.9)), millis(micros.getValueAtPercentile(99.99)),
+					millis(micros.getMaxValue()));
+		}
+
+		private static double millis(double micros) {
+			return round(micros / 1000);
+		}
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 1000) / 1000.0;
+	}
+}
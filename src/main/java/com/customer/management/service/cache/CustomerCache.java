@@ -0,0 +1,278 @@
+package com.customer.management.service.cache;
+
+import com.customer.management.service.enums.CustomerChangeType;
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.response.CustomerResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * CustomerCache is an in-process read-through cache for customer lookups.
+ * How it is organised:
+ * - One Caffeine cache holds a single {@link CustomerResponse} per customerId
+ *   (size and TTL bounded, with hit/miss/eviction statistics published to Micrometer).
+ * - Mobile number, email and full name are alias maps pointing to the customerId,
+ *   so the same entry is reachable by all four keys and is stored only once.
+ * - Aliases are removed together with their entry; in addition every alias lookup checks that
+ *   the entry still carries the requested key, so a stale alias can only produce a miss,
+ *   never a changed customer.
+ * - With customer.offheap.enabled=true an {@link OffHeapCustomerStore} is the second tier: Caffeine
+ *   keeps the hot set on the heap, misses are read from (and promoted out of) the off-heap store.
+ * Invalidation is driven by {@link CustomerChangedEvent}: entries are evicted as soon as the
+ * change happens and once more after the transaction commits. The second eviction also leaves a
+ * tombstone for customer.cache.tombstone-millis with the version the change committed, so a reader
+ * that loaded the customer before the commit but puts it afterwards cannot bring the old version back:
+ * puts below the tombstone's version are dropped (all puts, if the change did not report its version).
+ */
+@Component
+public class CustomerCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerCache.class);
+
+    private final Cache<Long, CustomerResponse> customersById;
+    private final Cache<Long, Long> tombstones;
+    private final Counter stalePuts;
+    private final Alias byMobileNumber;
+    private final Alias byEmailAddress;
+    private final Alias byFullName;
+    private final Optional<OffHeapCustomerStore> offHeapStore;
+
+    @Autowired
+    public CustomerCache(@Value("${customer.cache.maximum-size:100000}") long maximumSize,
+                         @Value("${customer.cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds,
+                         @Value("${customer.cache.tombstone-millis:10000}") long tombstoneMillis,
+                         MeterRegistry meterRegistry,
+                         Optional<OffHeapCustomerStore> offHeapStore) {
+        this(maximumSize, expireAfterWriteSeconds, tombstoneMillis, meterRegistry, offHeapStore, Ticker.systemTicker());
+    }
+
+    CustomerCache(long maximumSize, long expireAfterWriteSeconds, long tombstoneMillis, MeterRegistry meterRegistry,
+                  Optional<OffHeapCustomerStore> offHeapStore, Ticker ticker) {
+        this.offHeapStore = offHeapStore;
+        this.customersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .removalListener((Long customerId, CustomerResponse customer, RemovalCause cause) -> removeAliases(customerId, customer))
+                .build();
+        this.tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(tombstoneMillis))
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .build();
+        this.stalePuts = Counter.builder("customer.cache.stale.puts")
+                .description("Puts dropped because the customer changed after it was loaded")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, customersById, "customers");
+        this.byMobileNumber = new Alias("mobileNumber", CustomerResponse::getMobileNumber, meterRegistry);
+        this.byEmailAddress = new Alias("emailAddress", CustomerResponse::getEmailAddress, meterRegistry);
+        this.byFullName = new Alias("fullName", CustomerResponse::getFullName, meterRegistry);
+        logger.info("Customer cache enabled (maximumSize={}, expireAfterWrite={}s)", maximumSize, expireAfterWriteSeconds);
+    }
+
+    /**
+     * Looks up a customer by mobile number.
+     *
+     * @param mobileNumber mobile number of the customer
+     * @return the cached customer, empty on a miss
+     */
+    public Optional<CustomerResponse> getByMobileNumber(String mobileNumber) {
+        return getByAlias(byMobileNumber, mobileNumber)
+                .or(() -> promote(offHeapStore.flatMap(store -> store.getByMobileNumber(mobileNumber))));
+    }
+
+    /**
+     * Looks up a customer by email address.
+     *
+     * @param emailAddress email address of the customer
+     * @return the cached customer, empty on a miss
+     */
+    public Optional<CustomerResponse> getByEmailAddress(String emailAddress) {
+        return getByAlias(byEmailAddress, emailAddress)
+                .or(() -> promote(offHeapStore.flatMap(store -> store.getByEmailAddress(emailAddress))));
+    }
+
+    /**
+     * Looks up a customer by full name.
+     *
+     * @param fullName full name of the customer
+     * @return the cached customer, empty on a miss
+     */
+    public Optional<CustomerResponse> getByFullName(String fullName) {
+        return getByAlias(byFullName, fullName);
+    }
+
+    /**
+     * Looks up a customer by id.
+     *
+     * @param customerId id of the customer
+     * @return the cached customer, empty on a miss
+     */
+    public Optional<CustomerResponse> getByCustomerId(Long customerId) {
+        return Optional.ofNullable(customersById.getIfPresent(customerId))
+                .or(() -> promote(offHeapStore.flatMap(store -> store.getByCustomerId(customerId))));
+    }
+
+    /**
+     * Stores a freshly loaded customer under its id, mobile number, email and full name,
+     * unless a change committed after it was loaded (see the tombstones in the class comment).
+     * The response must not contain the OTP and must not be modified afterwards.
+     *
+     * @param customer customer loaded from the database
+     */
+    public void put(CustomerResponse customer) {
+        if (isStale(customer)) {
+            stalePuts.increment();
+            return;
+        }
+        putOnHeap(customer);
+        offHeapStore.ifPresent(store -> store.put(customer));
+        // a commit may have evicted between the check and the put: its tombstone is visible by now
+        if (isStale(customer)) {
+            stalePuts.increment();
+            customersById.asMap().remove(customer.getCustomerId(), customer);
+            offHeapStore.ifPresent(store -> store.remove(customer.getCustomerId(),
+                    List.of(customer.getMobileNumber()), List.of(customer.getEmailAddress())));
+        }
+    }
+
+    /**
+     * Removes the entry of the changed customer and every alias it had, old and new.
+     *
+     * @param event change published by the service layer
+     */
+    public void evict(CustomerChangedEvent event) {
+        if (event.getCustomerId() != null) {
+            customersById.invalidate(event.getCustomerId());
+        }
+        event.mobileNumbers().forEach(byMobileNumber.ids::remove);
+        event.emailAddresses().forEach(byEmailAddress.ids::remove);
+        if (event.getFullName() != null) {
+            byFullName.ids.remove(event.getFullName());
+        }
+        offHeapStore.ifPresent(store -> store.remove(event.getCustomerId(),
+                event.mobileNumbers().toList(), event.emailAddresses().toList()));
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        customersById.invalidateAll();
+        byMobileNumber.ids.clear();
+        byEmailAddress.ids.clear();
+        byFullName.ids.clear();
+        offHeapStore.ifPresent(OffHeapCustomerStore::clear);
+    }
+
+    @EventListener
+    void onCustomerChanged(CustomerChangedEvent event) {
+        evict(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void afterCustomerChangeCommitted(CustomerChangedEvent event) {
+        // a created customer has no older version to keep out
+        if (event.getCustomerId() != null && event.getChangeType() != CustomerChangeType.CREATED) {
+            // written before the eviction, so a put racing with it sees one or the other
+            tombstones.asMap().merge(event.getCustomerId(),
+                    event.getVersion() == null ? Long.MAX_VALUE : event.getVersion(), Math::max);
+        }
+        evict(event);
+    }
+
+    private boolean isStale(CustomerResponse customer) {
+        Long committedVersion = tombstones.getIfPresent(customer.getCustomerId());
+        return committedVersion != null && (customer.getVersion() == null || customer.getVersion() < committedVersion);
+    }
+
+    private Optional<CustomerResponse> getByAlias(Alias alias, String key) {
+        Long customerId = key == null ? null : alias.ids.get(key);
+        CustomerResponse customer = customerId == null ? null : customersById.getIfPresent(customerId);
+        if (customer == null || !key.equals(alias.keyOf.apply(customer))) {
+            if (customerId != null) {
+                alias.ids.remove(key, customerId);
+            }
+            alias.misses.increment();
+            return Optional.empty();
+        }
+        alias.hits.increment();
+        return Optional.of(customer);
+    }
+
+    /**
+     * Copies an entry found in the off-heap store into the on-heap tier.
+     */
+    private Optional<CustomerResponse> promote(Optional<CustomerResponse> customer) {
+        customer.ifPresent(this::putOnHeap);
+        return customer;
+    }
+
+    private void putOnHeap(CustomerResponse customer) {
+        Long customerId = customer.getCustomerId();
+        customersById.put(customerId, customer);
+        putAlias(byMobileNumber, customer.getMobileNumber(), customerId);
+        putAlias(byEmailAddress, customer.getEmailAddress(), customerId);
+        putAlias(byFullName, customer.getFullName(), customerId);
+    }
+
+    private static void putAlias(Alias alias, String key, Long customerId) {
+        if (key != null) {
+            alias.ids.put(key, customerId);
+        }
+    }
+
+    private void removeAliases(Long customerId, CustomerResponse customer) {
+        if (customerId == null || customer == null) {
+            return;
+        }
+        removeAlias(byMobileNumber, customer.getMobileNumber(), customerId);
+        removeAlias(byEmailAddress, customer.getEmailAddress(), customerId);
+        removeAlias(byFullName, customer.getFullName(), customerId);
+    }
+
+    private static void removeAlias(Alias alias, String key, Long customerId) {
+        if (key != null) {
+            alias.ids.remove(key, customerId);
+        }
+    }
+
+    /**
+     * Secondary key of the cache: key to customerId, plus per key hit/miss counters
+     * (the Caffeine statistics only see lookups by id).
+     */
+    private static final class Alias {
+        private final Map<String, Long> ids = new ConcurrentHashMap<>();
+        private final Function<CustomerResponse, String> keyOf;
+        private final Counter hits;
+        private final Counter misses;
+
+        private Alias(String name, Function<CustomerResponse, String> keyOf, MeterRegistry meterRegistry) {
+            this.keyOf = keyOf;
+            this.hits = Counter.builder("customer.cache.lookups").tag("key", name).tag("result", "hit").register(meterRegistry);
+            this.misses = Counter.builder("customer.cache.lookups").tag("key", name).tag("result", "miss").register(meterRegistry);
+        }
+    }
+}
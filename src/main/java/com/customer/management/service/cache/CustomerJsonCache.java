@@ -0,0 +1,107 @@
+package com.customer.management.service.cache;
+
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.util.CustomerETagUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * CustomerJsonCache keeps the serialized JSON of customers, ready to be written to the response.
+ * Why we need this:
+ * - The hot GET endpoints return the same customer over and over; serializing it with Jackson
+ *   on every request allocates more than the lookup itself.
+ * - Entries are keyed by customerId and remember the version they were serialized from;
+ *   a customer with another version is serialized again, so stale bytes are never sent.
+ * - Every {@link CustomerChangedEvent} evicts the entry, once when the change happens and once
+ *   after commit, like {@link CustomerCache}.
+ * The ETag of an entry is the strong tag of {@link CustomerETagUtil}, derived from customerId and version.
+ */
+@Component
+public class CustomerJsonCache {
+
+    private final Cache<Long, CustomerJson> jsonById;
+    private final ObjectMapper objectMapper;
+
+    public CustomerJsonCache(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${customer.json-cache.maximum-size:100000}") long maximumSize,
+                             @Value("${customer.json-cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        this.objectMapper = objectMapper;
+        this.jsonById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, jsonById, "customerJson");
+    }
+
+    /**
+     * Returns the serialized customer, serializing it only when no entry for its current version exists.
+     *
+     * @param customer customer to send (without OTP)
+     * @return UTF-8 JSON bytes and ETag
+     */
+    public CustomerJson get(CustomerResponse customer) {
+        long version = versionOf(customer);
+        CustomerJson cached = jsonById.getIfPresent(customer.getCustomerId());
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        CustomerJson json = new CustomerJson(serialize(customer), CustomerETagUtil.etag(customer.getCustomerId(), version), version);
+        jsonById.put(customer.getCustomerId(), json);
+        return json;
+    }
+
+    @EventListener
+    void onCustomerChanged(CustomerChangedEvent event) {
+        evict(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void afterCustomerChangeCommitted(CustomerChangedEvent event) {
+        evict(event);
+    }
+
+    private void evict(CustomerChangedEvent event) {
+        if (event.getCustomerId() != null) {
+            jsonById.invalidate(event.getCustomerId());
+        }
+    }
+
+    private byte[] serialize(CustomerResponse customer) {
+        try {
+            return objectMapper.writeValueAsBytes(customer);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not serialize customer " + customer.getCustomerId(), exception);
+        }
+    }
+
+    /**
+     * Version of a customer as seen by clients: the version column, changed by every update of the row.
+     */
+    private static long versionOf(CustomerResponse customer) {
+        return customer.getVersion() == null ? 0 : customer.getVersion();
+    }
+
+    /**
+     * Serialized customer.
+     *
+     * @param body    UTF-8 JSON
+     * @param etag    quoted entity tag
+     * @param version version the body was serialized from
+     */
+    public record CustomerJson(byte[] body, String etag, long version) {
+    }
+}
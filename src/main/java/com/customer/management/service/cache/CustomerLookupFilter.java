@@ -0,0 +1,253 @@
+package com.customer.management.service.cache;
+
+import com.customer.management.service.enums.CustomerChangeType;
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.repository.ArchivedCustomerRepository;
+import com.customer.management.service.repository.CustomerKeyView;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * CustomerLookupFilter keeps one {@link BloomFilter} per lookup key (mobile number and email)
+ * so lookups of customers that do not exist can skip the archive query. By default the customers
+ * table is still queried: a filter built on this instance does not see keys written by other
+ * instances until the next rebuild, while customers are only archived long after their last change.
+ * With customer.bloom.authoritative=true a negative answer skips the customers query as well; only
+ * enable it when every write to the customers table goes through this instance.
+ * How it stays correct:
+ * - The filters are built from {@link CustomerRepository} when the application is ready and
+ *   rebuilt every customer.bloom.rebuild-interval-millis (drops deleted keys, resizes for growth).
+ *   Keys of archived customers are added as well, since lookups fall back to the archive.
+ * - New keys from {@link CustomerChangedEvent}s are added when the change happens and again after
+ *   commit, also to a filter that is being rebuilt, so a key is never missing.
+ * - Until the first build finished, or with customer.bloom.enabled=false, every key "may exist".
+ * - Keys are lower-cased and trimmed, the way the case insensitive collation of the unique columns
+ *   compares mobile numbers and email addresses.
+ * Published metrics: expected false-positive rate and memory per filter, plus counters for
+ * lookups answered by the filter and for observed false positives.
+ */
+@Component
+public class CustomerLookupFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerLookupFilter.class);
+    private final CustomerRepository customerRepository;
+    private final ArchivedCustomerRepository archivedCustomerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final boolean authoritative;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile Filters current;
+    private volatile Filters building;
+
+    private final Counter mobileNumberNegatives;
+    private final Counter mobileNumberFalsePositives;
+    private final Counter emailAddressNegatives;
+    private final Counter emailAddressFalsePositives;
+
+    public CustomerLookupFilter(CustomerRepository customerRepository,
+                                ArchivedCustomerRepository archivedCustomerRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${customer.bloom.enabled:true}") boolean enabled,
+                                @Value("${customer.bloom.authoritative:false}") boolean authoritative,
+                                @Value("${customer.bloom.expected-insertions:1000000}") long expectedInsertions,
+                                @Value("${customer.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.customerRepository = customerRepository;
+        this.archivedCustomerRepository = archivedCustomerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.authoritative = authoritative;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        for (String key : new String[]{"mobileNumber", "emailAddress"}) {
+            boolean mobile = key.equals("mobileNumber");
+            Gauge.builder("customer.bloom.false.positive.rate", this,
+                            filter -> filter.current == null ? 0 : (mobile ? filter.current.mobileNumbers : filter.current.emailAddresses).expectedFalsePositiveRate())
+                    .tag("key", key)
+                    .description("Expected false-positive rate for the current fill level")
+                    .register(meterRegistry);
+            Gauge.builder("customer.bloom.memory", this,
+                            filter -> filter.current == null ? 0 : (mobile ? filter.current.mobileNumbers : filter.current.emailAddresses).memoryBytes())
+                    .tag("key", key)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+        this.mobileNumberNegatives = lookupCounter(meterRegistry, "mobileNumber", "negative");
+        this.mobileNumberFalsePositives = lookupCounter(meterRegistry, "mobileNumber", "false_positive");
+        this.emailAddressNegatives = lookupCounter(meterRegistry, "emailAddress", "negative");
+        this.emailAddressFalsePositives = lookupCounter(meterRegistry, "emailAddress", "false_positive");
+    }
+
+    /**
+     * @param mobileNumber mobile number to look up
+     * @return true if the filter is authoritative and no customer has this mobile number, so the customers
+     * table does not need to be queried
+     */
+    public boolean excludesMobileNumber(String mobileNumber) {
+        return authoritative && !mightContainMobileNumber(mobileNumber);
+    }
+
+    /**
+     * @param emailAddress email address to look up
+     * @return true if the filter is authoritative and no customer has this email address, so the customers
+     * table does not need to be queried
+     */
+    public boolean excludesEmailAddress(String emailAddress) {
+        return authoritative && !mightContainEmailAddress(emailAddress);
+    }
+
+    /**
+     * @param mobileNumber mobile number to look up
+     * @return false if no customer had this mobile number when the filter was built or since, true if one may have it
+     */
+    public boolean mightContainMobileNumber(String mobileNumber) {
+        Filters filters = current;
+        if (filters == null || filters.mobileNumbers.mightContain(normalize(mobileNumber))) {
+            return true;
+        }
+        mobileNumberNegatives.increment();
+        return false;
+    }
+
+    /**
+     * @param emailAddress email address to look up
+     * @return false if no customer had this email address when the filter was built or since, true if one may have it
+     */
+    public boolean mightContainEmailAddress(String emailAddress) {
+        Filters filters = current;
+        if (filters == null || filters.emailAddresses.mightContain(normalize(emailAddress))) {
+            return true;
+        }
+        emailAddressNegatives.increment();
+        return false;
+    }
+
+    /**
+     * Records a lookup the filter let through but neither table contained.
+     */
+    public void recordMobileNumberFalsePositive() {
+        if (current != null) {
+            mobileNumberFalsePositives.increment();
+        }
+    }
+
+    /**
+     * Records a lookup the filter let through but neither table contained.
+     */
+    public void recordEmailAddressFalsePositive() {
+        if (current != null) {
+            emailAddressFalsePositives.increment();
+        }
+    }
+
+    @EventListener
+    void onCustomerChanged(CustomerChangedEvent event) {
+        add(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void afterCustomerChangeCommitted(CustomerChangedEvent event) {
+        add(event);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds both filters from the database. Runs at startup and then periodically.
+     */
+    @Scheduled(initialDelayString = "${customer.bloom.rebuild-interval-millis:21600000}",
+            fixedDelayString = "${customer.bloom.rebuild-interval-millis:21600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long customers = customerRepository.count() + archivedCustomerRepository.count();
+        Filters next = new Filters(Math.max(expectedInsertions, customers * 2), falsePositiveRate);
+        // registered before the scan, so every change committed after the scan snapshot is added as well
+        building = next;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<CustomerKeyView> keys = customerRepository.streamAllKeys()) {
+                    keys.forEach(key -> add(next, key));
+                }
+                try (Stream<CustomerKeyView> keys = archivedCustomerRepository.streamAllKeys()) {
+                    keys.forEach(key -> add(next, key));
+                }
+            });
+            current = next;
+        } catch (RuntimeException exception) {
+            logger.error("Rebuilding the customer lookup filter failed, keeping the previous one", exception);
+            return;
+        } finally {
+            building = null;
+        }
+        logger.info("Customer lookup filter built for {} customers in {} ms ({} bytes per filter, k={})",
+                customers, (System.nanoTime() - started) / 1_000_000,
+                next.mobileNumbers.memoryBytes(), next.mobileNumbers.hashFunctions());
+    }
+
+    private static void add(Filters filters, CustomerKeyView key) {
+        filters.mobileNumbers.put(normalize(key.getMobileNumber()));
+        filters.emailAddresses.put(normalize(key.getEmailAddress()));
+    }
+
+    private void add(CustomerChangedEvent event) {
+        if (event.getChangeType() == CustomerChangeType.DELETED) {
+            return;
+        }
+        // building is read first: once it is cleared again, current already is the rebuilt filter
+        Filters rebuilt = building;
+        for (Filters filters : new Filters[]{rebuilt, current}) {
+            if (filters != null) {
+                filters.mobileNumbers.put(normalize(event.getMobileNumber()));
+                filters.emailAddresses.put(normalize(event.getEmailAddress()));
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String key, String result) {
+        return Counter.builder("customer.bloom.lookups")
+                .tag("key", key)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Filters {
+        private final BloomFilter mobileNumbers;
+        private final BloomFilter emailAddresses;
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            this.mobileNumbers = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.emailAddresses = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.customer.management.service.cache;
+
+import com.customer.management.service.enums.CustomerChangeType;
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.repository.CustomerMobileView;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.util.LongLongHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * MobileNumberIndex maps every mobile number to its customerId in memory, so a lookup
+ * by mobile number becomes a primary key fetch.
+ * How it is stored:
+ * - Mobile numbers of up to 17 digits are packed into one long: (digits value << 5) | digit count.
+ *   The digit count keeps "0123" and "123" apart; other values are simply not indexed.
+ * - Keys and customerIds live in a {@link LongLongHashMap} (open addressing, no boxing,
+ *   no String keys, no per-entry objects): about 27 bytes per customer.
+ * - Writers take the write lock of a {@link StampedLock}; readers use an optimistic read.
+ * The index is built from {@link CustomerRepository} when the application is ready and maintained
+ * from {@link CustomerChangedEvent}s after commit. Callers must verify the fetched customer's mobile
+ * number, an entry is only a hint.
+ */
+@Component
+public class MobileNumberIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MobileNumberIndex.class);
+    private static final int MAX_DIGITS = 17;
+    private static final long MISSING = -1;
+    public static final long NOT_FOUND = MISSING;
+
+    private final StampedLock lock = new StampedLock();
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int expectedEntries;
+
+    private LongLongHashMap customerIds;
+    private LongLongHashMap building;
+    private volatile boolean ready;
+
+    public MobileNumberIndex(CustomerRepository customerRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${customer.mobile-index.enabled:true}") boolean enabled,
+                             @Value("${customer.mobile-index.expected-entries:1000000}") int expectedEntries) {
+        this.customerRepository = customerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedEntries = expectedEntries;
+        this.customerIds = new LongLongHashMap(16, MISSING);
+        Gauge.builder("customer.mobile.index.entries", this, MobileNumberIndex::size).register(meterRegistry);
+        Gauge.builder("customer.mobile.index.memory", this, MobileNumberIndex::memoryBytes)
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * @param mobileNumber mobile number to look up
+     * @return the customerId last known for this mobile number, or {@link #NOT_FOUND}
+     *         when it is unknown, not indexable or the index is not built yet
+     */
+    public long find(String mobileNumber) {
+        long key = encode(mobileNumber);
+        if (!ready || key == MISSING) {
+            return NOT_FOUND;
+        }
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                long customerId = customerIds.get(key);
+                if (lock.validate(stamp)) {
+                    return customerId;
+                }
+            } catch (RuntimeException exception) {
+                // torn read during a resize, retried below under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return customerIds.get(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database when the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        LongLongHashMap next = new LongLongHashMap((int) Math.max(expectedEntries, customerRepository.count()), MISSING);
+        long stamp = lock.writeLock();
+        building = next;
+        lock.unlockWrite(stamp);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<CustomerMobileView> customers = customerRepository.streamAllMobileNumbers()) {
+                    customers.forEach(customer -> {
+                        long key = encode(customer.getMobileNumber());
+                        if (key != MISSING) {
+                            long writeStamp = lock.writeLock();
+                            try {
+                                // a change committed during the scan may already have put a newer mapping
+                                if (!next.containsKey(key)) {
+                                    next.put(key, customer.getCustomerId());
+                                }
+                            } finally {
+                                lock.unlockWrite(writeStamp);
+                            }
+                        }
+                    });
+                }
+            });
+        } catch (RuntimeException exception) {
+            logger.error("Building the mobile number index failed, lookups use the database", exception);
+            stamp = lock.writeLock();
+            building = null;
+            lock.unlockWrite(stamp);
+            return;
+        }
+        stamp = lock.writeLock();
+        try {
+            customerIds = next;
+            building = null;
+            ready = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        logger.info("Mobile number index built with {} entries ({} bytes) in {} ms",
+                next.size(), next.memoryBytes(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void afterCustomerChangeCommitted(CustomerChangedEvent event) {
+        if (event.getCustomerId() == null) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            apply(customerIds, event);
+            if (building != null) {
+                apply(building, event);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static void apply(LongLongHashMap index, CustomerChangedEvent event) {
+        long customerId = event.getCustomerId();
+        long previousKey = encode(event.getPreviousMobileNumber());
+        if (previousKey != MISSING) {
+            index.remove(previousKey, customerId);
+        }
+        long key = encode(event.getMobileNumber());
+        if (key == MISSING) {
+            return;
+        }
+        if (event.getChangeType() == CustomerChangeType.DELETED) {
+            index.remove(key, customerId);
+        } else {
+            index.put(key, customerId);
+        }
+    }
+
+    private double size() {
+        return customerIds.size();
+    }
+
+    private double memoryBytes() {
+        return customerIds.memoryBytes();
+    }
+
+    /**
+     * Packs a numeric string of 1 to 17 digits into (value << 5) | length.
+     *
+     * @return the packed key, or MISSING when the value is not indexable
+     */
+    static long encode(String mobileNumber) {
+        if (mobileNumber == null) {
+            return MISSING;
+        }
+        int length = mobileNumber.length();
+        if (length == 0 || length > MAX_DIGITS) {
+            return MISSING;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = mobileNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return MISSING;
+            }
+            value = value * 10 + digit;
+        }
+        return (value << 5) | length;
+    }
+}
@@ -0,0 +1,299 @@
+package com.customer.management.service.cache;
+
+import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.util.HashUtil;
+import com.customer.management.service.util.LongLongHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * OffHeapCustomerStore keeps encoded customers outside the Java heap, so tens of millions
+ * of cached customers add nothing to GC work.
+ * How it is organised:
+ * - Records are appended to direct ByteBuffer segments of customer.offheap.segment-size-mb;
+ *   a record is [length (4) | mobile hash (8) | email hash (8) | {@link CustomerBinaryCodec} payload].
+ * - Three {@link LongLongHashMap}s map customerId, mobile hash and email hash to the record
+ *   address (segment index in the high 32 bits, offset in the low 32 bits).
+ * - A record is never changed once written: updates append a new record and repoint the index,
+ *   removes only drop index entries. When all segments are used and at least half of the bytes
+ *   are dead, the live records are compacted into fresh segments; otherwise new puts are skipped.
+ * - Writers hold the write lock of a {@link StampedLock}; readers use an optimistic read and only
+ *   fall back to the read lock when a write happened concurrently.
+ * Lookups by mobile number or email verify the decoded key, so a hash collision only causes a miss.
+ * Enabled with customer.offheap.enabled=true; used as second tier behind {@link CustomerCache}.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.offheap.enabled", havingValue = "true")
+public class OffHeapCustomerStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapCustomerStore.class);
+    private static final int HEADER_BYTES = 4 + 8 + 8;
+    private static final long MISSING = -1;
+
+    private final StampedLock lock = new StampedLock();
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private ByteBuffer[] segments;
+    private int segmentCount;
+    private int writeOffset;
+    private LongLongHashMap byCustomerId;
+    private LongLongHashMap byMobileHash;
+    private LongLongHashMap byEmailHash;
+    private volatile long liveBytes;
+    private volatile int entries;
+    private boolean fullLogged;
+
+    public OffHeapCustomerStore(@Value("${customer.offheap.segment-size-mb:64}") int segmentSizeMb,
+                                @Value("${customer.offheap.max-size-mb:1024}") long maxSizeMb,
+                                @Value("${customer.offheap.expected-entries:1000000}") int expectedEntries,
+                                MeterRegistry meterRegistry) {
+        this.segmentSize = segmentSizeMb << 20;
+        this.maxSegments = (int) Math.max(1, maxSizeMb / segmentSizeMb);
+        this.segments = new ByteBuffer[maxSegments];
+        this.byCustomerId = new LongLongHashMap(expectedEntries, MISSING);
+        this.byMobileHash = new LongLongHashMap(expectedEntries, MISSING);
+        this.byEmailHash = new LongLongHashMap(expectedEntries, MISSING);
+
+        Gauge.builder("customer.offheap.entries", this, store -> store.entries).register(meterRegistry);
+        Gauge.builder("customer.offheap.live", this, store -> store.liveBytes).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("customer.offheap.allocated", this, store -> (double) store.segmentCount * store.segmentSize)
+                .baseUnit("bytes").register(meterRegistry);
+        logger.info("Off-heap customer store enabled ({} segments of {} MB)", maxSegments, segmentSizeMb);
+    }
+
+    /**
+     * @param customerId id of the customer
+     * @return the stored customer, empty on a miss
+     */
+    public Optional<CustomerResponse> getByCustomerId(long customerId) {
+        return read(store -> store.byCustomerId.get(customerId), customer -> true);
+    }
+
+    /**
+     * @param mobileNumber mobile number of the customer
+     * @return the stored customer, empty on a miss
+     */
+    public Optional<CustomerResponse> getByMobileNumber(String mobileNumber) {
+        long hash = HashUtil.hash64(mobileNumber);
+        return read(store -> store.byMobileHash.get(hash), customer -> mobileNumber.equals(customer.getMobileNumber()));
+    }
+
+    /**
+     * @param emailAddress email address of the customer
+     * @return the stored customer, empty on a miss
+     */
+    public Optional<CustomerResponse> getByEmailAddress(String emailAddress) {
+        long hash = HashUtil.hash64(emailAddress);
+        return read(store -> store.byEmailHash.get(hash), customer -> emailAddress.equals(customer.getEmailAddress()));
+    }
+
+    /**
+     * Stores or replaces a customer. Customers that do not fit are silently not stored.
+     *
+     * @param customer customer without OTP
+     */
+    public void put(CustomerResponse customer) {
+        byte[] payload;
+        try {
+            payload = CustomerBinaryCodec.encode(customer);
+        } catch (IllegalArgumentException exception) {
+            return;
+        }
+        int length = HEADER_BYTES + payload.length;
+        if (length > segmentSize) {
+            return;
+        }
+        long mobileHash = customer.getMobileNumber() == null ? 0 : HashUtil.hash64(customer.getMobileNumber());
+        long emailHash = customer.getEmailAddress() == null ? 0 : HashUtil.hash64(customer.getEmailAddress());
+
+        long stamp = lock.writeLock();
+        try {
+            long address = allocate(length);
+            if (address == MISSING) {
+                return;
+            }
+            ByteBuffer segment = segments[(int) (address >>> 32)];
+            int offset = (int) address;
+            segment.putInt(offset, length);
+            segment.putLong(offset + 4, mobileHash);
+            segment.putLong(offset + 12, emailHash);
+            segment.put(offset + HEADER_BYTES, payload);
+
+            removeLocked(customer.getCustomerId());
+            byCustomerId.put(customer.getCustomerId(), address);
+            if (mobileHash != 0) {
+                byMobileHash.put(mobileHash, address);
+            }
+            if (emailHash != 0) {
+                byEmailHash.put(emailHash, address);
+            }
+            liveBytes += length;
+            entries = byCustomerId.size();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes a customer and the given mobile numbers and emails, whichever customer they point to.
+     *
+     * @param customerId     id of the customer, may be null
+     * @param mobileNumbers  mobile numbers to drop (old and new)
+     * @param emailAddresses email addresses to drop (old and new)
+     */
+    public void remove(Long customerId, Iterable<String> mobileNumbers, Iterable<String> emailAddresses) {
+        long stamp = lock.writeLock();
+        try {
+            if (customerId != null) {
+                removeLocked(customerId);
+            }
+            mobileNumbers.forEach(mobileNumber -> byMobileHash.remove(HashUtil.hash64(mobileNumber)));
+            emailAddresses.forEach(emailAddress -> byEmailHash.remove(HashUtil.hash64(emailAddress)));
+            entries = byCustomerId.size();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Drops every entry and releases all segments.
+     */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            segments = new ByteBuffer[maxSegments];
+            segmentCount = 0;
+            writeOffset = 0;
+            byCustomerId.clear();
+            byMobileHash.clear();
+            byEmailHash.clear();
+            liveBytes = 0;
+            entries = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private Optional<CustomerResponse> read(ToLongFunction<OffHeapCustomerStore> index,
+                                            Predicate<CustomerResponse> matches) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                CustomerResponse customer = readRecord(index.applyAsLong(this));
+                if (lock.validate(stamp)) {
+                    return customer != null && matches.test(customer) ? Optional.of(customer) : Optional.empty();
+                }
+            } catch (RuntimeException exception) {
+                // torn read while a writer changed the index, retried below under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            CustomerResponse customer = readRecord(index.applyAsLong(this));
+            return customer != null && matches.test(customer) ? Optional.of(customer) : Optional.empty();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private CustomerResponse readRecord(long address) {
+        if (address == MISSING) {
+            return null;
+        }
+        ByteBuffer segment = segments[(int) (address >>> 32)];
+        int offset = (int) address;
+        int length = segment.getInt(offset);
+        return CustomerBinaryCodec.decode(segment.slice(offset + HEADER_BYTES, length - HEADER_BYTES));
+    }
+
+    private void removeLocked(long customerId) {
+        long address = byCustomerId.remove(customerId);
+        if (address == MISSING) {
+            return;
+        }
+        ByteBuffer segment = segments[(int) (address >>> 32)];
+        int offset = (int) address;
+        byMobileHash.remove(segment.getLong(offset + 4), address);
+        byEmailHash.remove(segment.getLong(offset + 12), address);
+        liveBytes -= segment.getInt(offset);
+    }
+
+    /**
+     * Reserves length bytes, opening a new segment or compacting when needed.
+     *
+     * @return address of the reserved space, or MISSING when the store is full
+     */
+    private long allocate(int length) {
+        if (segmentCount > 0 && writeOffset + length <= segmentSize) {
+            return reserve(length);
+        }
+        if (segmentCount < maxSegments) {
+            segments[segmentCount++] = ByteBuffer.allocateDirect(segmentSize);
+            writeOffset = 0;
+            return reserve(length);
+        }
+        long allocated = (long) segmentCount * segmentSize;
+        if (liveBytes * 2 <= allocated) {
+            compact();
+            return allocate(length);
+        }
+        if (!fullLogged) {
+            logger.warn("Off-heap customer store is full ({} live bytes), new customers are not stored", liveBytes);
+            fullLogged = true;
+        }
+        return MISSING;
+    }
+
+    private long reserve(int length) {
+        long address = ((long) (segmentCount - 1) << 32) | writeOffset;
+        writeOffset += length;
+        return address;
+    }
+
+    /**
+     * Copies all live records into new segments and rebuilds the indexes.
+     * Runs under the write lock; old segments are released by GC once no reader uses them.
+     */
+    private void compact() {
+        long started = System.nanoTime();
+        ByteBuffer[] oldSegments = segments;
+        LongLongHashMap oldIndex = byCustomerId;
+        segments = new ByteBuffer[maxSegments];
+        segmentCount = 0;
+        writeOffset = 0;
+        byCustomerId = new LongLongHashMap(oldIndex.size(), MISSING);
+        byMobileHash = new LongLongHashMap(oldIndex.size(), MISSING);
+        byEmailHash = new LongLongHashMap(oldIndex.size(), MISSING);
+        oldIndex.forEach((customerId, oldAddress) -> {
+            ByteBuffer oldSegment = oldSegments[(int) (oldAddress >>> 32)];
+            int oldOffset = (int) oldAddress;
+            int length = oldSegment.getInt(oldOffset);
+            long address = allocate(length);
+            segments[(int) (address >>> 32)].put((int) address, oldSegment, oldOffset, length);
+            byCustomerId.put(customerId, address);
+            long mobileHash = oldSegment.getLong(oldOffset + 4);
+            long emailHash = oldSegment.getLong(oldOffset + 12);
+            if (mobileHash != 0) {
+                byMobileHash.put(mobileHash, address);
+            }
+            if (emailHash != 0) {
+                byEmailHash.put(emailHash, address);
+            }
+        });
+        fullLogged = false;
+        logger.info("Compacted off-heap customer store: {} customers, {} live bytes in {} ms",
+                byCustomerId.size(), liveBytes, (System.nanoTime() - started) / 1_000_000);
+    }
+}
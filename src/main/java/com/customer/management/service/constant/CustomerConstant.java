@@ -27,5 +27,12 @@ public class CustomerConstant {
     public static final String OTP_CHARACTERS = "0123456789";
     public static final int OTP_LENGTH = 6;
 
+    /**
+     * Conflict messages returned when a unique customer field is already taken.
+     * Shared by the single and bulk create paths so both report duplicates the same way.
+     */
+    public static final String MOBILE_NUMBER_EXISTS = "Mobile number already exists";
+    public static final String EMAIL_EXISTS = "Email already exists";
+    public static final String FULL_NAME_EXISTS = "Full name already exists";
 
 }
@@ -1,15 +1,40 @@
 package com.customer.management.service.controller;
 
+import com.customer.management.service.cache.CustomerJsonCache;
+import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.request.BulkStatusRequest;
 import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.BulkCustomerResponse;
+import com.customer.management.service.response.BulkStatusJobResponse;
+import com.customer.management.service.response.PasswordRehashProgressResponse;
+import com.customer.management.service.response.CustomerCursorResponse;
 import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.service.CustomerArchiveService;
+import com.customer.management.service.service.CustomerBulkService;
+import com.customer.management.service.service.CustomerExportService;
 import com.customer.management.service.service.CustomerService;
+import com.customer.management.service.service.PasswordRehashService;
+import com.customer.management.service.service.impl.GroupCommitCustomerCreator;
+import com.customer.management.service.util.CustomerETagUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * CustomerController is responsible for handling all incoming HTTP requests
@@ -18,6 +43,8 @@ import org.springframework.web.bind.annotation.*;
  * - Acts as the entry point for API clients (Postman, Frontend, Swagger)
  * - Delegates business logic to the CustomerService layer
  * - Handles validation, logging, and HTTP status responses
+ * GET endpoints send strong ETags (customerId and version) and answer If-None-Match with 304;
+ * PATCH endpoints accept If-Match and answer 412 when the customer changed in the meantime.
  */
 @RestController
 @RequestMapping("/customer-management-service/api/v1")
@@ -25,11 +52,18 @@ import org.springframework.web.bind.annotation.*;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerBulkService customerBulkService;
+    private final CustomerArchiveService customerArchiveService;
+    private final CustomerExportService customerExportService;
+    private final PasswordRehashService passwordRehashService;
+    private final CustomerJsonCache customerJsonCache;
+    private final Optional<GroupCommitCustomerCreator> groupCommitCreator;
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerController.class);
 
     /**
      * Create a new customer in the system.
+     * When group commit is enabled, concurrent creates share one transaction.
      *
      * @param request CustomerRequest containing all required details like name, email, password, and addresses
      * @return ResponseEntity containing CustomerResponse with newly created customer details
@@ -37,7 +71,50 @@ public class CustomerController {
     @PostMapping("/create")
     public ResponseEntity<CustomerResponse> createCustomer(@Valid @RequestBody CustomerRequest request) {
         logger.info("Received createCustomer request for mobile: {}", request.getMobileNumber());
-        return ResponseEntity.ok(customerService.createCustomer(request));
+        return ResponseEntity.ok(groupCommitCreator
+                .map(creator -> creator.create(request))
+                .orElseGet(() -> customerService.createCustomer(request)));
+    }
+
+    /**
+     * Create a whole partner batch of customers at once.
+     * Entries are validated individually (no @Valid on the list) so a bad entry is
+     * reported in the response instead of rejecting the full batch.
+     *
+     * @param requests list of CustomerRequest entries to create
+     * @return ResponseEntity containing BulkCustomerResponse with the outcome of every entry
+     */
+    @PostMapping("/customers/bulk")
+    public ResponseEntity<BulkCustomerResponse> createCustomers(@RequestBody List<CustomerRequest> requests) {
+        logger.info("Received bulk createCustomers request with {} entries", requests.size());
+        return ResponseEntity.ok(customerBulkService.createCustomers(requests));
+    }
+
+    /**
+     * Change the status of many customers at once (e.g. after a KYC run or a fraud sweep).
+     * Customers are selected by id or by filter and updated in chunks in the background.
+     *
+     * @param request target status plus either customerIds or a filter (currentStatus, createdFrom, createdTo)
+     * @return 202 Accepted with the job progress; poll the Location header for updates
+     */
+    @PostMapping("/customers/bulk/status")
+    public ResponseEntity<BulkStatusJobResponse> changeCustomerStatus(@Valid @RequestBody BulkStatusRequest request) {
+        logger.info("Received bulk status change to {}", request.getStatus());
+        BulkStatusJobResponse job = customerBulkService.startStatusChange(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/customer-management-service/api/v1/customers/bulk/status/" + job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * Get the progress of a bulk status change.
+     *
+     * @param jobId id returned when the job was started
+     * @return ResponseEntity containing BulkStatusJobResponse with the current progress
+     */
+    @GetMapping("/customers/bulk/status/{jobId}")
+    public ResponseEntity<BulkStatusJobResponse> getCustomerStatusChange(@PathVariable String jobId) {
+        return ResponseEntity.ok(customerBulkService.getStatusChange(jobId));
     }
 
     /**
@@ -55,41 +132,87 @@ public class CustomerController {
 
         logger.info("Fetching all customers with page={}, size={}, sortBy={}", page, size, sortBy);
         Page<CustomerResponse> request = customerService.getCustomers(page, size, sortBy);
-        return ResponseEntity.ok(request);
+        return ResponseEntity.ok()
+                .eTag(CustomerETagUtil.etag(request.getContent(), request.getTotalElements() + "/" + request.getTotalPages()))
+                .body(request);
+    }
+
+    /**
+     * Retrieve customers with cursor (keyset) pagination, newest first.
+     * Meant for crawling the full customer list: every page costs the same
+     * and no total count is computed.
+     *
+     * @param cursor continuation token returned as nextCursor by the previous page (omit for the first page)
+     * @param size   number of records per page (default: 20)
+     * @return ResponseEntity containing CustomerCursorResponse with the page and the next cursor
+     */
+    @GetMapping("/customers/cursor")
+    public ResponseEntity<CustomerCursorResponse> getCustomersByCursor(@RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "20") int size) {
+        logger.info("Fetching customers by cursor with size={}", size);
+        CustomerCursorResponse response = customerService.getCustomersByCursor(cursor, size);
+        return ResponseEntity.ok()
+                .eTag(CustomerETagUtil.etag(response.getContent(), String.valueOf(response.getNextCursor())))
+                .body(response);
     }
 
+    /**
+     * Export customers as newline delimited JSON (one CustomerResponse per line, without OTP).
+     * The body is streamed while the rows are read, so the export size is not limited by heap.
+     *
+     * @param status       optional status filter
+     * @param updatedSince optional filter on updatedDate (ISO date-time, inclusive)
+     * @param response     servlet response the NDJSON is written to
+     * @throws IOException if the client connection fails while streaming
+     */
+    @GetMapping(value = "/customers/export", produces = "application/x-ndjson")
+    public void exportCustomers(@RequestParam(required = false) CustomerStatus status,
+                                @RequestParam(required = false)
+                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+                                HttpServletResponse response) throws IOException {
+        logger.info("Received exportCustomers request with status={}, updatedSince={}", status, updatedSince);
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        customerExportService.exportCustomers(status, updatedSince, response.getOutputStream());
+    }
 
     /**
      * Get a customer by their mobile number.
      *
      * @param mobileNumber mobile number of the customer
-     * @return ResponseEntity containing CustomerResponse with matched customer details
+     * @param webRequest   current request, for If-None-Match
+     * @return ResponseEntity containing the CustomerResponse JSON with matched customer details and an ETag,
+     *         or 304 when If-None-Match holds the current ETag
      */
-    @GetMapping("/getCustomerByMobileNumber/{mobileNumber}")
-    public ResponseEntity<CustomerResponse> getByMobileNumber(@PathVariable String mobileNumber) {
-        return ResponseEntity.ok(customerService.getCustomerByMobileNumber(mobileNumber));
+    @GetMapping(value = "/getCustomerByMobileNumber/{mobileNumber}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getByMobileNumber(@PathVariable String mobileNumber, WebRequest webRequest) {
+        return toJson(() -> customerService.getCustomerETagByMobileNumber(mobileNumber), () -> customerService.getCustomerByMobileNumber(mobileNumber), webRequest);
     }
 
     /**
      * Get a customer by their email address.
      *
      * @param emailAddress email address of the customer
-     * @return ResponseEntity containing CustomerResponse with matched customer details
+     * @param webRequest   current request, for If-None-Match
+     * @return ResponseEntity containing the CustomerResponse JSON with matched customer details and an ETag,
+     *         or 304 when If-None-Match holds the current ETag
      */
-    @GetMapping("/getCustomerByEmailAddress/{emailAddress}")
-    public ResponseEntity<CustomerResponse> getByEmailAddress(@PathVariable String emailAddress) {
-        return ResponseEntity.ok(customerService.getCustomerByEmailAddress(emailAddress));
+    @GetMapping(value = "/getCustomerByEmailAddress/{emailAddress}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getByEmailAddress(@PathVariable String emailAddress, WebRequest webRequest) {
+        return toJson(() -> customerService.getCustomerETagByEmailAddress(emailAddress), () -> customerService.getCustomerByEmailAddress(emailAddress), webRequest);
     }
 
     /**
      * Get a customer by their full name.
      *
      * @param fullName full name of the customer
-     * @return ResponseEntity containing CustomerResponse with matched customer details
+     * @param webRequest current request, for If-None-Match
+     * @return ResponseEntity containing the CustomerResponse JSON with matched customer details and an ETag,
+     *         or 304 when If-None-Match holds the current ETag
      */
-    @GetMapping("/getByFullName/{fullName}")
-    public ResponseEntity<CustomerResponse> getByFullName(@PathVariable String fullName) {
-        return ResponseEntity.ok(customerService.getCustomerByFullName(fullName));
+    @GetMapping(value = "/getByFullName/{fullName}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getByFullName(@PathVariable String fullName, WebRequest webRequest) {
+        return toJson(() -> customerService.getCustomerETagByFullName(fullName), () -> customerService.getCustomerByFullName(fullName), webRequest);
     }
 
     /**
@@ -97,11 +220,13 @@ public class CustomerController {
      *
      * @param customerId      ID of the customer whose mobile number is to be updated
      * @param newMobileNumber new mobile number to set
+     * @param ifMatch         optional ETag the update is conditional on (412 when the customer changed)
      * @return ResponseEntity containing CustomerResponse with updated customer details
      */
     @PatchMapping("/updateCustomerByMobileNumber/{customerId}/{newMobileNumber}")
-    public ResponseEntity<CustomerResponse> updateCustomerByMobileNumber(@PathVariable Long customerId, @PathVariable String newMobileNumber) {
-        return ResponseEntity.ok(customerService.updateCustomerByMobileNumber(customerId, newMobileNumber));
+    public ResponseEntity<CustomerResponse> updateCustomerByMobileNumber(@PathVariable Long customerId, @PathVariable String newMobileNumber,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(customerService.updateCustomerByMobileNumber(customerId, newMobileNumber, CustomerETagUtil.parseIfMatch(ifMatch)));
     }
 
     /**
@@ -109,11 +234,13 @@ public class CustomerController {
      *
      * @param customerId      ID of the customer whose email address is to be updated
      * @param newEmailAddress new email address to set
+     * @param ifMatch         optional ETag the update is conditional on (412 when the customer changed)
      * @return ResponseEntity containing CustomerResponse with updated customer details
      */
     @PatchMapping("/updateCustomerByEmailAddress/{customerId}/{newEmailAddress}")
-    public ResponseEntity<CustomerResponse> updateCustomerByEmailAddress(@PathVariable Long customerId, @PathVariable String newEmailAddress){
-        return ResponseEntity.ok(customerService.updateCustomerByEmailAddress(customerId, newEmailAddress));
+    public ResponseEntity<CustomerResponse> updateCustomerByEmailAddress(@PathVariable Long customerId, @PathVariable String newEmailAddress,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(customerService.updateCustomerByEmailAddress(customerId, newEmailAddress, CustomerETagUtil.parseIfMatch(ifMatch)));
     }
 
     /**
@@ -143,11 +270,13 @@ public class CustomerController {
      *
      * @param mobileNumber mobile number of the customer
      * @param newPassword  new password to set
+     * @param ifMatch      optional ETag the update is conditional on (412 when the customer changed)
      * @return ResponseEntity containing CustomerResponse with updated password information
      */
     @PatchMapping("/updatePasswordByMobileNumber/{mobileNumber}/{newPassword}")
-    public ResponseEntity<CustomerResponse> updatePasswordByMobileNumber(@PathVariable String mobileNumber, @PathVariable String newPassword){
-        return ResponseEntity.ok(customerService.updatePasswordByMobileNumber(mobileNumber, newPassword));
+    public ResponseEntity<CustomerResponse> updatePasswordByMobileNumber(@PathVariable String mobileNumber, @PathVariable String newPassword,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(customerService.updatePasswordByMobileNumber(mobileNumber, newPassword, CustomerETagUtil.parseIfMatch(ifMatch)));
     }
 
     /**
@@ -155,26 +284,31 @@ public class CustomerController {
      *
      * @param emailAddress email address of the customer
      * @param newPassword  new password to set
+     * @param ifMatch      optional ETag the update is conditional on (412 when the customer changed)
      * @return ResponseEntity containing CustomerResponse with updated password information
      */
     @PatchMapping("/updatePasswordByEmailAddress/{emailAddress}/{newPassword}")
-    public ResponseEntity<CustomerResponse> updatePasswordByEmailAddress(@PathVariable String emailAddress, @PathVariable String newPassword){
-        return ResponseEntity.ok(customerService.updatePasswordByEmailAddress(emailAddress, newPassword));
+    public ResponseEntity<CustomerResponse> updatePasswordByEmailAddress(@PathVariable String emailAddress, @PathVariable String newPassword,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(customerService.updatePasswordByEmailAddress(emailAddress, newPassword, CustomerETagUtil.parseIfMatch(ifMatch)));
     }
 
     @PatchMapping("/updateCustomerMobileNumberByCustomerId/{customerId}/{newMobileNumber}")
-    public ResponseEntity<String> updateCustomerMobileNumberByCustomerId(@PathVariable Long customerId, @PathVariable String newMobileNumber) {
-        return ResponseEntity.ok(customerService.updateCustomerMobileNumberByCustomerId(customerId, newMobileNumber));
+    public ResponseEntity<String> updateCustomerMobileNumberByCustomerId(@PathVariable Long customerId, @PathVariable String newMobileNumber,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(customerService.updateCustomerMobileNumberByCustomerId(customerId, newMobileNumber, CustomerETagUtil.parseIfMatch(ifMatch)));
     }
 
     @PatchMapping("/updateCustomerEmailAddressByCustomerId/{customerId}/{newEmailAddress}")
-    public ResponseEntity<String> updateCustomerEmailAddressByCustomerId(@PathVariable Long customerId, @PathVariable String newEmailAddress){
-        return ResponseEntity.ok(customerService.updateCustomerEmailAddressByCustomerId(customerId, newEmailAddress));
+    public ResponseEntity<String> updateCustomerEmailAddressByCustomerId(@PathVariable Long customerId, @PathVariable String newEmailAddress,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(customerService.updateCustomerEmailAddressByCustomerId(customerId, newEmailAddress, CustomerETagUtil.parseIfMatch(ifMatch)));
     }
 
     @PatchMapping("/updateCustomerPasswordByCustomerId/{customerId}/{newPassword}")
-    public ResponseEntity<String> updateCustomerPasswordByCustomerId(@PathVariable Long customerId, @PathVariable String newPassword){
-        return ResponseEntity.ok(customerService.updatePasswordByCustomerId(customerId, newPassword));
+    public ResponseEntity<String> updateCustomerPasswordByCustomerId(@PathVariable Long customerId, @PathVariable String newPassword,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(customerService.updatePasswordByCustomerId(customerId, newPassword, CustomerETagUtil.parseIfMatch(ifMatch)));
     }
 
     @DeleteMapping("/deleteCustomerByCustomerId/{customerId}")
@@ -182,4 +316,87 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.deleteCustomerByCustomerId(customerId));
     }
 
+    /**
+     * Activate a customer with the OTP returned when it was created.
+     *
+     * @param mobileNumber mobile number of the customer
+     * @param otp          OTP to verify
+     * @return ResponseEntity containing CustomerResponse with status ACTIVE and its ETag;
+     *         400 when the OTP is wrong, expired, already used or out of attempts
+     */
+    @PatchMapping("/activateByOtp/{mobileNumber}/{otp}")
+    public ResponseEntity<CustomerResponse> activateByOtp(@PathVariable String mobileNumber, @PathVariable String otp) {
+        return withETag(customerService.activateByOtp(mobileNumber, otp));
+    }
+
+    /**
+     * Move an archived customer back into the customers table, with the same customerId,
+     * addresses and OTP.
+     *
+     * @param customerId ID of the archived customer
+     * @return ResponseEntity containing CustomerResponse of the restored customer and its ETag
+     */
+    @PostMapping("/restoreCustomer/{customerId}")
+    public ResponseEntity<CustomerResponse> restoreCustomer(@PathVariable Long customerId) {
+        logger.info("Received restore request for archived customer {}", customerId);
+        return withETag(customerArchiveService.restoreCustomer(customerId));
+    }
+
+    /**
+     * Start the background migration of legacy password values to the current hash format.
+     * Resumes at the last checkpoint; does nothing if it is running or already completed.
+     *
+     * @return 202 Accepted with the migration progress; poll the Location header for updates
+     */
+    @PostMapping("/passwords/rehash")
+    public ResponseEntity<PasswordRehashProgressResponse> startPasswordRehash() {
+        logger.info("Received password rehash start request");
+        return ResponseEntity.accepted()
+                .location(URI.create("/customer-management-service/api/v1/passwords/rehash"))
+                .body(passwordRehashService.start());
+    }
+
+    /**
+     * Get the progress of the password rehash migration.
+     *
+     * @return ResponseEntity containing PasswordRehashProgressResponse with the checkpoint and totals
+     */
+    @GetMapping("/passwords/rehash")
+    public ResponseEntity<PasswordRehashProgressResponse> getPasswordRehash() {
+        return ResponseEntity.ok(passwordRehashService.getProgress());
+    }
+
+    /**
+     * Answers a conditional GET with 304 from the ETag alone when If-None-Match still holds it,
+     * otherwise loads the customer and writes it as JSON.
+     */
+    private ResponseEntity<byte[]> toJson(Supplier<Optional<String>> etag, Supplier<CustomerResponse> customer,
+                                         WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> current = etag.get();
+            if (current.isPresent() && webRequest.checkNotModified(current.get())) {
+                // 304 and ETag are already set on the response
+                return null;
+            }
+        }
+        return toJson(customer.get());
+    }
+
+    /**
+     * Writes a customer as cached JSON bytes, skipping mapping and serialization for hot customers.
+     */
+    private ResponseEntity<byte[]> toJson(CustomerResponse customer) {
+        CustomerJsonCache.CustomerJson json = customerJsonCache.get(customer);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(json.etag())
+                .body(json.body());
+    }
+
+    /**
+     * Returns an updated customer with its new ETag, usable as If-Match of the next update.
+     */
+    private static ResponseEntity<CustomerResponse> withETag(CustomerResponse customer) {
+        return ResponseEntity.ok().eTag(CustomerETagUtil.etag(customer)).body(customer);
+    }
 }
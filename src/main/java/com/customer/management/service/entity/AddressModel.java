@@ -1,10 +1,9 @@
 package com.customer.management.service.entity;
 
+import com.customer.management.service.generator.AllocatedId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Column;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
@@ -34,7 +33,7 @@ import lombok.Builder;
 public class AddressModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId(table = "customer_address", column = "address_id")
     @Column(name = "address_id")
     private Long addressId;
 
@@ -0,0 +1,53 @@
+package com.customer.management.service.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.Id;
+import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * ArchivedAddressModel maps the "customer_address_archive" table: addresses of archived customers,
+ * with the same addressId. The customer is referenced by id only, archive tables have no foreign keys.
+ */
+@Entity
+@Table(name = "customer_address_archive", indexes = {
+        @Index(name = "idx_customer_address_archive_customer_id", columnList = "customer_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedAddressModel {
+
+    @Id
+    @Column(name = "address_id")
+    private Long addressId;
+
+    @Column(name = "street", nullable = false)
+    private String street;
+
+    @Column(name = "city", nullable = false)
+    private String city;
+
+    @Column(name = "state", nullable = false)
+    private String state;
+
+    @Column(name = "country", nullable = false)
+    private String country;
+
+    @Column(name = "addressType", nullable = false)
+    private String addressType;
+
+    @Column(name = "pincode", nullable = false)
+    private Long pincode;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+}
@@ -0,0 +1,73 @@
+package com.customer.management.service.entity;
+
+import com.customer.management.service.enums.CustomerStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * ArchivedCustomerModel maps the "customers_archive" table.
+ * Customers inactive for longer than customer.archive.inactive-days are moved here, with the same
+ * customerId and columns, by {@link com.customer.management.service.service.CustomerArchiveService}.
+ * - Rows are only written and deleted with set-based native statements (INSERT ... SELECT).
+ * - The keys are indexed but not unique: an archived customer no longer reserves its
+ *   mobile number, email or full name in the customers table.
+ */
+@Entity
+@Table(name = "customers_archive", indexes = {
+        @Index(name = "idx_customers_archive_mobile_number", columnList = "mobile_number"),
+        @Index(name = "idx_customers_archive_email_address", columnList = "email_address")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedCustomerModel {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "first_name", nullable = false)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false)
+    private String lastName;
+
+    @Column(name = "full_name", nullable = false)
+    private String fullName;
+
+    @Column(name = "age")
+    private Integer age;
+
+    @Column(name = "mobile_number", nullable = false)
+    private String mobileNumber;
+
+    @Column(name = "email_address", nullable = false)
+    private String emailAddress;
+
+    @Column(name = "password", nullable = false)
+    private String password;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private CustomerStatus status;
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "updated_date", nullable = false)
+    private LocalDateTime updatedDate;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "archived_date", nullable = false)
+    private LocalDateTime archivedDate;
+}
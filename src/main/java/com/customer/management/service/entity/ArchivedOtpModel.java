@@ -0,0 +1,43 @@
+package com.customer.management.service.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.Id;
+import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * ArchivedOtpModel maps the "customer_otp_archive" table: the OTP rows of archived customers
+ * (customer.otp.store=jpa), restored with the customer and still subject to customer.otp.ttl-seconds.
+ */
+@Entity
+@Table(name = "customer_otp_archive", indexes = {
+        @Index(name = "idx_customer_otp_archive_customer_id", columnList = "customer_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOtpModel {
+
+    @Id
+    @Column(name = "otp_id")
+    private Long otpId;
+
+    @Column(name = "otp_value", nullable = false, length = 6)
+    private String otpValue;
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+}
@@ -1,6 +1,7 @@
 package com.customer.management.service.entity;
 
 import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.generator.AllocatedId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -17,9 +19,21 @@ import java.util.List;
  * CustomerModel represents the main customer entity mapped to "customers" table.
  * It stores all essential customer details, including personal info, status,
  * timestamps, and relationships with addresses and OTPs.
+ * The (created_date, customer_id) index backs keyset pagination of the customer listing.
+ * The version column is incremented on every update; it backs the ETags of the API and
+ * makes concurrent updates of the same customer fail instead of overwriting each other.
+ * Deleting a customer only sets deleted_date (soft delete); every entity query excludes such rows
+ * through the restriction below, and CustomerPurgeJob removes them physically later. Their mobile
+ * number, email and full name stay reserved until then.
+ * The (status, updated_date) index lets the archive job find long inactive customers without a table scan.
  */
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_created_date_id", columnList = "created_date, customer_id"),
+        @Index(name = "idx_customers_deleted_date", columnList = "deleted_date"),
+        @Index(name = "idx_customers_status_updated_date", columnList = "status, updated_date")
+})
+@SQLRestriction("deleted_date IS NULL")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,7 +42,7 @@ import java.util.List;
 public class CustomerModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId(table = "customers", column = "customer_id")
     @Column(name = "customer_id")
     private Long customerId;
 
@@ -65,6 +79,13 @@ public class CustomerModel {
     @UpdateTimestamp
     private LocalDateTime updatedDate;
 
+    @Column(name = "deleted_date")
+    private LocalDateTime deletedDate;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<AddressModel> address;
 
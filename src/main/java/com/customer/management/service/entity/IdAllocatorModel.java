@@ -0,0 +1,33 @@
+package com.customer.management.service.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * IdAllocatorModel maps the "id_allocator" table used by
+ * {@link com.customer.management.service.generator.PooledTableIdAllocator}.
+ * Each row is one id sequence (named after its table) and the next free value.
+ * Mapped as an entity so the table is created together with the rest of the schema;
+ * it is read and updated with plain JDBC only.
+ */
+@Entity
+@Table(name = "id_allocator")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdAllocatorModel {
+
+    @Id
+    @Column(name = "sequence_name", length = 64)
+    private String sequenceName;
+
+    @Column(name = "next_val", nullable = false)
+    private Long nextVal;
+}
@@ -1,11 +1,13 @@
 package com.customer.management.service.entity;
 
+import com.customer.management.service.generator.AllocatedId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -17,8 +19,10 @@ import java.time.LocalDateTime;
  *   - A unique OTP ID (Primary Key)
  *   - The actual OTP value (6 digits)
  *   - The date and time when the OTP was generated
+ *   - The number of wrong attempts so far
  *   - The customer to whom this OTP belongs (Many-to-One relationship)
  * Used for verifying customer identity during login, registration, or password reset.
+ * Only written with customer.otp.store=jpa (see {@link com.customer.management.service.otp.JpaOtpStore}).
  */
 @Entity
 @Table(name = "customer_otp")
@@ -30,7 +34,7 @@ import java.time.LocalDateTime;
 public class OtpModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId(table = "customer_otp", column = "otp_id")
     @Column(name = "otp_id")
     private Long otpId;
 
@@ -41,6 +45,10 @@ public class OtpModel {
     @CreationTimestamp
     private LocalDateTime createdDate;
 
+    @Column(name = "attempts", nullable = false)
+    @ColumnDefault("0")
+    private int attempts;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private CustomerModel customer;
@@ -0,0 +1,51 @@
+package com.customer.management.service.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * PasswordRehashCheckpointModel maps the "password_rehash_checkpoint" table of the password rehash migration.
+ * One row per migration: the last customerId whose chunk was committed and the running totals.
+ * It is updated in the same transaction as the passwords of the chunk, so a restart resumes
+ * exactly after the last committed chunk.
+ */
+@Entity
+@Table(name = "password_rehash_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PasswordRehashCheckpointModel {
+
+    @Id
+    @Column(name = "migration_name", length = 64)
+    private String migrationName;
+
+    @Column(name = "last_customer_id", nullable = false)
+    private long lastCustomerId;
+
+    @Column(name = "rehashed_count", nullable = false)
+    private long rehashedCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private long skippedCount;
+
+    @Column(name = "started_date", nullable = false)
+    private LocalDateTime startedDate;
+
+    @Column(name = "updated_date", nullable = false)
+    private LocalDateTime updatedDate;
+
+    @Column(name = "completed_date")
+    private LocalDateTime completedDate;
+}
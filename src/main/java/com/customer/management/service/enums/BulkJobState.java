@@ -0,0 +1,15 @@
+package com.customer.management.service.enums;
+
+/**
+ * BulkJobState Enum:
+ * - Represents the lifecycle of an asynchronous bulk job.
+ * Values:
+ * - RUNNING → Chunks are still being applied.
+ * - COMPLETED → Every chunk was applied.
+ * - FAILED → A chunk failed; chunks committed before it stay applied.
+ */
+public enum BulkJobState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
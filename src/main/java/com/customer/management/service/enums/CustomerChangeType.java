@@ -0,0 +1,15 @@
+package com.customer.management.service.enums;
+
+/**
+ * CustomerChangeType Enum:
+ * - Describes what happened to a customer in a {@link com.customer.management.service.event.CustomerChangedEvent}.
+ * Values:
+ * - CREATED → A new customer was inserted.
+ * - UPDATED → Fields of an existing customer changed (mobile, email, password, status...).
+ * - DELETED → The customer was removed.
+ */
+public enum CustomerChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,49 @@
+package com.customer.management.service.event;
+
+import com.customer.management.service.enums.CustomerChangeType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * CustomerChangedEvent is published by the service layer whenever a customer is
+ * created, updated or deleted.
+ * Why we need this:
+ * - Caches and in-memory indexes keyed by mobile number, email or full name must drop
+ *   every key of a changed customer, including the values it had before the change.
+ * - Publishing one event keeps those structures out of the business logic.
+ * The previous* fields carry the old unique keys when an update changed them
+ * (null when they did not change); version is the customer's version after the change,
+ * null when the publisher did not read it back.
+ */
+@Getter
+@Builder
+@ToString
+public class CustomerChangedEvent {
+
+    private final Long customerId;
+    private final CustomerChangeType changeType;
+    private final String mobileNumber;
+    private final String emailAddress;
+    private final String fullName;
+    private final String previousMobileNumber;
+    private final String previousEmailAddress;
+    private final Long version;
+
+    /**
+     * @return current and previous mobile numbers, without nulls
+     */
+    public Stream<String> mobileNumbers() {
+        return Stream.of(mobileNumber, previousMobileNumber).filter(Objects::nonNull);
+    }
+
+    /**
+     * @return current and previous email addresses, without nulls
+     */
+    public Stream<String> emailAddresses() {
+        return Stream.of(emailAddress, previousEmailAddress).filter(Objects::nonNull);
+    }
+}
@@ -0,0 +1,10 @@
+package com.customer.management.service.exceptions;
+
+/**
+ * Exception thrown when a bulk job id is unknown or its result has expired.
+ */
+public class BulkJobNotFoundException extends RuntimeException {
+    public BulkJobNotFoundException(String message) {
+        super(message);
+    }
+}
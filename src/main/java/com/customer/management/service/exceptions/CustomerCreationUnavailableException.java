@@ -0,0 +1,10 @@
+package com.customer.management.service.exceptions;
+
+/**
+ * Exception thrown when a group-committed create could not be completed in time or the service is shutting down.
+ */
+public class CustomerCreationUnavailableException extends RuntimeException {
+    public CustomerCreationUnavailableException(String message) {
+        super(message);
+    }
+}
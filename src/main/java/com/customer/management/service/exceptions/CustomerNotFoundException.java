@@ -2,9 +2,11 @@ package com.customer.management.service.exceptions;
 
 /**
  * Exception thrown when a customer is not found.
+ * It is an expected outcome of a lookup and is mapped to 404 by the GlobalExceptionHandler,
+ * so no stack trace is captured (filling it in dominated the cost of a miss).
  */
 public class CustomerNotFoundException extends RuntimeException {
   public CustomerNotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
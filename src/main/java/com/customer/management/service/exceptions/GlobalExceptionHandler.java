@@ -1,8 +1,14 @@
 package com.customer.management.service.exception;
 
+import com.customer.management.service.exceptions.BulkJobNotFoundException;
 import com.customer.management.service.exceptions.CustomerAlreadyExistsException;
+import com.customer.management.service.exceptions.CustomerCreationUnavailableException;
 import com.customer.management.service.exceptions.CustomerNotFoundException;
 import com.customer.management.service.exceptions.InvalidOtpException;
+import com.customer.management.service.exceptions.PasswordHashingUnavailableException;
+import com.customer.management.service.exceptions.PreconditionFailedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -34,6 +40,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(map, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(BulkJobNotFoundException.class)
+    public ResponseEntity<Map<String,String>> handleJobNotFound(BulkJobNotFoundException exception) {
+        Map<String,String> map = new HashMap<>();
+        map.put("error", exception.getMessage());
+        return new ResponseEntity<>(map, HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(InvalidOtpException.class)
     public ResponseEntity<Map<String,String>> handleOtp(InvalidOtpException exception) {
         Map<String,String> map = new HashMap<>();
@@ -41,6 +54,50 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(map, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * The password hashing pool is saturated; the client should retry shortly.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<Map<String,String>> handleHashingUnavailable(PasswordHashingUnavailableException exception) {
+        Map<String,String> map = new HashMap<>();
+        map.put("error", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(map);
+    }
+
+    /**
+     * A group-committed create timed out or arrived during shutdown; the client should retry shortly.
+     */
+    @ExceptionHandler(CustomerCreationUnavailableException.class)
+    public ResponseEntity<Map<String,String>> handleCreationUnavailable(CustomerCreationUnavailableException exception) {
+        Map<String,String> map = new HashMap<>();
+        map.put("error", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(map);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String,String>> handlePreconditionFailed(PreconditionFailedException exception) {
+        Map<String,String> map = new HashMap<>();
+        map.put("error", exception.getMessage());
+        return new ResponseEntity<>(map, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Another writer updated the customer between our read and our write (@Version check).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String,String>> handleOptimisticLock(OptimisticLockingFailureException exception) {
+        Map<String,String> map = new HashMap<>();
+        map.put("error", "Customer was modified concurrently, reload it and retry");
+        return new ResponseEntity<>(map, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String,String>> handleIllegalArgument(IllegalArgumentException exception) {
+        Map<String,String> map = new HashMap<>();
+        map.put("error", exception.getMessage());
+        return new ResponseEntity<>(map, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String,String>> handleValidation(MethodArgumentNotValidException exception) {
         Map<String,String> errors = new HashMap<>();
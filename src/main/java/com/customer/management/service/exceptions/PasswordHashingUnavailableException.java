@@ -0,0 +1,10 @@
+package com.customer.management.service.exceptions;
+
+/**
+ * Exception thrown when the password hashing pool is saturated and a hash cannot be computed in time.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.customer.management.service.exceptions;
+
+/**
+ * Exception thrown when a conditional update (If-Match) does not match the current
+ * version of the customer, i.e. another writer changed it first.
+ * Mapped to 412 Precondition Failed by the GlobalExceptionHandler.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.customer.management.service.generator;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity id as generated by the configured {@link IdAllocator}
+ * (see customer.id.strategy) instead of a database IDENTITY column.
+ */
+@IdGeneratorType(AllocatedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface AllocatedId {
+
+    /**
+     * Table the id belongs to, also used as the allocator sequence name.
+     */
+    String table();
+
+    /**
+     * Primary key column of the table.
+     */
+    String column();
+}
@@ -0,0 +1,25 @@
+package com.customer.management.service.generator;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate identifier generator behind {@link AllocatedId}.
+ * Hibernate creates this class itself, so the Spring managed {@link IdAllocator}
+ * is looked up through {@link IdAllocatorRegistry} at generation time.
+ */
+public class AllocatedIdGenerator implements IdentifierGenerator {
+
+    private final String table;
+    private final String column;
+
+    public AllocatedIdGenerator(AllocatedId config) {
+        this.table = config.table();
+        this.column = config.column();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return IdAllocatorRegistry.current().nextId(table, column);
+    }
+}
@@ -0,0 +1,23 @@
+package com.customer.management.service.generator;
+
+/**
+ * IdAllocator hands out primary keys in the JVM before rows are inserted.
+ *
+ * Why we need this:
+ * - IDENTITY columns force Hibernate to insert every row immediately to read back
+ *   its key, which disables JDBC insert batching.
+ * - With keys known up front, Hibernate and the bulk JDBC writer can batch inserts.
+ * Implementations must be thread-safe and must never hand out the same id twice,
+ * also across several service instances sharing one database.
+ */
+public interface IdAllocator {
+
+    /**
+     * Returns the next id for the given table.
+     *
+     * @param table    table the id is generated for, also used as the sequence name
+     * @param idColumn primary key column of the table, used to seed the sequence from existing rows
+     * @return a new unique id
+     */
+    long nextId(String table, String idColumn);
+}
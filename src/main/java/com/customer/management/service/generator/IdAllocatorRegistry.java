@@ -0,0 +1,29 @@
+package com.customer.management.service.generator;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Bridges the Spring managed {@link IdAllocator} to {@link AllocatedIdGenerator},
+ * which is instantiated by Hibernate and cannot receive Spring beans itself.
+ */
+@Component
+public class IdAllocatorRegistry {
+
+    private static volatile IdAllocator allocator;
+
+    public IdAllocatorRegistry(IdAllocator idAllocator) {
+        allocator = idAllocator;
+    }
+
+    /**
+     * @return the active allocator
+     * @throws IllegalStateException if called before the application context has started
+     */
+    public static IdAllocator current() {
+        IdAllocator current = allocator;
+        if (current == null) {
+            throw new IllegalStateException("IdAllocator has not been initialised yet");
+        }
+        return current;
+    }
+}
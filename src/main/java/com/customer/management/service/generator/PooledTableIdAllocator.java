@@ -0,0 +1,196 @@
+package com.customer.management.service.generator;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table backed pooled (hi/lo style) {@link IdAllocator}. This is the default strategy.
+ * How it works:
+ * - Table id_allocator keeps one row per sequence with the next free value.
+ * - An instance reserves a block of customer.id.block-size ids with a single
+ *   row-locking UPDATE in its own short transaction, so several instances on one
+ *   database always receive disjoint blocks.
+ * - Ids inside a block are handed out with one atomic increment, without locking;
+ *   only the thread that exhausts a block fetches the next one.
+ * - Blocks are reserved on a separate pool of customer.id.pool-size connections. The caller
+ *   usually holds an application connection in its transaction; taking the reservation
+ *   connection from the same pool deadlocks once every connection is held by a caller
+ *   waiting for the next block.
+ * Migration: the first allocation of a sequence seeds it with MAX(id) + 1 of the
+ * existing table, so rows inserted through the old IDENTITY columns are never reused.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.id.strategy", havingValue = "pooled", matchIfMissing = true)
+public class PooledTableIdAllocator implements IdAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledTableIdAllocator.class);
+
+    private static final String RESERVE_SQL = "UPDATE id_allocator SET next_val = next_val + ? WHERE sequence_name = ?";
+    private static final String READ_SQL = "SELECT next_val FROM id_allocator WHERE sequence_name = ?";
+
+    private final DataSource dataSource;
+    private final int blockSize;
+    private final ConcurrentMap<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PooledTableIdAllocator(DataSourceProperties dataSourceProperties,
+                                  @Value("${customer.id.block-size:100}") int blockSize,
+                                  @Value("${customer.id.pool-size:2}") int poolSize) {
+        this(reservationPool(dataSourceProperties, poolSize), blockSize);
+    }
+
+    /**
+     * @param dataSource connections for block reservations only; closed with the allocator if it is a Hikari pool
+     */
+    PooledTableIdAllocator(DataSource dataSource, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("customer.id.block-size must be positive");
+        }
+        this.dataSource = dataSource;
+        this.blockSize = blockSize;
+    }
+
+    private static HikariDataSource reservationPool(DataSourceProperties dataSourceProperties, int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("customer.id.pool-size must be positive");
+        }
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("id-allocator");
+        pool.setMaximumPoolSize(poolSize);
+        pool.setMinimumIdle(1);
+        return pool;
+    }
+
+    @PreDestroy
+    void close() {
+        if (dataSource instanceof HikariDataSource pool) {
+            pool.close();
+        }
+    }
+
+    @Override
+    public long nextId(String table, String idColumn) {
+        return sequences.computeIfAbsent(table, name -> new Sequence(name, idColumn)).next();
+    }
+
+    /**
+     * Range [next, end) of reserved ids.
+     */
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    private final class Sequence {
+        private final String table;
+        private final String idColumn;
+        private volatile Block block = new Block(0, 0);
+
+        private Sequence(String table, String idColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+        }
+
+        private long next() {
+            while (true) {
+                Block current = block;
+                long id = current.next.getAndIncrement();
+                if (id < current.end) {
+                    return id;
+                }
+                synchronized (this) {
+                    if (block == current) {
+                        block = reserveBlock(table, idColumn);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserves the next block of ids on a reservation pool connection, independent of any
+     * transaction the caller is running, so the reservation is never rolled back.
+     */
+    private Block reserveBlock(String table, String idColumn) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long end = reserve(connection, table);
+                if (end < 0) {
+                    seed(connection, table, idColumn);
+                    end = reserve(connection, table);
+                }
+                connection.commit();
+                return new Block(end - blockSize, end);
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException exception) {
+            throw new DataAccessResourceFailureException("Could not reserve ids for " + table, exception);
+        }
+    }
+
+    /**
+     * @return the exclusive end of the reserved block, or -1 if the sequence row does not exist yet
+     */
+    private long reserve(Connection connection, String table) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(RESERVE_SQL)) {
+            update.setLong(1, blockSize);
+            update.setString(2, table);
+            if (update.executeUpdate() == 0) {
+                return -1;
+            }
+        }
+        try (PreparedStatement read = connection.prepareStatement(READ_SQL)) {
+            read.setString(1, table);
+            try (ResultSet resultSet = read.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Creates the sequence row starting after the highest existing id.
+     * A concurrent instance may create the same row first; the duplicate is ignored.
+     */
+    private void seed(Connection connection, String table, String idColumn) throws SQLException {
+        String seedSql = "INSERT INTO id_allocator (sequence_name, next_val) SELECT ?, COALESCE(MAX(" + idColumn + "), 0) + 1 FROM " + table;
+        try (PreparedStatement insert = connection.prepareStatement(seedSql)) {
+            insert.setString(1, table);
+            insert.executeUpdate();
+            logger.info("Seeded id sequence {} from existing rows", table);
+        } catch (SQLException exception) {
+            if (exception.getSQLState() == null || !exception.getSQLState().startsWith("23")) {
+                throw exception;
+            }
+            logger.info("Id sequence {} was seeded concurrently", table);
+        }
+    }
+}
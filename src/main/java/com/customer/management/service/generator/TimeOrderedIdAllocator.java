@@ -0,0 +1,59 @@
+package com.customer.management.service.generator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time ordered 64-bit {@link IdAllocator} that never touches the database.
+ * Layout of an id (most significant bit first):
+ * - 1 bit  : always 0, ids stay positive
+ * - 41 bits: milliseconds since 2025-01-01T00:00:00Z
+ * - 10 bits: node id (customer.id.node-id), must be unique per service instance
+ * - 12 bits: sequence inside the millisecond
+ * Ids are strictly increasing per node, also when the wall clock moves backwards:
+ * the allocator then keeps counting on the last used millisecond.
+ * Enable with customer.id.strategy=time-ordered. Generated ids are far above any
+ * existing IDENTITY value, so existing rows need no migration.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.id.strategy", havingValue = "time-ordered")
+public class TimeOrderedIdAllocator implements IdAllocator {
+
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private final long nodeId;
+
+    /**
+     * Last issued (timestamp << SEQUENCE_BITS | sequence); a sequence overflow
+     * simply carries into the next millisecond.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public TimeOrderedIdAllocator(@Value("${customer.id.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("customer.id.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public long nextId(String table, String idColumn) {
+        while (true) {
+            long last = state.get();
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.customer.management.service.mapper;
 
 import com.customer.management.service.entity.AddressModel;
+import com.customer.management.service.entity.ArchivedAddressModel;
+import com.customer.management.service.entity.ArchivedCustomerModel;
 import com.customer.management.service.entity.CustomerModel;
-import com.customer.management.service.entity.OtpModel;
 import com.customer.management.service.enums.CustomerStatus;
 import com.customer.management.service.request.AddressRequest;
 import com.customer.management.service.request.CustomerRequest;
@@ -12,13 +13,11 @@ import com.customer.management.service.response.CustomerResponse;
 import java.util.ArrayList;
 import java.util.List;
 
-import static com.customer.management.service.util.OtpUtil.generateOtp;
-import static com.customer.management.service.util.PasswordUtil.autoGenerateHashPassword;
 
 /**
  * CustomerMapper handles all object mapping between:
  * - Request objects (CustomerRequest, AddressRequest) coming from API layer
- * - Entity objects (CustomerModel, AddressModel, OtpModel) used in persistence layer
+ * - Entity objects (CustomerModel, AddressModel) used in persistence layer
  * - Response objects (CustomerResponse, AddressResponse) sent back to the client
  * This approach ensures clean separation of concerns by keeping
  * conversion logic isolated from service/business logic.
@@ -32,21 +31,22 @@ public class CustomerMapper {
      * Steps performed:
      * <ul>
      *     <li>Maps all basic customer fields (first name, last name, email, etc.)</li>
-     *     <li>Auto-generates a secure hashed password</li>
+     *     <li>Sets the hash of the auto-generated password</li>
      *     <li>Sets customer status as {@link CustomerStatus#INACTIVE} by default</li>
      *     <li>Initializes createdDate and updatedDate automatically (via entity lifecycle)</li>
      * </ul>
      *
-     * @param request the incoming customer data from API
+     * @param request      the incoming customer data from API
+     * @param passwordHash hash of the generated password, from PasswordHashingService#hashGeneratedPassword
      * @return a fully populated {@link CustomerModel} ready for persistence
      */
-    public static CustomerModel toCustomerModel(CustomerRequest request) {
+    public static CustomerModel toCustomerModel(CustomerRequest request, String passwordHash) {
         return CustomerModel.builder()
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .fullName(request.getFullName())
                 .age(request.getAge())
-                .password(autoGenerateHashPassword())
+                .password(passwordHash)
                 .mobileNumber(request.getMobileNumber())
                 .emailAddress(request.getEmailAddress())
                 .status(CustomerStatus.INACTIVE)
@@ -73,36 +73,16 @@ public class CustomerMapper {
                .build();
     }
 
-    /**
-     * Prepares a new {@link OtpModel} entity for a customer.
-     * <p>
-     * Steps:
-     * <ul>
-     *     <li>Generates a secure OTP using {@link com.customer.management.service.util.OtpUtil}</li>
-     *     <li>Associates OTP with the given customer</li>
-     * </ul>
-     *
-     * @param customerModel the customer for whom OTP is being generated
-     * @return a new {@link OtpModel} entity ready to be persisted
-     */
-    public static OtpModel requestToOtpMapper(CustomerModel customerModel) {
-        String otpValue = generateOtp();
-        return OtpModel.builder()
-                .otpValue(otpValue)
-                .customer(customerModel)
-                .build();
-    }
-
     /**
      * Converts a {@link CustomerModel} along with its addresses and OTP
      * into a {@link CustomerResponse} object for API response.
      *
      * @param customerModel the persisted customer entity from database
      * @param models        list of address entities linked with the customer
-     * @param otpModel      the generated OTP entity
+     * @param otp           the OTP issued to the customer
      * @return a {@link CustomerResponse} object containing complete customer details
      */
-    public static CustomerResponse toCustomerResponse(CustomerModel customerModel, List<AddressModel> models, OtpModel otpModel) {
+    public static CustomerResponse toCustomerResponse(CustomerModel customerModel, List<AddressModel> models, String otp) {
         return CustomerResponse.builder()
                 .customerId(customerModel.getCustomerId())
                 .firstName(customerModel.getFirstName())
@@ -113,9 +93,10 @@ public class CustomerMapper {
                 .emailAddress(customerModel.getEmailAddress())
                 .status(customerModel.getStatus())
                 .addresses(modelToAddressResponse(models))
-                .otp(otpModel.getOtpValue())
+                .otp(otp)
                 .createdDate(customerModel.getCreatedDate())
                 .updatedDate(customerModel.getUpdatedDate())
+                .version(customerModel.getVersion())
                 .build();
     }
 
@@ -150,6 +131,57 @@ public class CustomerMapper {
      * @return a {@link CustomerResponse} object containing customer details
      */
     public static CustomerResponse toCustomerResponse(CustomerModel model) {
+        return toCustomerResponse(model, model.getAddress());
+    }
+
+    /**
+     * Converts a {@link CustomerModel} with separately loaded addresses into a
+     * {@link CustomerResponse} without OTP information.
+     * Used when addresses are fetched in bulk for many customers at once (e.g. exports).
+     *
+     * @param model     the customer entity
+     * @param addresses address entities of the customer
+     * @return a {@link CustomerResponse} object containing customer details
+     */
+    public static CustomerResponse toCustomerResponse(CustomerModel model, List<AddressModel> addresses) {
+        return CustomerResponse.builder()
+                .customerId(model.getCustomerId())
+                .firstName(model.getFirstName())
+                .lastName(model.getLastName())
+                .fullName(model.getFullName())
+                .age(model.getAge())
+                .mobileNumber(model.getMobileNumber())
+                .emailAddress(model.getEmailAddress())
+                .status(model.getStatus())
+                .createdDate(model.getCreatedDate())
+                .updatedDate(model.getUpdatedDate())
+                .version(model.getVersion())
+                .addresses(modelToAddressResponse(addresses))
+                .build();
+    }
+
+    /**
+     * Converts an archived customer with its archived addresses into a {@link CustomerResponse}
+     * without OTP information, as returned by lookups that fall back to the archive.
+     *
+     * @param model     the archived customer
+     * @param addresses archived addresses of the customer
+     * @return a {@link CustomerResponse} object containing customer details
+     */
+    public static CustomerResponse toCustomerResponse(ArchivedCustomerModel model, List<ArchivedAddressModel> addresses) {
+        List<AddressResponse> addressResponses = new ArrayList<>();
+        addresses.forEach(address -> addressResponses.add(
+                AddressResponse.builder()
+                        .addressId(address.getAddressId())
+                        .street(address.getStreet())
+                        .city(address.getCity())
+                        .state(address.getState())
+                        .country(address.getCountry())
+                        .addressType(address.getAddressType())
+                        .pincode(address.getPincode())
+                        .build()
+                )
+        );
         return CustomerResponse.builder()
                 .customerId(model.getCustomerId())
                 .firstName(model.getFirstName())
@@ -161,7 +193,8 @@ public class CustomerMapper {
                 .status(model.getStatus())
                 .createdDate(model.getCreatedDate())
                 .updatedDate(model.getUpdatedDate())
-                .addresses(modelToAddressResponse(model.getAddress()))
+                .version(model.getVersion())
+                .addresses(addressResponses)
                 .build();
     }
 }
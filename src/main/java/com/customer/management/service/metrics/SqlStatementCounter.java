@@ -0,0 +1,52 @@
+package com.customer.management.service.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Registered as the session factory's {@link StatementInspector}; {@link SqlStatementMetricsFilter}
+ * opens a count per HTTP request. Statements sent with JdbcTemplate (CustomerBatchRepository) do not
+ * pass through Hibernate and are not counted.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting the statements of the current thread.
+     */
+    void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return statements prepared since {@link #start()}
+     */
+    int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,313 @@
+package com.customer.management.service.otp;
+
+import com.customer.management.service.constant.CustomerConstant;
+import com.customer.management.service.exceptions.InvalidOtpException;
+import com.customer.management.service.util.LongLongHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process {@link OtpStore}, the default (customer.otp.store=memory).
+ * How it is stored:
+ * - One long per OTP: (expiry tick << 34) | (wrong attempts << 30) | OTP digits, kept in 64
+ *   {@link LongLongHashMap} stripes keyed by customerId, each guarded by its own monitor.
+ *   No String, no boxing and no entry object per OTP.
+ * - Expiry is tracked by a hashed timing wheel: one slot per tick (customer.otp.memory.tick-millis),
+ *   enough slots to cover customer.otp.ttl-seconds, each slot a growable long[] of customerIds.
+ *   A single scheduled sweep empties the slots whose tick has passed, so there is no scheduled task
+ *   and no timer per OTP; a late sweep only keeps memory a little longer, since {@link #verify}
+ *   checks the expiry itself.
+ * At 1M outstanding OTPs the stripes take about 32 MB and the wheel 8 to 16 MB, depending on how
+ * full the slot arrays are (gauges customer.otp.store.entries and customer.otp.store.memory).
+ */
+@Component
+@ConditionalOnProperty(name = "customer.otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryOtpStore.class);
+    private static final long MISSING = -1;
+    private static final int STRIPES = 64;
+    private static final int DIGIT_BITS = 30;
+    private static final int ATTEMPT_BITS = 4;
+    private static final int EXPIRY_SHIFT = DIGIT_BITS + ATTEMPT_BITS;
+    private static final long DIGIT_MASK = (1L << DIGIT_BITS) - 1;
+    private static final long ATTEMPT_MASK = (1L << ATTEMPT_BITS) - 1;
+    private static final int MAX_DIGITS = 9;
+    private static final int INITIAL_SLOT_CAPACITY = 16;
+
+    private final LongLongHashMap[] stripes = new LongLongHashMap[STRIPES];
+    private final long[][] wheel;
+    private final int[] wheelSizes;
+    private final Object[] wheelLocks;
+    private final int wheelMask;
+    private final long ttlTicks;
+    private final long tickNanos;
+    private final int maxAttempts;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private long sweptTick = -1;
+
+    @Autowired
+    public InMemoryOtpStore(@Value("${customer.otp.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${customer.otp.max-attempts:5}") int maxAttempts,
+                            @Value("${customer.otp.memory.tick-millis:1000}") long tickMillis,
+                            @Value("${customer.otp.memory.expected-entries:100000}") int expectedEntries,
+                            MeterRegistry meterRegistry) {
+        this(ttlSeconds, maxAttempts, tickMillis, expectedEntries, meterRegistry, System::nanoTime);
+    }
+
+    InMemoryOtpStore(long ttlSeconds, int maxAttempts, long tickMillis, int expectedEntries,
+                     MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        if (CustomerConstant.OTP_LENGTH > MAX_DIGITS) {
+            throw new IllegalStateException("InMemoryOtpStore supports OTPs of up to " + MAX_DIGITS + " digits");
+        }
+        if (maxAttempts < 1 || maxAttempts > ATTEMPT_MASK) {
+            throw new IllegalArgumentException("customer.otp.max-attempts must be between 1 and " + ATTEMPT_MASK);
+        }
+        if (tickMillis < 100) {
+            // expiry ticks have 30 bits: 3.4 years of uptime at 100 ms ticks
+            throw new IllegalArgumentException("customer.otp.memory.tick-millis must be at least 100");
+        }
+        this.maxAttempts = maxAttempts;
+        this.tickNanos = tickMillis * 1_000_000;
+        this.ttlTicks = Math.max(1, (ttlSeconds * 1000 + tickMillis - 1) / tickMillis);
+        int slots = Integer.highestOneBit((int) Math.min(1 << 20, ttlTicks + 2) - 1) << 1;
+        this.wheel = new long[slots][];
+        this.wheelSizes = new int[slots];
+        this.wheelLocks = new Object[slots];
+        Arrays.setAll(wheelLocks, slot -> new Object());
+        this.wheelMask = slots - 1;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LongLongHashMap(Math.max(16, expectedEntries / STRIPES), MISSING);
+        }
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+
+        Gauge.builder("customer.otp.store.entries", this, InMemoryOtpStore::size).register(meterRegistry);
+        Gauge.builder("customer.otp.store.memory", this, InMemoryOtpStore::memoryBytes)
+                .baseUnit("bytes").register(meterRegistry);
+        logger.info("In-memory OTP store with a TTL of {} ticks of {} ms ({} wheel slots)", ttlTicks, tickMillis, slots);
+    }
+
+    /**
+     * Inside a transaction the OTP is stored once it commits, so a rolled back create
+     * leaves no OTP behind; the format is checked right away.
+     */
+    @Override
+    public void save(long customerId, String otp) {
+        long digits = digits(otp);
+        afterCommit(() -> store(customerId, digits));
+    }
+
+    @Override
+    public void saveAll(Map<Long, String> otps) {
+        long[] customerIds = new long[otps.size()];
+        long[] digits = new long[otps.size()];
+        int index = 0;
+        for (Map.Entry<Long, String> entry : otps.entrySet()) {
+            customerIds[index] = entry.getKey();
+            digits[index++] = digits(entry.getValue());
+        }
+        afterCommit(() -> {
+            for (int i = 0; i < customerIds.length; i++) {
+                store(customerIds[i], digits[i]);
+            }
+        });
+    }
+
+    @Override
+    public void verify(long customerId, String otp) {
+        long candidate = encode(otp);
+        long now = currentTick();
+        LongLongHashMap stripe = stripe(customerId);
+        synchronized (stripe) {
+            long value = stripe.get(customerId);
+            if (value == MISSING) {
+                throw new InvalidOtpException("No OTP pending for this customer, it was already used or has expired");
+            }
+            if (now >= value >>> EXPIRY_SHIFT) {
+                stripe.remove(customerId);
+                throw new InvalidOtpException("OTP has expired");
+            }
+            // one comparison of all packed digits, no early exit at the first differing digit
+            if (candidate != MISSING && ((value & DIGIT_MASK) ^ candidate) == 0) {
+                stripe.remove(customerId);
+                return;
+            }
+            long attempts = ((value >>> DIGIT_BITS) & ATTEMPT_MASK) + 1;
+            if (attempts >= maxAttempts) {
+                stripe.remove(customerId);
+                throw new InvalidOtpException("Too many wrong attempts, the OTP is no longer valid");
+            }
+            stripe.put(customerId, (value & ~(ATTEMPT_MASK << DIGIT_BITS)) | (attempts << DIGIT_BITS));
+        }
+        throw new InvalidOtpException("Invalid OTP");
+    }
+
+    private long digits(String otp) {
+        long digits = encode(otp);
+        if (digits == MISSING) {
+            throw new IllegalArgumentException("OTP must be " + CustomerConstant.OTP_LENGTH + " digits");
+        }
+        return digits;
+    }
+
+    private void store(long customerId, long digits) {
+        long expiry = currentTick() + ttlTicks;
+        LongLongHashMap stripe = stripe(customerId);
+        synchronized (stripe) {
+            stripe.put(customerId, (expiry << EXPIRY_SHIFT) | digits);
+        }
+        schedule(customerId, expiry);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Drops the OTPs of every tick that passed since the last sweep (at most one full turn of the wheel).
+     */
+    @Scheduled(fixedDelayString = "${customer.otp.memory.tick-millis:1000}")
+    public synchronized void sweep() {
+        long now = currentTick();
+        long from = Math.max(sweptTick + 1, now - wheelMask);
+        int expired = 0;
+        for (long tick = from; tick <= now; tick++) {
+            expired += sweepSlot((int) (tick & wheelMask), now);
+        }
+        sweptTick = now;
+        if (expired > 0) {
+            logger.debug("Expired {} OTPs", expired);
+        }
+    }
+
+    /**
+     * @return number of stored OTPs
+     */
+    public int size() {
+        int size = 0;
+        for (LongLongHashMap stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return bytes used by the stripes and the wheel slots
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (LongLongHashMap stripe : stripes) {
+            synchronized (stripe) {
+                bytes += stripe.memoryBytes();
+            }
+        }
+        for (int slot = 0; slot <= wheelMask; slot++) {
+            synchronized (wheelLocks[slot]) {
+                bytes += wheel[slot] == null ? 0 : (long) wheel[slot].length * Long.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    private int sweepSlot(int slot, long now) {
+        long[] customerIds;
+        int size;
+        synchronized (wheelLocks[slot]) {
+            customerIds = wheel[slot];
+            size = wheelSizes[slot];
+            wheel[slot] = null;
+            wheelSizes[slot] = 0;
+        }
+        int expired = 0;
+        for (int i = 0; i < size; i++) {
+            long customerId = customerIds[i];
+            LongLongHashMap stripe = stripe(customerId);
+            long expiry;
+            synchronized (stripe) {
+                long value = stripe.get(customerId);
+                if (value == MISSING) {
+                    continue;
+                }
+                expiry = value >>> EXPIRY_SHIFT;
+                if (expiry <= now) {
+                    stripe.remove(customerId);
+                    expired++;
+                    continue;
+                }
+            }
+            // a newer OTP that falls on this slot one turn later; newer OTPs of other slots are already there
+            if ((expiry & wheelMask) == slot) {
+                schedule(customerId, expiry);
+            }
+        }
+        return expired;
+    }
+
+    private void schedule(long customerId, long expiry) {
+        int slot = (int) (expiry & wheelMask);
+        synchronized (wheelLocks[slot]) {
+            long[] customerIds = wheel[slot];
+            int size = wheelSizes[slot];
+            if (customerIds == null) {
+                customerIds = wheel[slot] = new long[INITIAL_SLOT_CAPACITY];
+            } else if (size == customerIds.length) {
+                customerIds = wheel[slot] = Arrays.copyOf(customerIds, size * 2);
+            }
+            customerIds[size] = customerId;
+            wheelSizes[slot] = size + 1;
+        }
+    }
+
+    private LongLongHashMap stripe(long customerId) {
+        long h = customerId * 0x9e3779b97f4a7c15L;
+        return stripes[(int) (h >>> 58)];
+    }
+
+    private long currentTick() {
+        return (nanoClock.getAsLong() - startNanos) / tickNanos;
+    }
+
+    /**
+     * @return the OTP digits as a number, or MISSING unless the value has exactly OTP_LENGTH digits
+     */
+    private static long encode(String otp) {
+        if (otp == null || otp.length() != CustomerConstant.OTP_LENGTH) {
+            return MISSING;
+        }
+        long value = 0;
+        for (int i = 0; i < otp.length(); i++) {
+            int digit = otp.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return MISSING;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
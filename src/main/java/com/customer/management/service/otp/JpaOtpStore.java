@@ -0,0 +1,109 @@
+package com.customer.management.service.otp;
+
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.entity.OtpModel;
+import com.customer.management.service.exceptions.InvalidOtpException;
+import com.customer.management.service.repository.CustomerBatchRepository;
+import com.customer.management.service.repository.CustomerOTPRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link OtpStore} backed by the customer_otp table, enabled with customer.otp.store=jpa.
+ * - OTPs are inserted with one JDBC batch per call through {@link CustomerBatchRepository}.
+ * - Verification locks the OTP row, so concurrent guesses for one customer are counted one after
+ *   the other; a wrong guess increments the attempts column in the same transaction.
+ * - Expired OTPs are rejected on verification and deleted every customer.otp.jpa.cleanup-interval-millis.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.otp.store", havingValue = "jpa")
+public class JpaOtpStore implements OtpStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaOtpStore.class);
+
+    private final CustomerOTPRepository otpRepository;
+    private final CustomerBatchRepository batchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${customer.otp.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${customer.otp.max-attempts:5}")
+    private int maxAttempts;
+
+    public JpaOtpStore(CustomerOTPRepository otpRepository,
+                       CustomerBatchRepository batchRepository,
+                       TransactionTemplate transactionTemplate) {
+        this.otpRepository = otpRepository;
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void save(long customerId, String otp) {
+        batchRepository.insertOtps(List.of(toOtpModel(customerId, otp)));
+    }
+
+    @Override
+    public void saveAll(Map<Long, String> otps) {
+        List<OtpModel> models = new ArrayList<>(otps.size());
+        otps.forEach((customerId, otp) -> models.add(toOtpModel(customerId, otp)));
+        batchRepository.insertOtps(models);
+    }
+
+    /**
+     * Runs in the caller's transaction; an {@link InvalidOtpException} does not roll it back,
+     * so the counted attempt is kept.
+     */
+    @Override
+    @Transactional(noRollbackFor = InvalidOtpException.class)
+    public void verify(long customerId, String otp) {
+        OtpModel stored = otpRepository.findByCustomerId(customerId)
+                .orElseThrow(() -> new InvalidOtpException("No OTP pending for this customer, it was already used or has expired"));
+        if (stored.getCreatedDate().isBefore(LocalDateTime.now().minusSeconds(ttlSeconds))) {
+            otpRepository.deleteAllByCustomerId(customerId);
+            throw new InvalidOtpException("OTP has expired");
+        }
+        if (otp != null && MessageDigest.isEqual(stored.getOtpValue().getBytes(StandardCharsets.US_ASCII),
+                otp.getBytes(StandardCharsets.US_ASCII))) {
+            otpRepository.deleteAllByCustomerId(customerId);
+            return;
+        }
+        if (stored.getAttempts() + 1 >= maxAttempts) {
+            otpRepository.deleteAllByCustomerId(customerId);
+            throw new InvalidOtpException("Too many wrong attempts, the OTP is no longer valid");
+        }
+        otpRepository.incrementAttempts(stored.getOtpId());
+        throw new InvalidOtpException("Invalid OTP");
+    }
+
+    @Scheduled(fixedDelayString = "${customer.otp.jpa.cleanup-interval-millis:300000}",
+            initialDelayString = "${customer.otp.jpa.cleanup-interval-millis:300000}")
+    void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                otpRepository.deleteAllByCreatedDateBefore(LocalDateTime.now().minusSeconds(ttlSeconds)));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} expired OTPs", deleted);
+        }
+    }
+
+    private static OtpModel toOtpModel(long customerId, String otp) {
+        return OtpModel.builder()
+                .otpValue(otp)
+                .customer(CustomerModel.builder().customerId(customerId).build())
+                .build();
+    }
+}
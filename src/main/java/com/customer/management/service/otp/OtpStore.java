@@ -0,0 +1,45 @@
+package com.customer.management.service.otp;
+
+import com.customer.management.service.exceptions.InvalidOtpException;
+
+import java.util.Map;
+
+/**
+ * OtpStore keeps the one-time passwords issued to new customers until they are used or expire.
+ *
+ * Why an interface:
+ * - The default {@link InMemoryOtpStore} keeps OTPs in the JVM, so creating a customer writes no OTP row
+ *   and outstanding OTPs never pile up in the database.
+ * - {@link JpaOtpStore} keeps them in the customer_otp table for deployments where an OTP must survive
+ *   a restart or be verifiable on another instance.
+ * Selected with customer.otp.store=memory|jpa. Every OTP expires after customer.otp.ttl-seconds and is
+ * invalidated after customer.otp.max-attempts wrong guesses; a verified OTP cannot be used again.
+ */
+public interface OtpStore {
+
+    /**
+     * Stores the OTP of a customer, replacing any previous one. Called in the transaction that
+     * creates the customer; the OTP must only become verifiable if that transaction commits.
+     *
+     * @param customerId id of the customer
+     * @param otp        OTP value as handed to the customer
+     */
+    void save(long customerId, String otp);
+
+    /**
+     * Stores the OTPs of many customers at once.
+     *
+     * @param otps OTP values by customerId
+     */
+    void saveAll(Map<Long, String> otps);
+
+    /**
+     * Verifies and consumes the OTP of a customer. The comparison takes the same time
+     * whichever digit differs; every wrong guess counts as an attempt.
+     *
+     * @param customerId id of the customer
+     * @param otp        OTP entered by the customer
+     * @throws InvalidOtpException if the OTP is wrong, expired, already used or has no attempts left
+     */
+    void verify(long customerId, String otp);
+}
@@ -0,0 +1,77 @@
+package com.customer.management.service.password;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Passwords stored before hashes carried an algorithm id:
+ * - 64 hex characters: unsalted SHA-256 written by the old PasswordUtil.autoGenerateHashPassword.
+ * - 44 Base64 characters ending in '=': unsalted SHA-256 written by the old PasswordUtil.encodePassword.
+ * - Anything else: the raw password, as stored by the old updatePassword endpoints.
+ * They still verify, and always need a rehash.
+ */
+final class LegacyPasswords {
+
+    static final String SHA256_HEX = "sha256-hex";
+    static final String SHA256_BASE64 = "sha256-b64";
+
+    private LegacyPasswords() {
+    }
+
+    static boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        if (isSha256Hex(encodedPassword)) {
+            return PasswordFormat.equalsHex(sha256(rawPassword), encodedPassword);
+        }
+        if (isSha256Base64(encodedPassword)) {
+            return PasswordFormat.equalsPaddedBase64(sha256(rawPassword), encodedPassword);
+        }
+        return PasswordFormat.equalsChars(rawPassword, encodedPassword);
+    }
+
+    /**
+     * @return {@link #SHA256_HEX} or {@link #SHA256_BASE64} for a legacy digest, null for a raw password
+     */
+    static String wrapping(String legacyValue) {
+        if (isSha256Hex(legacyValue)) {
+            return SHA256_HEX;
+        }
+        return isSha256Base64(legacyValue) ? SHA256_BASE64 : null;
+    }
+
+    /**
+     * @return the legacy digest of the password as it was stored, lowercase hex or padded Base64;
+     * null for an unknown wrapping
+     */
+    static String digest(String rawPassword, String wrapping) {
+        byte[] digest = sha256(rawPassword);
+        if (SHA256_HEX.equals(wrapping)) {
+            return HexFormat.of().formatHex(digest);
+        }
+        return SHA256_BASE64.equals(wrapping) ? Base64.getEncoder().encodeToString(digest) : null;
+    }
+
+    static boolean isSha256Hex(String value) {
+        if (value.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isSha256Base64(String value) {
+        return value.length() == 44 && value.charAt(43) == '=' && value.charAt(42) != '='
+                && PasswordFormat.decode(value).length == 32;
+    }
+
+    private static byte[] sha256(String rawPassword) {
+        return PasswordFormat.sha256().digest(rawPassword.getBytes(StandardCharsets.UTF_8));
+    }
+}
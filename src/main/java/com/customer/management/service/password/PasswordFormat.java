@@ -0,0 +1,155 @@
+package com.customer.management.service.password;
+
+import com.customer.management.service.util.RandomPool;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Encoding helpers shared by the hashers.
+ * - Hashes are assembled in a per-thread scratch buffer and turned into a String with a single copy;
+ *   Base64 and hex are written straight into that buffer without intermediate strings.
+ * - SHA-256 {@link MessageDigest} instances are pooled per thread instead of looked up on every call.
+ * - Comparisons look at every byte, whatever the first difference.
+ */
+final class PasswordFormat {
+
+    static final int SALT_BYTES = 16;
+
+    private static final byte[] BASE64 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    });
+
+    private PasswordFormat() {
+    }
+
+    /**
+     * @return this thread's SHA-256 digest, reset
+     */
+    static MessageDigest sha256() {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return digest;
+    }
+
+    static byte[] newSalt() {
+        byte[] salt = new byte[SALT_BYTES];
+        RandomPool.shared().nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * @return prefix followed by Base64(salt), '$' and Base64(hash)
+     */
+    static String encode(String prefix, byte[] salt, byte[] hash) {
+        byte[] scratch = SCRATCH.get();
+        int length = prefix.length();
+        for (int i = 0; i < length; i++) {
+            scratch[i] = (byte) prefix.charAt(i);
+        }
+        length = base64(salt, scratch, length, false);
+        scratch[length++] = '$';
+        length = base64(hash, scratch, length, false);
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Splits $id$parameters$salt$hash into its four fields.
+     *
+     * @return the fields, or null if the value does not have this form
+     */
+    static String[] fields(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty() || encodedPassword.charAt(0) != '$') {
+            return null;
+        }
+        String[] fields = encodedPassword.substring(1).split("\\$", -1);
+        return fields.length == 4 ? fields : null;
+    }
+
+    /**
+     * @return the decoded bytes, or an empty array if the value is not Base64, which matches no hash
+     */
+    static byte[] decode(String base64) {
+        try {
+            return Base64.getDecoder().decode(base64);
+        } catch (IllegalArgumentException exception) {
+            return new byte[0];
+        }
+    }
+
+    static boolean equalsHex(byte[] digest, String hex) {
+        if (hex.length() != digest.length * 2) {
+            return false;
+        }
+        byte[] scratch = SCRATCH.get();
+        for (int i = 0; i < digest.length; i++) {
+            scratch[2 * i] = HEX[(digest[i] >> 4) & 0xf];
+            scratch[2 * i + 1] = HEX[digest[i] & 0xf];
+        }
+        return equalsAscii(scratch, hex.length(), hex, true);
+    }
+
+    static boolean equalsPaddedBase64(byte[] digest, String base64) {
+        byte[] scratch = SCRATCH.get();
+        int length = base64(digest, scratch, 0, true);
+        return length == base64.length() && equalsAscii(scratch, length, base64, false);
+    }
+
+    static boolean equalsChars(String a, String b) {
+        return MessageDigest.isEqual(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean equalsAscii(byte[] bytes, int length, String value, boolean ignoreCase) {
+        int difference = 0;
+        for (int i = 0; i < length; i++) {
+            int c = value.charAt(i);
+            if (ignoreCase && c >= 'A' && c <= 'F') {
+                c += 'a' - 'A';
+            }
+            difference |= bytes[i] ^ c;
+        }
+        return difference == 0;
+    }
+
+    /**
+     * Writes the standard Base64 encoding of the bytes at the offset.
+     *
+     * @return offset after the last written character
+     */
+    private static int base64(byte[] bytes, byte[] target, int offset, boolean pad) {
+        int i = 0;
+        for (; i + 2 < bytes.length; i += 3) {
+            int bits = (bytes[i] & 0xff) << 16 | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff);
+            target[offset++] = BASE64[bits >>> 18];
+            target[offset++] = BASE64[(bits >>> 12) & 0x3f];
+            target[offset++] = BASE64[(bits >>> 6) & 0x3f];
+            target[offset++] = BASE64[bits & 0x3f];
+        }
+        int remaining = bytes.length - i;
+        if (remaining > 0) {
+            int bits = (bytes[i] & 0xff) << 16 | (remaining == 2 ? (bytes[i + 1] & 0xff) << 8 : 0);
+            target[offset++] = BASE64[bits >>> 18];
+            target[offset++] = BASE64[(bits >>> 12) & 0x3f];
+            if (remaining == 2) {
+                target[offset++] = BASE64[(bits >>> 6) & 0x3f];
+            }
+            if (pad) {
+                target[offset++] = '=';
+                if (remaining == 1) {
+                    target[offset++] = '=';
+                }
+            }
+        }
+        return offset;
+    }
+}
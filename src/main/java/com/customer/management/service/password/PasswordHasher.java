@@ -0,0 +1,45 @@
+package com.customer.management.service.password;
+
+/**
+ * PasswordHasher turns a raw password into a self-describing hash string and checks raw passwords against it.
+ *
+ * Every hash has the form $id$parameters$salt$hash (Base64 without padding), so hashes written with
+ * different algorithms or cost factors can live side by side in customers.password:
+ * - {@link Pbkdf2PasswordHasher}: $pbkdf2-sha256$i=iterations$salt$hash, a slow KDF for chosen passwords.
+ * - {@link Sha256PasswordHasher}: $sha256$v=1$salt$hash, one salted SHA-256, only for high-entropy generated passwords.
+ * {@link PasswordHashingService} picks the hasher for new hashes from configuration and the hasher
+ * for verification from the id of the stored hash.
+ */
+public interface PasswordHasher {
+
+    /**
+     * @return algorithm id, the first field of every hash written by this hasher
+     */
+    String id();
+
+    /**
+     * Hashes the password with a new random salt.
+     *
+     * @param rawPassword password as entered
+     * @return the encoded hash
+     */
+    String hash(String rawPassword);
+
+    /**
+     * Checks a raw password against a hash written by this hasher, in time independent of
+     * where the hashes differ.
+     *
+     * @param rawPassword     password as entered
+     * @param encodedPassword stored hash
+     * @return true if the password matches
+     */
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * @param encodedPassword stored hash written by this hasher
+     * @return true if the hash was written with a lower cost than currently configured
+     */
+    default boolean needsRehash(String encodedPassword) {
+        return false;
+    }
+}
@@ -0,0 +1,199 @@
+package com.customer.management.service.password;
+
+import com.customer.management.service.exceptions.PasswordHashingUnavailableException;
+import com.customer.management.service.util.PasswordUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PasswordHashingService hashes and verifies customer passwords with the configured {@link PasswordHasher}s.
+ * - New passwords are hashed with customer.password.algorithm (default pbkdf2-sha256); generated
+ *   passwords with customer.password.generated-algorithm (default sha256).
+ * - Stored hashes are verified by the hasher named in the hash; legacy values without an id
+ *   (see {@link LegacyPasswords}) still verify, report {@link #needsRehash} and are converted by
+ *   {@link #rehashLegacy}.
+ * - Slow hashing runs on a bounded pool of customer.password.hashing.threads threads with a queue of
+ *   customer.password.hashing.queue-capacity, so a burst of password changes occupies at most that many
+ *   cores and the Tomcat threads of other requests keep running. A caller waits at most
+ *   customer.password.hashing.timeout-millis; a full queue or a timeout fails fast with
+ *   {@link PasswordHashingUnavailableException} (503) instead of piling up requests.
+ * Hashing time is published as customer.password.hash (tag algorithm), the pool as executor.* metrics
+ * with name=password-hashing.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final Map<String, PasswordHasher> hashers = new HashMap<>();
+    private final PasswordHasher hasher;
+    private final PasswordHasher generatedHasher;
+    private final Pbkdf2PasswordHasher wrappingHasher;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordHashingService(List<PasswordHasher> hashers,
+                                  @Value("${customer.password.algorithm:pbkdf2-sha256}") String algorithm,
+                                  @Value("${customer.password.generated-algorithm:sha256}") String generatedAlgorithm,
+                                  @Value("${customer.password.hashing.threads:0}") int threads,
+                                  @Value("${customer.password.hashing.queue-capacity:256}") int queueCapacity,
+                                  @Value("${customer.password.hashing.timeout-millis:5000}") long timeoutMillis,
+                                  MeterRegistry meterRegistry) {
+        hashers.forEach(passwordHasher -> this.hashers.put(passwordHasher.id(), passwordHasher));
+        this.hasher = hasher(algorithm, "customer.password.algorithm");
+        this.generatedHasher = hasher(generatedAlgorithm, "customer.password.generated-algorithm");
+        this.wrappingHasher = (Pbkdf2PasswordHasher) hasher(Pbkdf2PasswordHasher.ID, "pbkdf2 hasher");
+        this.timeoutMillis = timeoutMillis;
+        this.meterRegistry = meterRegistry;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password-hashing");
+        logger.info("Password hashing with {} ({} threads, queue of {})", hasher.id(), poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hashes a password chosen by the customer on the hashing pool.
+     *
+     * @param rawPassword password as entered
+     * @return the encoded hash
+     * @throws PasswordHashingUnavailableException if the pool is saturated
+     */
+    public String hash(String rawPassword) {
+        return onPool(() -> timed(hasher, () -> hasher.hash(rawPassword)));
+    }
+
+    /**
+     * Generates a random password for a new customer and returns its hash; the password itself is discarded.
+     * Runs on the calling thread, the generated-password hasher is cheap.
+     *
+     * @return the encoded hash
+     */
+    public String hashGeneratedPassword() {
+        String password = PasswordUtil.generatePassword();
+        return timed(generatedHasher, () -> generatedHasher.hash(password));
+    }
+
+    /**
+     * Checks a password against a stored hash on the hashing pool.
+     *
+     * @param rawPassword     password as entered
+     * @param encodedPassword stored hash, in any supported or legacy format
+     * @return true if the password matches
+     * @throws PasswordHashingUnavailableException if the pool is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        PasswordHasher storedHasher = hasherOf(encodedPassword);
+        if (storedHasher == null) {
+            return LegacyPasswords.matches(rawPassword, encodedPassword);
+        }
+        return onPool(() -> storedHasher.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * @param encodedPassword stored hash
+     * @return true if the hash is in a legacy format, of an unknown algorithm, or weaker than configured
+     */
+    public boolean needsRehash(String encodedPassword) {
+        PasswordHasher storedHasher = hasherOf(encodedPassword);
+        return storedHasher == null || storedHasher.needsRehash(encodedPassword);
+    }
+
+    /**
+     * Converts a legacy value into the current format, on the calling thread (the rehash migration
+     * runs its own pool). A raw password is hashed with customer.password.algorithm; an unsalted
+     * SHA-256 digest, whose password is unknown, is wrapped in PBKDF2.
+     *
+     * @param storedPassword value of customers.password
+     * @return the new hash, or null if the value is already in the current format
+     */
+    public String rehashLegacy(String storedPassword) {
+        if (storedPassword == null || PasswordFormat.fields(storedPassword) != null) {
+            return null;
+        }
+        String wrapping = LegacyPasswords.wrapping(storedPassword);
+        if (wrapping == null) {
+            return timed(hasher, () -> hasher.hash(storedPassword));
+        }
+        String digest = LegacyPasswords.SHA256_HEX.equals(wrapping) ? storedPassword.toLowerCase(Locale.ROOT) : storedPassword;
+        return timed(wrappingHasher, () -> wrappingHasher.hashWrapped(digest, wrapping));
+    }
+
+    private PasswordHasher hasherOf(String encodedPassword) {
+        String[] fields = PasswordFormat.fields(encodedPassword);
+        return fields == null ? null : hashers.get(fields[0]);
+    }
+
+    private PasswordHasher hasher(String id, String property) {
+        PasswordHasher configured = hashers.get(id);
+        if (configured == null) {
+            throw new IllegalArgumentException(property + " must be one of " + hashers.keySet() + ", not " + id);
+        }
+        return configured;
+    }
+
+    private <T> T timed(PasswordHasher timedHasher, Supplier<T> work) {
+        return Timer.builder("customer.password.hash")
+                .tag("algorithm", timedHasher.id())
+                .register(meterRegistry)
+                .record(work);
+    }
+
+    private <T> T onPool(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(work);
+        } catch (RejectedExecutionException exception) {
+            throw new PasswordHashingUnavailableException("Too many password operations in progress, retry later");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            future.cancel(true);
+            throw new PasswordHashingUnavailableException("Password hashing timed out, retry later");
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while hashing the password");
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+}
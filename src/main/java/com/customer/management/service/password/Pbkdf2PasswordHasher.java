@@ -0,0 +1,143 @@
+package com.customer.management.service.password;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * PBKDF2 with HMAC-SHA256 (RFC 8018), one 32 byte block: $pbkdf2-sha256$i=iterations$salt$hash.
+ * The cost is customer.password.pbkdf2.iterations (default 210000, about 100 ms of one core);
+ * hashes with fewer iterations still verify and report {@link #needsRehash}.
+ * Legacy unsalted SHA-256 values, whose passwords are unknown, are upgraded by {@link #hashWrapped}:
+ * $pbkdf2-sha256$i=iterations,w=sha256-hex$salt$hash is PBKDF2 over the legacy hex (or w=sha256-b64, Base64)
+ * digest, and verification computes that digest from the raw password first.
+ * The iterations run on a {@link Mac} pooled per thread and write into one reused block, so a hash
+ * allocates nothing per iteration, unlike SecretKeyFactory which is looked up and set up on every call.
+ */
+@Component
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    public static final String ID = "pbkdf2-sha256";
+    private static final String HMAC = "HmacSHA256";
+    private static final int HASH_BYTES = 32;
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(HMAC + " is not available", exception);
+        }
+    });
+
+    private final int iterations;
+    private final String prefix;
+
+    public Pbkdf2PasswordHasher(@Value("${customer.password.pbkdf2.iterations:210000}") int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("customer.password.pbkdf2.iterations must be positive");
+        }
+        this.iterations = iterations;
+        this.prefix = "$" + ID + "$i=" + iterations + "$";
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = PasswordFormat.newSalt();
+        return PasswordFormat.encode(prefix, salt, derive(rawPassword, salt, iterations));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        String[] fields = PasswordFormat.fields(encodedPassword);
+        int storedIterations = iterations(fields);
+        if (rawPassword == null || storedIterations < 1) {
+            return false;
+        }
+        String wrapping = wrapping(fields);
+        String input = wrapping == null ? rawPassword : LegacyPasswords.digest(rawPassword, wrapping);
+        if (input == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(derive(input, PasswordFormat.decode(fields[2]), storedIterations),
+                PasswordFormat.decode(fields[3]));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return iterations(PasswordFormat.fields(encodedPassword)) < iterations;
+    }
+
+    /**
+     * Hashes a legacy digest whose password is unknown.
+     *
+     * @param legacyDigest stored legacy value, as produced by {@link LegacyPasswords#digest}
+     * @param wrapping     {@link LegacyPasswords#SHA256_HEX} or {@link LegacyPasswords#SHA256_BASE64}
+     * @return the encoded hash
+     */
+    public String hashWrapped(String legacyDigest, String wrapping) {
+        byte[] salt = PasswordFormat.newSalt();
+        String wrappedPrefix = "$" + ID + "$i=" + iterations + ",w=" + wrapping + "$";
+        return PasswordFormat.encode(wrappedPrefix, salt, derive(legacyDigest, salt, iterations));
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA256 for a 32 byte key: U1 = HMAC(P, S || INT(1)), Ui = HMAC(P, Ui-1), T = U1 ^ ... ^ Uc.
+     */
+    static byte[] derive(String rawPassword, byte[] salt, int iterations) {
+        byte[] password = rawPassword.getBytes(StandardCharsets.UTF_8);
+        Mac mac = MAC.get();
+        try {
+            // HMAC pads the key with zeros, so an empty key equals one zero byte, which SecretKeySpec accepts
+            mac.init(new SecretKeySpec(password.length == 0 ? new byte[1] : password, HMAC));
+            byte[] block = new byte[HASH_BYTES];
+            byte[] result = new byte[HASH_BYTES];
+            mac.update(salt);
+            mac.update(new byte[]{0, 0, 0, 1});
+            mac.doFinal(block, 0);
+            System.arraycopy(block, 0, result, 0, HASH_BYTES);
+            for (int i = 1; i < iterations; i++) {
+                mac.update(block);
+                mac.doFinal(block, 0);
+                for (int j = 0; j < HASH_BYTES; j++) {
+                    result[j] ^= block[j];
+                }
+            }
+            return result;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("PBKDF2 failed", exception);
+        }
+    }
+
+    /**
+     * @return iteration count of a pbkdf2-sha256 hash, or 0 for any other value
+     */
+    private static int iterations(String[] fields) {
+        if (fields == null || !ID.equals(fields[0]) || !fields[1].startsWith("i=")) {
+            return 0;
+        }
+        int end = fields[1].indexOf(',');
+        try {
+            return Integer.parseInt(fields[1], 2, end < 0 ? fields[1].length() : end, 10);
+        } catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
+
+    /**
+     * @return the w= parameter of a pbkdf2-sha256 hash, or null if it hashes the password itself
+     */
+    private static String wrapping(String[] fields) {
+        int start = fields[1].indexOf(",w=");
+        return start < 0 ? null : fields[1].substring(start + 3);
+    }
+}
@@ -0,0 +1,15 @@
+package com.customer.management.service.repository;
+
+import com.customer.management.service.entity.ArchivedAddressModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repository for ArchivedAddressModel entity.
+ * Loads the addresses of an archived customer for lookups that fall back to the archive.
+ */
+public interface ArchivedAddressRepository extends JpaRepository<ArchivedAddressModel, Long> {
+
+    List<ArchivedAddressModel> findAllByCustomerId(Long customerId);
+}
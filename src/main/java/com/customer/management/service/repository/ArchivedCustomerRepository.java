@@ -0,0 +1,94 @@
+package com.customer.management.service.repository;
+
+import com.customer.management.service.entity.ArchivedCustomerModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository for ArchivedCustomerModel entity.
+ * Find an archived customer by mobile number or email (the most recently archived one wins)
+ * Stream the keys of all archived customers for the lookup filter
+ * Move customers with their addresses and OTP between the hot tables and the archive tables
+ * with set-based native INSERT ... SELECT and DELETE statements, a chunk of customers at a time
+ */
+public interface ArchivedCustomerRepository extends JpaRepository<ArchivedCustomerModel, Long> {
+
+    Optional<ArchivedCustomerModel> findFirstByMobileNumberOrderByArchivedDateDesc(String mobileNumber);
+
+    Optional<ArchivedCustomerModel> findFirstByEmailAddressOrderByArchivedDateDesc(String emailAddress);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.mobileNumber AS mobileNumber, a.emailAddress AS emailAddress, a.fullName AS fullName " +
+            "FROM ArchivedCustomerModel a")
+    Stream<CustomerKeyView> streamAllKeys();
+
+    @Query("SELECT a.customerId FROM ArchivedCustomerModel a WHERE a.customerId IN :customerIds")
+    List<Long> findArchivedCustomerIdsIn(@Param("customerIds") Collection<Long> customerIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO customers_archive (customer_id, first_name, last_name, full_name, age, mobile_number, " +
+            "email_address, password, status, created_date, updated_date, version, archived_date) " +
+            "SELECT customer_id, first_name, last_name, full_name, age, mobile_number, email_address, password, " +
+            "status, created_date, updated_date, version, :archivedDate FROM customers " +
+            "WHERE customer_id IN (:customerIds) AND status = :status AND updated_date < :updatedBefore " +
+            "AND deleted_date IS NULL", nativeQuery = true)
+    int archiveCustomers(@Param("customerIds") Collection<Long> customerIds,
+                         @Param("status") String status,
+                         @Param("updatedBefore") LocalDateTime updatedBefore,
+                         @Param("archivedDate") LocalDateTime archivedDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO customer_address_archive (address_id, street, city, state, country, address_type, " +
+            "pincode, customer_id) SELECT address_id, street, city, state, country, address_type, pincode, customer_id " +
+            "FROM customer_address WHERE customer_id IN (:customerIds)", nativeQuery = true)
+    int archiveAddresses(@Param("customerIds") Collection<Long> customerIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO customer_otp_archive (otp_id, otp_value, created_date, customer_id) " +
+            "SELECT otp_id, otp_value, created_date, customer_id FROM customer_otp " +
+            "WHERE customer_id IN (:customerIds)", nativeQuery = true)
+    int archiveOtps(@Param("customerIds") Collection<Long> customerIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO customers (customer_id, first_name, last_name, full_name, age, mobile_number, " +
+            "email_address, password, status, created_date, updated_date, deleted_date, version) " +
+            "SELECT customer_id, first_name, last_name, full_name, age, mobile_number, email_address, password, " +
+            "status, created_date, :restoredDate, NULL, version + 1 FROM customers_archive " +
+            "WHERE customer_id = :customerId", nativeQuery = true)
+    int restoreCustomer(@Param("customerId") Long customerId, @Param("restoredDate") LocalDateTime restoredDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO customer_address (address_id, street, city, state, country, address_type, " +
+            "pincode, customer_id) SELECT address_id, street, city, state, country, address_type, pincode, customer_id " +
+            "FROM customer_address_archive WHERE customer_id = :customerId", nativeQuery = true)
+    int restoreAddresses(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query(value = "INSERT INTO customer_otp (otp_id, otp_value, created_date, attempts, customer_id) " +
+            "SELECT otp_id, otp_value, created_date, 0, customer_id FROM customer_otp_archive " +
+            "WHERE customer_id = :customerId", nativeQuery = true)
+    int restoreOtp(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query(value = "DELETE FROM customer_otp_archive WHERE customer_id = :customerId", nativeQuery = true)
+    int deleteArchivedOtp(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query(value = "DELETE FROM customer_address_archive WHERE customer_id = :customerId", nativeQuery = true)
+    int deleteArchivedAddresses(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query(value = "DELETE FROM customers_archive WHERE customer_id = :customerId", nativeQuery = true)
+    int deleteArchivedCustomer(@Param("customerId") Long customerId);
+}
@@ -6,13 +6,25 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository for CustomerAddress entity.
  * Provides basic CRUD operations using JPA.
+ * Also loads the addresses of many customers at once for bulk reads,
+ * and deletes them set-based when customers are purged.
  */
 public interface CustomerAddressRepository extends JpaRepository<AddressModel, Long> {
+    @Query("SELECT a FROM AddressModel a WHERE a.customer.customerId IN :customerIds")
+    List<AddressModel> findAllByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
     @Modifying
     @Query("DELETE FROM AddressModel a WHERE a.customer.customerId = :customerId")
     void deleteAllByCustomerId(@Param("customerId") Long customerId);
 
+    @Modifying
+    @Query("DELETE FROM AddressModel a WHERE a.customer.customerId IN :customerIds")
+    int deleteAllByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
 }
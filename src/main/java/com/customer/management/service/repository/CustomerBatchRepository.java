@@ -0,0 +1,203 @@
+package com.customer.management.service.repository;
+
+import com.customer.management.service.entity.AddressModel;
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.entity.OtpModel;
+import com.customer.management.service.generator.IdAllocator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CustomerBatchRepository writes whole batches of customers, addresses and OTPs
+ * with plain JDBC batches.
+ * Why not JPA here?
+ * - Bulk onboarding inserts thousands of rows per request; going through the
+ *   persistence context costs one entity state per row and a round trip per insert.
+ * - JDBC batches are sent as a single multi-row statement per table
+ *   (together with rewriteBatchedStatements=true on the MySQL driver).
+ * - Ids come from the {@link IdAllocator} before the insert, so no generated keys
+ *   have to be read back.
+ * Must be called inside an existing transaction so a chunk is written atomically.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerBatchRepository {
+
+    private static final String INSERT_CUSTOMER_SQL =
+            "INSERT INTO customers (customer_id, first_name, last_name, full_name, age, mobile_number, email_address, " +
+                    "password, status, created_date, updated_date, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_ADDRESS_SQL =
+            "INSERT INTO customer_address (address_id, street, city, state, country, address_type, pincode, customer_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OTP_SQL =
+            "INSERT INTO customer_otp (otp_id, otp_value, created_date, attempts, customer_id) VALUES (?, ?, ?, 0, ?)";
+
+    private static final String UPDATE_PASSWORD_SQL =
+            "UPDATE customers SET password = ? WHERE customer_id = ? AND password = ?";
+
+    private static final String SELECT_PASSWORDS_SQL =
+            "SELECT customer_id, password FROM customers WHERE customer_id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocator idAllocator;
+
+    /**
+     * Inserts all customers in one JDBC batch.
+     *
+     * @param customers customers to insert, ids and timestamps are filled in here
+     */
+    public void insertCustomers(List<CustomerModel> customers) {
+        if (customers.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (CustomerModel customer : customers) {
+            customer.setCustomerId(idAllocator.nextId("customers", "customer_id"));
+            customer.setCreatedDate(now);
+            customer.setUpdatedDate(now);
+        }
+        jdbcTemplate.batchUpdate(INSERT_CUSTOMER_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CustomerModel customer = customers.get(i);
+                ps.setLong(1, customer.getCustomerId());
+                ps.setString(2, customer.getFirstName());
+                ps.setString(3, customer.getLastName());
+                ps.setString(4, customer.getFullName());
+                if (customer.getAge() == null) {
+                    ps.setNull(5, Types.INTEGER);
+                } else {
+                    ps.setInt(5, customer.getAge());
+                }
+                ps.setString(6, customer.getMobileNumber());
+                ps.setString(7, customer.getEmailAddress());
+                ps.setString(8, customer.getPassword());
+                ps.setString(9, customer.getStatus().name());
+                ps.setTimestamp(10, Timestamp.valueOf(now));
+                ps.setTimestamp(11, Timestamp.valueOf(now));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return customers.size();
+            }
+        });
+    }
+
+    /**
+     * Inserts all addresses in one JDBC batch.
+     * The owning customers must already have their ids assigned.
+     *
+     * @param addresses addresses linked to already inserted customers
+     */
+    public void insertAddresses(List<AddressModel> addresses) {
+        if (addresses.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(addresses.size());
+        for (AddressModel address : addresses) {
+            address.setAddressId(idAllocator.nextId("customer_address", "address_id"));
+            args.add(new Object[]{
+                    address.getAddressId(),
+                    address.getStreet(),
+                    address.getCity(),
+                    address.getState(),
+                    address.getCountry(),
+                    address.getAddressType(),
+                    address.getPincode(),
+                    address.getCustomer().getCustomerId()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ADDRESS_SQL, args);
+    }
+
+    /**
+     * Inserts all OTPs in one JDBC batch.
+     * The owning customers must already have their ids assigned.
+     *
+     * @param otps OTPs linked to already inserted customers
+     */
+    public void insertOtps(List<OtpModel> otps) {
+        if (otps.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> args = new ArrayList<>(otps.size());
+        for (OtpModel otp : otps) {
+            otp.setOtpId(idAllocator.nextId("customer_otp", "otp_id"));
+            otp.setCreatedDate(now);
+            args.add(new Object[]{
+                    otp.getOtpId(),
+                    otp.getOtpValue(),
+                    Timestamp.valueOf(now),
+                    otp.getCustomer().getCustomerId()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_OTP_SQL, args);
+    }
+
+    /**
+     * Replaces stored passwords in one JDBC batch of single-column updates. A row is only changed
+     * while it still holds the old value, so a password set meanwhile is never overwritten; version
+     * and updated_date stay as they are, the customer did not change.
+     *
+     * @param customerIds  customers to update
+     * @param oldPasswords values read before hashing, same order
+     * @param newPasswords new values, same order
+     * @return number of updated rows
+     */
+    public int updatePasswords(List<Long> customerIds, List<String> oldPasswords, List<String> newPasswords) {
+        if (customerIds.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> args = new ArrayList<>(customerIds.size());
+        for (int i = 0; i < customerIds.size(); i++) {
+            args.add(new Object[]{newPasswords.get(i), customerIds.get(i), oldPasswords.get(i)});
+        }
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(UPDATE_PASSWORD_SQL, args)) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+                // rewritten MySQL batches do not report which rows matched
+                return countPasswords(customerIds, newPasswords);
+            }
+            updated += count;
+        }
+        return updated;
+    }
+
+    /**
+     * Counts the customers that now hold the given password. Read in the updating transaction, so
+     * it sees its own changes; new hashes are salted, so a match is a row this batch changed.
+     */
+    private int countPasswords(List<Long> customerIds, List<String> passwords) {
+        Map<Long, String> expected = new HashMap<>(customerIds.size() * 2);
+        for (int i = 0; i < customerIds.size(); i++) {
+            expected.put(customerIds.get(i), passwords.get(i));
+        }
+        String sql = String.format(SELECT_PASSWORDS_SQL, String.join(", ", Collections.nCopies(customerIds.size(), "?")));
+        int updated = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(sql, customerIds.toArray())) {
+            Long customerId = ((Number) row.get("customer_id")).longValue();
+            if (expected.get(customerId).equals(row.get("password"))) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,10 @@
+package com.customer.management.service.repository;
+
+/**
+ * Projection of (customerId, version, mobileNumber, emailAddress), read under a row lock
+ * by updates by customerId so they know the values they overwrite without loading the customer.
+ */
+public interface CustomerContactView extends CustomerVersionView {
+    String getMobileNumber();
+    String getEmailAddress();
+}
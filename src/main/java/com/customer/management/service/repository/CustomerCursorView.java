@@ -0,0 +1,11 @@
+package com.customer.management.service.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the keyset pagination key of a customer: (createdDate, customerId).
+ */
+public interface CustomerCursorView {
+    Long getCustomerId();
+    LocalDateTime getCreatedDate();
+}
@@ -0,0 +1,12 @@
+package com.customer.management.service.repository;
+
+/**
+ * Projection of the unique business keys of a customer.
+ * Used by set-based uniqueness checks so whole batches can be verified
+ * without loading full {@link com.customer.management.service.entity.CustomerModel} entities.
+ */
+public interface CustomerKeyView {
+    String getMobileNumber();
+    String getEmailAddress();
+    String getFullName();
+}
@@ -0,0 +1,9 @@
+package com.customer.management.service.repository;
+
+/**
+ * Projection of (customerId, mobileNumber), used to build the in-memory mobile number index.
+ */
+public interface CustomerMobileView {
+    Long getCustomerId();
+    String getMobileNumber();
+}
@@ -1,18 +1,43 @@
 package com.customer.management.service.repository;
 
 import com.customer.management.service.entity.OtpModel;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
 /**
  * Repository for OtpModel entity.
  * Handles storing and retrieving OTP records.
+ * OTPs of purged customers are deleted set-based.
+ * Backs {@link com.customer.management.service.otp.JpaOtpStore}: find and lock the OTP of a customer,
+ * count a wrong attempt in one statement and delete expired OTPs.
  */
 public interface CustomerOTPRepository extends JpaRepository<OtpModel, Long> {
     @Modifying
     @Query("DELETE FROM OtpModel o WHERE o.customer.customerId = :customerId")
     void deleteAllByCustomerId(@Param("customerId") Long customerId);
 
+    @Modifying
+    @Query("DELETE FROM OtpModel o WHERE o.customer.customerId IN :customerIds")
+    int deleteAllByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OtpModel o WHERE o.customer.customerId = :customerId")
+    Optional<OtpModel> findByCustomerId(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query("UPDATE OtpModel o SET o.attempts = o.attempts + 1 WHERE o.otpId = :otpId")
+    int incrementAttempts(@Param("otpId") Long otpId);
+
+    @Modifying
+    @Query("DELETE FROM OtpModel o WHERE o.createdDate < :createdBefore")
+    int deleteAllByCreatedDateBefore(@Param("createdBefore") LocalDateTime createdBefore);
+
 }
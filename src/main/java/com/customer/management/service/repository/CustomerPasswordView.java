@@ -0,0 +1,9 @@
+package com.customer.management.service.repository;
+
+/**
+ * Projection of the id and stored password of a customer, read chunk by chunk by the password rehash migration.
+ */
+public interface CustomerPasswordView {
+    Long getCustomerId();
+    String getPassword();
+}
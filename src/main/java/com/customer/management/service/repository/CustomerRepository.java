@@ -1,12 +1,25 @@
 package com.customer.management.service.repository;
 
 import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.enums.CustomerStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for CustomerModel entity.
@@ -16,30 +29,234 @@ import java.util.Optional;
  * Check if mobile number already exists
  * Check if email address already exists
  * Check if full name already exists
+ * Find already taken unique keys for a whole batch of candidates
+ * Page customer ids and fetch a page of customers with addresses and OTP in one query
+ * Seek the next keyset page after a (createdDate, customerId) cursor
+ * Stream customers forward-only and read-only for exports
+ * Read only (customerId, version) to answer conditional GETs
+ * Lock a customer's row and read its mobile number and email before updating one of them by customerId
+ * Update one column in a single statement that also sets updatedDate and increments the version,
+ * optionally only at an expected version (If-Match); the result is the number of updated rows
+ * Select customer ids for bulk status changes chunk by chunk (keyset on customerId) and update them set-based
+ * Soft delete a customer in one statement; find and purge soft-deleted customers in chunks
+ * Find long inactive customers for archiving and delete them once they are copied to the archive
+ * Entity queries never see soft-deleted customers (see CustomerModel); the native queries
+ * for existing keys and purging deliberately do.
  */
 public interface CustomerRepository extends JpaRepository<CustomerModel, Long> {
     Optional<CustomerModel> findByCustomerId(Long customerId);
+    @EntityGraph(attributePaths = {"address", "otp"})
+    Optional<CustomerModel> findWithAddressByCustomerId(Long customerId);
+    @EntityGraph(attributePaths = {"address", "otp"})
     Optional<CustomerModel> findCustomerByMobileNumber(String mobileNumber);
+    @EntityGraph(attributePaths = {"address", "otp"})
     Optional<CustomerModel> findCustomerByEmailAddress(String emailAddress);
+    @EntityGraph(attributePaths = {"address", "otp"})
     Optional<CustomerModel> findCustomerByFullName(String fullName);
     boolean existsByMobileNumber(String mobileNumber);
     boolean existsByEmailAddress(String emailAddress);
     boolean existsByFullName(String fullName);
 
-    @Modifying
-    @Query("UPDATE CustomerModel c SET c.mobileNumber = :mobileNumber WHERE c.customerId = :customerId")
-    int updateMobileNumberByCustomerId(@Param("customerId") Long customerId, @Param("mobileNumber") String mobileNumber);
+    /**
+     * One indexed lookup per unique column; an OR across the three columns
+     * falls back to a full table scan unless the planner merges the indexes.
+     */
+    @Query(value = "SELECT c.mobile_number AS mobileNumber, c.email_address AS emailAddress, c.full_name AS fullName " +
+            "FROM customers c WHERE c.mobile_number IN (:mobileNumbers) " +
+            "UNION SELECT c.mobile_number, c.email_address, c.full_name " +
+            "FROM customers c WHERE c.email_address IN (:emailAddresses) " +
+            "UNION SELECT c.mobile_number, c.email_address, c.full_name " +
+            "FROM customers c WHERE c.full_name IN (:fullNames)", nativeQuery = true)
+    List<CustomerKeyView> findExistingKeys(@Param("mobileNumbers") Collection<String> mobileNumbers,
+                                           @Param("emailAddresses") Collection<String> emailAddresses,
+                                           @Param("fullNames") Collection<String> fullNames);
 
-    @Modifying
-    @Query("UPDATE CustomerModel c SET c.emailAddress = :emailAddress WHERE c.customerId = :customerId")
-    int updateEmailAddressByCustomerId(@Param("customerId") Long customerId, @Param("emailAddress") String emailAddress);
+    @Query("SELECT c.customerId AS customerId, c.version AS version FROM CustomerModel c " +
+            "WHERE c.mobileNumber = :mobileNumber")
+    Optional<CustomerVersionView> findVersionByMobileNumber(@Param("mobileNumber") String mobileNumber);
 
-    @Modifying
-    @Query("UPDATE CustomerModel c SET c.password = :password WHERE c.customerId = :customerId")
-    int updatePasswordByCustomerId(@Param("customerId") Long customerId, @Param("password") String password);
+    @Query("SELECT c.customerId AS customerId, c.version AS version FROM CustomerModel c " +
+            "WHERE c.emailAddress = :emailAddress")
+    Optional<CustomerVersionView> findVersionByEmailAddress(@Param("emailAddress") String emailAddress);
+
+    @Query("SELECT c.customerId AS customerId, c.version AS version FROM CustomerModel c " +
+            "WHERE c.fullName = :fullName")
+    Optional<CustomerVersionView> findVersionByFullName(@Param("fullName") String fullName);
+
+    @Query("SELECT c.customerId FROM CustomerModel c")
+    Page<Long> findCustomerIds(Pageable pageable);
+
+    @Query("SELECT c.customerId AS customerId, c.createdDate AS createdDate FROM CustomerModel c " +
+            "ORDER BY c.createdDate DESC, c.customerId DESC")
+    List<CustomerCursorView> findFirstCursorPage(Pageable pageable);
+
+    @Query("SELECT c.customerId AS customerId, c.createdDate AS createdDate FROM CustomerModel c " +
+            "WHERE c.createdDate <= :createdDate " +
+            "AND (c.createdDate < :createdDate OR c.customerId < :customerId) " +
+            "ORDER BY c.createdDate DESC, c.customerId DESC")
+    List<CustomerCursorView> findCursorPageAfter(@Param("createdDate") LocalDateTime createdDate,
+                                                 @Param("customerId") Long customerId,
+                                                 Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CustomerModel c LEFT JOIN FETCH c.otp " +
+            "WHERE (:status IS NULL OR c.status = :status) " +
+            "AND (:updatedSince IS NULL OR c.updatedDate >= :updatedSince) " +
+            "ORDER BY c.customerId")
+    Stream<CustomerModel> streamForExport(@Param("status") CustomerStatus status,
+                                          @Param("updatedSince") LocalDateTime updatedSince);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.mobileNumber AS mobileNumber, c.emailAddress AS emailAddress, c.fullName AS fullName " +
+            "FROM CustomerModel c")
+    Stream<CustomerKeyView> streamAllKeys();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.customerId AS customerId, c.mobileNumber AS mobileNumber FROM CustomerModel c")
+    Stream<CustomerMobileView> streamAllMobileNumbers();
+
+    @Query("SELECT DISTINCT c FROM CustomerModel c LEFT JOIN FETCH c.address LEFT JOIN FETCH c.otp " +
+            "WHERE c.customerId IN :customerIds")
+    List<CustomerModel> findAllWithAddressesByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    @Query("SELECT c.customerId AS customerId, c.version AS version FROM CustomerModel c " +
+            "WHERE c.customerId = :customerId")
+    Optional<CustomerVersionView> findVersionByCustomerId(@Param("customerId") Long customerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.customerId AS customerId, c.version AS version, c.mobileNumber AS mobileNumber, " +
+            "c.emailAddress AS emailAddress FROM CustomerModel c WHERE c.customerId = :customerId")
+    Optional<CustomerContactView> lockContactByCustomerId(@Param("customerId") Long customerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CustomerModel c SET c.mobileNumber = :mobileNumber, c.updatedDate = :updatedDate, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.customerId = :customerId AND c.deletedDate IS NULL " +
+            "AND (:version IS NULL OR c.version = :version)")
+    int updateMobileNumberByCustomerId(@Param("customerId") Long customerId,
+                                       @Param("mobileNumber") String mobileNumber,
+                                       @Param("updatedDate") LocalDateTime updatedDate,
+                                       @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CustomerModel c SET c.emailAddress = :emailAddress, c.updatedDate = :updatedDate, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.customerId = :customerId AND c.deletedDate IS NULL " +
+            "AND (:version IS NULL OR c.version = :version)")
+    int updateEmailAddressByCustomerId(@Param("customerId") Long customerId,
+                                       @Param("emailAddress") String emailAddress,
+                                       @Param("updatedDate") LocalDateTime updatedDate,
+                                       @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CustomerModel c SET c.password = :password, c.updatedDate = :updatedDate, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.customerId = :customerId AND c.deletedDate IS NULL " +
+            "AND (:version IS NULL OR c.version = :version)")
+    int updatePasswordByCustomerId(@Param("customerId") Long customerId,
+                                   @Param("password") String password,
+                                   @Param("updatedDate") LocalDateTime updatedDate,
+                                   @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CustomerModel c SET c.password = :password, c.updatedDate = :updatedDate, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.mobileNumber = :mobileNumber AND c.deletedDate IS NULL " +
+            "AND (:customerId IS NULL OR c.customerId = :customerId) " +
+            "AND (:version IS NULL OR c.version = :version)")
+    int updatePasswordByMobileNumber(@Param("mobileNumber") String mobileNumber,
+                                     @Param("password") String password,
+                                     @Param("updatedDate") LocalDateTime updatedDate,
+                                     @Param("customerId") Long customerId,
+                                     @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CustomerModel c SET c.password = :password, c.updatedDate = :updatedDate, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.emailAddress = :emailAddress AND c.deletedDate IS NULL " +
+            "AND (:customerId IS NULL OR c.customerId = :customerId) " +
+            "AND (:version IS NULL OR c.version = :version)")
+    int updatePasswordByEmailAddress(@Param("emailAddress") String emailAddress,
+                                     @Param("password") String password,
+                                     @Param("updatedDate") LocalDateTime updatedDate,
+                                     @Param("customerId") Long customerId,
+                                     @Param("version") Long version);
+
+    @Query("SELECT c.customerId FROM CustomerModel c " +
+            "WHERE c.customerId > :afterCustomerId " +
+            "AND (:currentStatus IS NULL OR c.status = :currentStatus) " +
+            "AND (:createdFrom IS NULL OR c.createdDate >= :createdFrom) " +
+            "AND (:createdTo IS NULL OR c.createdDate < :createdTo) " +
+            "ORDER BY c.customerId")
+    List<Long> findCustomerIdsForStatusChange(@Param("afterCustomerId") Long afterCustomerId,
+                                              @Param("currentStatus") CustomerStatus currentStatus,
+                                              @Param("createdFrom") LocalDateTime createdFrom,
+                                              @Param("createdTo") LocalDateTime createdTo,
+                                              Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM CustomerModel c " +
+            "WHERE (:currentStatus IS NULL OR c.status = :currentStatus) " +
+            "AND (:createdFrom IS NULL OR c.createdDate >= :createdFrom) " +
+            "AND (:createdTo IS NULL OR c.createdDate < :createdTo)")
+    long countForStatusChange(@Param("currentStatus") CustomerStatus currentStatus,
+                              @Param("createdFrom") LocalDateTime createdFrom,
+                              @Param("createdTo") LocalDateTime createdTo);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CustomerModel c SET c.status = :status, c.updatedDate = :updatedDate, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.customerId IN :customerIds AND c.status <> :status AND c.deletedDate IS NULL " +
+            "AND (:currentStatus IS NULL OR c.status = :currentStatus)")
+    int updateStatusByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds,
+                                   @Param("status") CustomerStatus status,
+                                   @Param("currentStatus") CustomerStatus currentStatus,
+                                   @Param("updatedDate") LocalDateTime updatedDate);
 
     @Modifying
     @Query("DELETE FROM CustomerModel c WHERE c.customerId = :customerId")
     int deleteCustomerByCustomerId(@Param("customerId") Long customerId);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CustomerModel c SET c.status = :status, c.deletedDate = :deletedDate, " +
+            "c.updatedDate = :deletedDate, c.version = c.version + 1 " +
+            "WHERE c.customerId = :customerId AND c.deletedDate IS NULL")
+    int softDeleteByCustomerId(@Param("customerId") Long customerId,
+                               @Param("status") CustomerStatus status,
+                               @Param("deletedDate") LocalDateTime deletedDate);
+
+    @Query(value = "SELECT c.customer_id FROM customers c WHERE c.deleted_date < :deletedBefore " +
+            "ORDER BY c.deleted_date LIMIT :limit", nativeQuery = true)
+    List<Long> findSoftDeletedCustomerIds(@Param("deletedBefore") LocalDateTime deletedBefore, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM customers WHERE customer_id IN (:customerIds) AND deleted_date IS NOT NULL",
+            nativeQuery = true)
+    int purgeSoftDeletedByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    @Query(value = "SELECT c.customer_id FROM customers c WHERE c.status = :status AND c.updated_date < :updatedBefore " +
+            "AND c.deleted_date IS NULL ORDER BY c.updated_date LIMIT :limit", nativeQuery = true)
+    List<Long> findCustomerIdsToArchive(@Param("status") String status,
+                                        @Param("updatedBefore") LocalDateTime updatedBefore,
+                                        @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM customers WHERE customer_id IN (:customerIds)", nativeQuery = true)
+    int deleteArchivedByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    /**
+     * Next chunk of customers, soft-deleted ones included, whose password is not in the
+     * $id$... format, in customerId order after the given id (keyset pagination over the primary key).
+     */
+    @Query(value = "SELECT c.customer_id AS customerId, c.password AS password FROM customers c " +
+            "WHERE c.customer_id > :afterCustomerId AND c.password NOT LIKE '$%' " +
+            "ORDER BY c.customer_id LIMIT :limit", nativeQuery = true)
+    List<CustomerPasswordView> findLegacyPasswordsAfter(@Param("afterCustomerId") long afterCustomerId,
+                                                        @Param("limit") int limit);
+
+    @Query(value = "SELECT MAX(c.customer_id) FROM customers c", nativeQuery = true)
+    Long findMaxCustomerId();
+
 }
@@ -0,0 +1,9 @@
+package com.customer.management.service.repository;
+
+/**
+ * Projection of (customerId, version), used to answer conditional GETs without loading the customer.
+ */
+public interface CustomerVersionView {
+    Long getCustomerId();
+    Long getVersion();
+}
@@ -0,0 +1,12 @@
+package com.customer.management.service.repository;
+
+import com.customer.management.service.entity.PasswordRehashCheckpointModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository of the password rehash migration checkpoints, keyed by migration name.
+ */
+@Repository
+public interface PasswordRehashCheckpointRepository extends JpaRepository<PasswordRehashCheckpointModel, String> {
+}
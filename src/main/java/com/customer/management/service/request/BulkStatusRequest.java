@@ -0,0 +1,36 @@
+package com.customer.management.service.request;
+
+import com.customer.management.service.enums.CustomerStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Request DTO for a bulk status change.
+ * Target status (required)
+ * Either an explicit list of customer ids,
+ * or a filter on current status and created date range [createdFrom, createdTo)
+ * (all filter fields optional; an empty filter selects every customer)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@ToString
+public class BulkStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private CustomerStatus status;
+
+    private List<Long> customerIds;
+
+    private CustomerStatus currentStatus;
+
+    private LocalDateTime createdFrom;
+
+    private LocalDateTime createdTo;
+}
@@ -0,0 +1,26 @@
+package com.customer.management.service.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * BulkCustomerItemResponse reports the outcome of a single entry of a bulk create request.
+ * index points back to the position of the entry in the submitted batch,
+ * so partners can match failures to their own records.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkCustomerItemResponse {
+    private int index;
+    private String mobileNumber;
+    private boolean success;
+    private Long customerId;
+    private String otp;
+    private String error;
+}
@@ -0,0 +1,25 @@
+package com.customer.management.service.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * BulkCustomerResponse summarises a bulk create request.
+ * It carries the overall counts plus one {@link BulkCustomerItemResponse}
+ * per submitted entry, in the order they were submitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCustomerResponse {
+    private int totalCount;
+    private int successCount;
+    private int failureCount;
+    private long elapsedMillis;
+    private List<BulkCustomerItemResponse> results;
+}
@@ -0,0 +1,34 @@
+package com.customer.management.service.response;
+
+import com.customer.management.service.enums.BulkJobState;
+import com.customer.management.service.enums.CustomerStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * BulkStatusJobResponse reports the progress of an asynchronous bulk status change.
+ * totalCount is the number of selected customers when the job started; processedCount
+ * counts the customers of committed chunks, updatedCount those whose status actually changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkStatusJobResponse {
+    private String jobId;
+    private BulkJobState state;
+    private CustomerStatus targetStatus;
+    private long totalCount;
+    private long processedCount;
+    private long updatedCount;
+    private int chunkCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,26 @@
+package com.customer.management.service.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * CustomerCursorResponse is one page of a keyset (cursor) paginated customer listing.
+ * nextCursor is an opaque token to pass back for the following page; it is absent
+ * on the last page. No total count is computed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CustomerCursorResponse {
+    private List<CustomerResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
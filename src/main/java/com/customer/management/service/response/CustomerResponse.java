@@ -37,6 +37,7 @@ public class CustomerResponse {
     private CustomerStatus status;
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
+    private Long version;
     private List<AddressResponse> addresses;
     private String otp;
 }
@@ -0,0 +1,34 @@
+package com.customer.management.service.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * PasswordRehashProgressResponse reports the progress of the password rehash migration.
+ * lastCustomerId is the checkpoint (every legacy password up to it is converted) and maxCustomerId
+ * the highest customerId today, so lastCustomerId / maxCustomerId approximates the progress.
+ * rehashedCount counts converted passwords, skippedCount those changed by the customer meanwhile.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PasswordRehashProgressResponse {
+    private boolean running;
+    private boolean completed;
+    private long lastCustomerId;
+    private Long maxCustomerId;
+    private long rehashedCount;
+    private long skippedCount;
+    private double rowsPerSecond;
+    private LocalDateTime startedDate;
+    private LocalDateTime updatedDate;
+    private LocalDateTime completedDate;
+    private String error;
+}
@@ -0,0 +1,46 @@
+package com.customer.management.service.service;
+
+import com.customer.management.service.response.CustomerResponse;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * CustomerArchiveService moves long inactive customers out of the hot customer tables.
+ *
+ * Why a separate interface:
+ * - Archiving runs in the background in chunks with their own transactions.
+ * - {@link CustomerService} only needs the archive when a lookup misses the hot table.
+ */
+public interface CustomerArchiveService {
+
+    /**
+     * Moves inactive customers last updated before the given time, with their addresses and OTP,
+     * into the archive tables, chunk by chunk.
+     *
+     * @param updatedBefore only customers not updated since this time are archived
+     * @return number of archived customers
+     */
+    int archiveInactiveBefore(LocalDateTime updatedBefore);
+
+    /**
+     * @param mobileNumber mobile number of the customer
+     * @return the archived customer (without OTP), empty if none is archived with this number
+     */
+    Optional<CustomerResponse> findArchivedByMobileNumber(String mobileNumber);
+
+    /**
+     * @param emailAddress email address of the customer
+     * @return the archived customer (without OTP), empty if none is archived with this email
+     */
+    Optional<CustomerResponse> findArchivedByEmailAddress(String emailAddress);
+
+    /**
+     * Moves an archived customer back into the customers table with the same customerId,
+     * addresses and OTP.
+     *
+     * @param customerId id of the archived customer
+     * @return the restored customer
+     */
+    CustomerResponse restoreCustomer(Long customerId);
+}
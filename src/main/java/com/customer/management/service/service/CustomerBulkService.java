@@ -0,0 +1,47 @@
+package com.customer.management.service.service;
+
+import com.customer.management.service.request.BulkStatusRequest;
+import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.BulkCustomerResponse;
+import com.customer.management.service.response.BulkStatusJobResponse;
+
+import java.util.List;
+
+/**
+ * CustomerBulkService defines operations applied to many customers at once.
+ *
+ * Why a separate interface:
+ * - Bulk operations run in chunks with their own transactions, unlike the
+ *   single-customer operations of {@link CustomerService}.
+ * - Keeps partner onboarding concerns out of the regular customer contract.
+ */
+public interface CustomerBulkService {
+
+    /**
+     * Creates all customers of a partner batch.
+     * Every entry is validated and checked for duplicates on its own, so one bad
+     * entry never fails the rest of the batch.
+     *
+     * @param requests customers to create
+     * @return BulkCustomerResponse with the outcome of every entry
+     */
+    BulkCustomerResponse createCustomers(List<CustomerRequest> requests);
+
+    /**
+     * Starts changing the status of many customers in the background.
+     * The customers are selected by id or by filter and updated in chunks,
+     * every chunk in its own transaction.
+     *
+     * @param request target status and the customers to change
+     * @return BulkStatusJobResponse of the started job, to be polled with its jobId
+     */
+    BulkStatusJobResponse startStatusChange(BulkStatusRequest request);
+
+    /**
+     * Returns the progress of a bulk status change.
+     *
+     * @param jobId id returned by {@link #startStatusChange(BulkStatusRequest)}
+     * @return BulkStatusJobResponse with the current progress
+     */
+    BulkStatusJobResponse getStatusChange(String jobId);
+}
@@ -0,0 +1,25 @@
+package com.customer.management.service.service;
+
+import com.customer.management.service.enums.CustomerStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * CustomerExportService defines full and incremental extracts of the customer base.
+ */
+public interface CustomerExportService {
+
+    /**
+     * Streams customers with their addresses as NDJSON (one JSON object per line)
+     * to the given output stream. Memory use does not depend on the number of customers.
+     *
+     * @param status       only export customers with this status, null for all
+     * @param updatedSince only export customers updated at or after this time, null for all
+     * @param out          stream the NDJSON lines are written to; it is not closed
+     * @return number of exported customers
+     * @throws IOException if writing to the output stream fails
+     */
+    long exportCustomers(CustomerStatus status, LocalDateTime updatedSince, OutputStream out) throws IOException;
+}
@@ -1,9 +1,13 @@
 package com.customer.management.service.service;
 
 import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.CustomerCursorResponse;
 import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.util.CustomerETagUtil;
 import org.springframework.data.domain.Page;
 
+import java.util.Optional;
+
 
 /**
  * CustomerService defines all customer-related operations.
@@ -36,6 +40,16 @@ public interface CustomerService {
      */
     Page<CustomerResponse> getCustomers(int page, int size, String sortBy);
 
+    /**
+     * Retrieves customers page by page using keyset (cursor) pagination,
+     * newest first. Cost per page does not grow with the depth of the page.
+     *
+     * @param cursor continuation token from the previous page, null for the first page
+     * @param size   number of records per page
+     * @return CustomerCursorResponse with the page and the token of the next page
+     */
+    CustomerCursorResponse getCustomersByCursor(String cursor, int size);
+
     /**
      * Retrieves a single customer by their mobile number.
      *
@@ -60,23 +74,49 @@ public interface CustomerService {
      */
     CustomerResponse getCustomerByFullName(String fullName);
 
+    /**
+     * Returns the current ETag of a customer without loading it, for conditional GETs.
+     *
+     * @param mobileNumber the unique mobile number of the customer
+     * @return the ETag, empty if no such customer exists
+     */
+    Optional<String> getCustomerETagByMobileNumber(String mobileNumber);
+
+    /**
+     * Returns the current ETag of a customer without loading it, for conditional GETs.
+     *
+     * @param emailAddress the unique email address of the customer
+     * @return the ETag, empty if no such customer exists
+     */
+    Optional<String> getCustomerETagByEmailAddress(String emailAddress);
+
+    /**
+     * Returns the current ETag of a customer without loading it, for conditional GETs.
+     *
+     * @param fullName the full name of the customer
+     * @return the ETag, empty if no such customer exists
+     */
+    Optional<String> getCustomerETagByFullName(String fullName);
+
     /**
      * Updates customer's mobile number.
      *
      * @param customerId     unique identifier of the customer
      * @param newMobileNumber new mobile number to update
+     * @param ifMatch         expected version from the If-Match header, null for an unconditional update
      * @return CustomerResponse with updated customer details
      */
-    CustomerResponse updateCustomerByMobileNumber(Long customerId, String newMobileNumber);
+    CustomerResponse updateCustomerByMobileNumber(Long customerId, String newMobileNumber, CustomerETagUtil.Tag ifMatch);
 
     /**
      * Updates customer's email address.
      *
      * @param customerId      unique identifier of the customer
      * @param newEmailAddress new email address to update
+     * @param ifMatch         expected version from the If-Match header, null for an unconditional update
      * @return CustomerResponse with updated customer details
      */
-    CustomerResponse updateCustomerByEmailAddress(Long customerId, String newEmailAddress);
+    CustomerResponse updateCustomerByEmailAddress(Long customerId, String newEmailAddress, CustomerETagUtil.Tag ifMatch);
 
     /**
      * Soft deletes a customer by marking them as INACTIVE
@@ -101,45 +141,50 @@ public interface CustomerService {
      *
      * @param mobileNumber mobile number of the customer
      * @param newPassword  new password to be saved (will be encrypted)
+     * @param ifMatch      expected version from the If-Match header, null for an unconditional update
      * @return CustomerResponse with updated password (not exposed in response)
      */
-    CustomerResponse updatePasswordByMobileNumber(String mobileNumber, String newPassword);
+    CustomerResponse updatePasswordByMobileNumber(String mobileNumber, String newPassword, CustomerETagUtil.Tag ifMatch);
 
     /**
      * Updates customer's password using their email address.
      *
      * @param emailAddress email address of the customer
      * @param newPassword  new password to be saved (will be encrypted)
+     * @param ifMatch      expected version from the If-Match header, null for an unconditional update
      * @return CustomerResponse with updated password (not exposed in response)
      */
-    CustomerResponse updatePasswordByEmailAddress(String emailAddress, String newPassword);
+    CustomerResponse updatePasswordByEmailAddress(String emailAddress, String newPassword, CustomerETagUtil.Tag ifMatch);
 
     /**
      * Updates a customer's mobile number using their customer ID.
      *
      * @param customerId     unique identifier of the customer
      * @param newMobileNumber new mobile number
+     * @param ifMatch         expected version from the If-Match header, null for an unconditional update
      * @return CustomerResponse containing updated customer details
      */
-    String updateCustomerMobileNumberByCustomerId(Long customerId, String newMobileNumber);
+    String updateCustomerMobileNumberByCustomerId(Long customerId, String newMobileNumber, CustomerETagUtil.Tag ifMatch);
 
     /**
      * Updates a customer's email address using their customer ID.
      *
      * @param customerId      unique identifier of the customer
      * @param newEmailAddress new email address
+     * @param ifMatch         expected version from the If-Match header, null for an unconditional update
      * @return CustomerResponse containing updated customer details
      */
-    String updateCustomerEmailAddressByCustomerId(Long customerId, String newEmailAddress);
+    String updateCustomerEmailAddressByCustomerId(Long customerId, String newEmailAddress, CustomerETagUtil.Tag ifMatch);
 
     /**
      * Updates a customer's password using their customer ID.
      *
      * @param customerId  unique identifier of the customer
      * @param newPassword new password to be encrypted and saved
+     * @param ifMatch     expected version from the If-Match header, null for an unconditional update
      * @return CustomerResponse; password itself is not exposed
      */
-    String updatePasswordByCustomerId(Long customerId, String newPassword);
+    String updatePasswordByCustomerId(Long customerId, String newPassword, CustomerETagUtil.Tag ifMatch);
 
     /**
      * Softly deletes a customer using their customer ID by marking them as INACTIVE.
@@ -148,4 +193,13 @@ public interface CustomerService {
      * @return CustomerResponse reflecting updated status as INACTIVE
      */
     String deleteCustomerByCustomerId(Long customerId);
+
+    /**
+     * Activates a customer after verifying the OTP issued when it was created.
+     *
+     * @param mobileNumber mobile number of the customer
+     * @param otp          OTP entered by the customer
+     * @return CustomerResponse with status ACTIVE
+     */
+    CustomerResponse activateByOtp(String mobileNumber, String otp);
 }
@@ -0,0 +1,23 @@
+package com.customer.management.service.service;
+
+import com.customer.management.service.response.PasswordRehashProgressResponse;
+
+/**
+ * PasswordRehashService converts the customers.password values written before hashes carried an
+ * algorithm id (hex SHA-256 of generated passwords, raw passwords of the old updatePassword endpoints)
+ * into the current format, in the background and resumable across restarts.
+ */
+public interface PasswordRehashService {
+
+    /**
+     * Starts the migration in the background unless it is already running or completed.
+     *
+     * @return the progress right after the start
+     */
+    PasswordRehashProgressResponse start();
+
+    /**
+     * @return the current progress, read from the checkpoint
+     */
+    PasswordRehashProgressResponse getProgress();
+}
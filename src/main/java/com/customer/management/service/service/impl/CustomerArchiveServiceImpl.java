@@ -0,0 +1,264 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.enums.CustomerChangeType;
+import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.exceptions.CustomerAlreadyExistsException;
+import com.customer.management.service.exceptions.CustomerNotFoundException;
+import com.customer.management.service.mapper.CustomerMapper;
+import com.customer.management.service.repository.ArchivedAddressRepository;
+import com.customer.management.service.repository.ArchivedCustomerRepository;
+import com.customer.management.service.repository.CustomerAddressRepository;
+import com.customer.management.service.repository.CustomerOTPRepository;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.service.CustomerArchiveService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link CustomerArchiveService}.
+ * Customers with status INACTIVE that were not updated for customer.archive.inactive-days are moved,
+ * with their addresses and OTP, into customers_archive, customer_address_archive and customer_otp_archive.
+ * How a chunk of customer.archive.chunk-size customers is moved, in one transaction:
+ * - The oldest candidates are selected through the (status, updated_date) index.
+ * - INSERT ... SELECT copies the customers that still qualify; on InnoDB this statement locks the
+ *   copied rows, so a concurrent update waits and then finds the customer gone.
+ * - Addresses and OTP of the copied customers are copied the same way, then OTP, addresses and
+ *   customers are deleted from the hot tables; every statement is set-based over the whole chunk.
+ * Runs every customer.archive.interval-millis inside the optional window, pausing
+ * customer.archive.pause-millis between chunks and stopping after customer.archive.max-chunks-per-run.
+ * Each archived customer publishes a DELETED {@link CustomerChangedEvent} so caches drop it;
+ * lookups by mobile number or email fall back to the archive, and a restore moves the customer back.
+ * Row counts of customers and customers_archive are published as customer.table.rows after every run.
+ */
+@Service
+public class CustomerArchiveServiceImpl implements CustomerArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerArchiveServiceImpl.class);
+
+    private final CustomerRepository customerRepository;
+    private final CustomerAddressRepository addressRepository;
+    private final CustomerOTPRepository otpRepository;
+    private final ArchivedCustomerRepository archivedCustomerRepository;
+    private final ArchivedAddressRepository archivedAddressRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedCounter;
+    private final Counter restoredCounter;
+    private volatile long customerRows = -1;
+    private volatile long archivedRows = -1;
+
+    @Value("${customer.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${customer.archive.inactive-days:365}")
+    private long inactiveDays;
+
+    @Value("${customer.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${customer.archive.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    @Value("${customer.archive.pause-millis:200}")
+    private long pauseMillis;
+
+    @Value("${customer.archive.window-start:}")
+    private String windowStart;
+
+    @Value("${customer.archive.window-end:}")
+    private String windowEnd;
+
+    public CustomerArchiveServiceImpl(CustomerRepository customerRepository,
+                                      CustomerAddressRepository addressRepository,
+                                      CustomerOTPRepository otpRepository,
+                                      ArchivedCustomerRepository archivedCustomerRepository,
+                                      ArchivedAddressRepository archivedAddressRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      TransactionTemplate transactionTemplate,
+                                      MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        this.addressRepository = addressRepository;
+        this.otpRepository = otpRepository;
+        this.archivedCustomerRepository = archivedCustomerRepository;
+        this.archivedAddressRepository = archivedAddressRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.archivedCounter = Counter.builder("customer.archive.archived")
+                .description("Customers moved to the archive tables")
+                .register(meterRegistry);
+        this.restoredCounter = Counter.builder("customer.archive.restored")
+                .description("Customers moved back from the archive tables")
+                .register(meterRegistry);
+        Gauge.builder("customer.table.rows", this, service -> service.customerRows)
+                .tag("table", "customers").register(meterRegistry);
+        Gauge.builder("customer.table.rows", this, service -> service.archivedRows)
+                .tag("table", "customers_archive").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${customer.archive.interval-millis:3600000}",
+            initialDelayString = "${customer.archive.interval-millis:3600000}")
+    void run() {
+        if (!enabled) {
+            return;
+        }
+        if (insideWindow(LocalTime.now())) {
+            archiveInactiveBefore(LocalDateTime.now().minusDays(inactiveDays));
+        }
+        refreshTableSizes();
+    }
+
+    @Override
+    public int archiveInactiveBefore(LocalDateTime updatedBefore) {
+        long start = System.nanoTime();
+        int archived = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer count = transactionTemplate.execute(status -> archiveChunk(updatedBefore));
+            if (count == null || count == 0) {
+                break;
+            }
+            archived += count;
+            archivedCounter.increment(count);
+            if (count < chunkSize || !pause()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            logger.info("Archived {} inactive customers in {} ms", archived, (System.nanoTime() - start) / 1_000_000);
+        }
+        return archived;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<CustomerResponse> findArchivedByMobileNumber(String mobileNumber) {
+        return archivedCustomerRepository.findFirstByMobileNumberOrderByArchivedDateDesc(mobileNumber)
+                .map(model -> CustomerMapper.toCustomerResponse(model,
+                        archivedAddressRepository.findAllByCustomerId(model.getCustomerId())));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<CustomerResponse> findArchivedByEmailAddress(String emailAddress) {
+        return archivedCustomerRepository.findFirstByEmailAddressOrderByArchivedDateDesc(emailAddress)
+                .map(model -> CustomerMapper.toCustomerResponse(model,
+                        archivedAddressRepository.findAllByCustomerId(model.getCustomerId())));
+    }
+
+    /**
+     * Restores the customer with a new updatedDate and version, so the next archive run does not
+     * pick it up again and cached ETags of the archived customer no longer match.
+     *
+     * @throws CustomerNotFoundException      if no customer with this id is archived
+     * @throws CustomerAlreadyExistsException if its mobile number, email or full name was taken meanwhile
+     */
+    @Override
+    @Transactional
+    public CustomerResponse restoreCustomer(Long customerId) {
+        try {
+            if (archivedCustomerRepository.restoreCustomer(customerId, LocalDateTime.now()) == 0) {
+                throw new CustomerNotFoundException("No archived customer with customerId: " + customerId);
+            }
+        } catch (DataIntegrityViolationException exception) {
+            throw new CustomerAlreadyExistsException("Customer " + customerId
+                    + " cannot be restored, its mobile number, email or full name is used by another customer");
+        }
+        archivedCustomerRepository.restoreAddresses(customerId);
+        archivedCustomerRepository.restoreOtp(customerId);
+        archivedCustomerRepository.deleteArchivedOtp(customerId);
+        archivedCustomerRepository.deleteArchivedAddresses(customerId);
+        archivedCustomerRepository.deleteArchivedCustomer(customerId);
+
+        CustomerModel model = customerRepository.findWithAddressByCustomerId(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with customerId: " + customerId));
+        eventPublisher.publishEvent(CustomerChangedEvent.builder()
+                .customerId(customerId)
+                .changeType(CustomerChangeType.CREATED)
+                .mobileNumber(model.getMobileNumber())
+                .emailAddress(model.getEmailAddress())
+                .fullName(model.getFullName())
+                .build());
+        restoredCounter.increment();
+        logger.info("Restored customer {} from the archive", customerId);
+        return CustomerMapper.toCustomerResponse(model);
+    }
+
+    private int archiveChunk(LocalDateTime updatedBefore) {
+        String inactive = CustomerStatus.INACTIVE.name();
+        List<Long> candidates = customerRepository.findCustomerIdsToArchive(inactive, updatedBefore, chunkSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedCustomerRepository.archiveCustomers(candidates, inactive, updatedBefore, LocalDateTime.now());
+        if (copied == 0) {
+            return 0;
+        }
+        // candidates changed since the select were not copied and must stay
+        List<Long> customerIds = copied == candidates.size()
+                ? candidates : archivedCustomerRepository.findArchivedCustomerIdsIn(candidates);
+        archivedCustomerRepository.archiveAddresses(customerIds);
+        archivedCustomerRepository.archiveOtps(customerIds);
+        otpRepository.deleteAllByCustomerIdIn(customerIds);
+        addressRepository.deleteAllByCustomerIdIn(customerIds);
+        customerRepository.deleteArchivedByCustomerIdIn(customerIds);
+        customerIds.forEach(customerId -> eventPublisher.publishEvent(CustomerChangedEvent.builder()
+                .customerId(customerId)
+                .changeType(CustomerChangeType.DELETED)
+                .build()));
+        return customerIds.size();
+    }
+
+    private void refreshTableSizes() {
+        customerRows = customerRepository.count();
+        archivedRows = archivedCustomerRepository.count();
+    }
+
+    /**
+     * @return false when interrupted, so the run stops
+     */
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return true when no window is configured or the time is inside it (windows may wrap midnight)
+     */
+    boolean insideWindow(LocalTime time) {
+        if (windowStart.isBlank() || windowEnd.isBlank()) {
+            return true;
+        }
+        LocalTime from = LocalTime.parse(windowStart);
+        LocalTime to = LocalTime.parse(windowEnd);
+        if (from.isBefore(to)) {
+            return !time.isBefore(from) && time.isBefore(to);
+        }
+        return !time.isBefore(from) || time.isBefore(to);
+    }
+}
@@ -0,0 +1,144 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.entity.AddressModel;
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.enums.CustomerChangeType;
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.otp.OtpStore;
+import com.customer.management.service.password.PasswordHashingService;
+import com.customer.management.service.repository.CustomerBatchRepository;
+import com.customer.management.service.repository.CustomerKeyView;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.request.CustomerRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static com.customer.management.service.constant.CustomerConstant.EMAIL_EXISTS;
+import static com.customer.management.service.constant.CustomerConstant.FULL_NAME_EXISTS;
+import static com.customer.management.service.constant.CustomerConstant.MOBILE_NUMBER_EXISTS;
+import static com.customer.management.service.mapper.CustomerMapper.requestToAddressMapper;
+import static com.customer.management.service.mapper.CustomerMapper.toCustomerModel;
+import static com.customer.management.service.util.OtpUtil.generateOtp;
+
+/**
+ * CustomerBatchWriter persists a list of already validated {@link CustomerRequest}s
+ * in the caller's transaction.
+ * Steps performed:
+ * - One set-based query finds every mobile number, email and full name already taken
+ * - Duplicates against the database and inside the batch itself are rejected per entry
+ * - Remaining customers and their addresses are inserted as two JDBC batches,
+ *   their OTPs are handed to the {@link OtpStore} in one call
+ * - A {@link CustomerChangedEvent} is published for every inserted customer
+ * Conflicts are reported with the same messages as the single create path.
+ * A concurrent insert can still win the race between the check and the insert;
+ * in that case the batch fails with a DataIntegrityViolationException and callers
+ * fall back to creating the entries one by one.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerBatchWriter {
+
+    private final CustomerRepository customerRepository;
+    private final CustomerBatchRepository batchRepository;
+    private final OtpStore otpStore;
+    private final PasswordHashingService passwordHashingService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Writes the given requests as one batch.
+     *
+     * @param requests validated customer requests
+     * @return one result per request, in the same order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<CustomerWriteResult> write(List<CustomerRequest> requests) {
+        Set<String> mobileNumbers = new HashSet<>();
+        Set<String> emailAddresses = new HashSet<>();
+        Set<String> fullNames = new HashSet<>();
+        for (CustomerRequest request : requests) {
+            mobileNumbers.add(request.getMobileNumber());
+            emailAddresses.add(request.getEmailAddress());
+            fullNames.add(request.getFullName());
+        }
+
+        Set<String> takenMobileNumbers = new HashSet<>();
+        Set<String> takenEmailAddresses = new HashSet<>();
+        Set<String> takenFullNames = new HashSet<>();
+        for (CustomerKeyView existing : customerRepository.findExistingKeys(mobileNumbers, emailAddresses, fullNames)) {
+            takenMobileNumbers.add(normalize(existing.getMobileNumber()));
+            takenEmailAddresses.add(normalize(existing.getEmailAddress()));
+            takenFullNames.add(normalize(existing.getFullName()));
+        }
+
+        List<CustomerWriteResult> results = new ArrayList<>(requests.size());
+        List<CustomerModel> customers = new ArrayList<>(requests.size());
+        List<AddressModel> addresses = new ArrayList<>();
+        List<String> otps = new ArrayList<>(requests.size());
+        for (CustomerRequest request : requests) {
+            String mobileNumber = normalize(request.getMobileNumber());
+            String emailAddress = normalize(request.getEmailAddress());
+            String fullName = normalize(request.getFullName());
+            if (takenMobileNumbers.contains(mobileNumber)) {
+                results.add(CustomerWriteResult.failed(request, MOBILE_NUMBER_EXISTS));
+                continue;
+            }
+            if (takenEmailAddresses.contains(emailAddress)) {
+                results.add(CustomerWriteResult.failed(request, EMAIL_EXISTS));
+                continue;
+            }
+            if (takenFullNames.contains(fullName)) {
+                results.add(CustomerWriteResult.failed(request, FULL_NAME_EXISTS));
+                continue;
+            }
+            takenMobileNumbers.add(mobileNumber);
+            takenEmailAddresses.add(emailAddress);
+            takenFullNames.add(fullName);
+
+            CustomerModel customer = toCustomerModel(request, passwordHashingService.hashGeneratedPassword());
+            List<AddressModel> customerAddresses = new ArrayList<>(request.getAddresses().size());
+            request.getAddresses().forEach(address -> customerAddresses.add(requestToAddressMapper(customer, address)));
+            String otp = generateOtp();
+            customer.setAddress(customerAddresses);
+
+            customers.add(customer);
+            addresses.addAll(customerAddresses);
+            otps.add(otp);
+            results.add(CustomerWriteResult.created(request, customer, otp));
+        }
+
+        batchRepository.insertCustomers(customers);
+        batchRepository.insertAddresses(addresses);
+        Map<Long, String> otpsByCustomerId = new HashMap<>(customers.size() * 2);
+        for (int i = 0; i < customers.size(); i++) {
+            otpsByCustomerId.put(customers.get(i).getCustomerId(), otps.get(i));
+        }
+        otpStore.saveAll(otpsByCustomerId);
+        customers.forEach(customer -> eventPublisher.publishEvent(CustomerChangedEvent.builder()
+                .customerId(customer.getCustomerId())
+                .changeType(CustomerChangeType.CREATED)
+                .mobileNumber(customer.getMobileNumber())
+                .emailAddress(customer.getEmailAddress())
+                .fullName(customer.getFullName())
+                .build()));
+        return results;
+    }
+
+    /**
+     * MySQL compares the unique columns case-insensitively, so the in-memory
+     * duplicate check does the same.
+     */
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
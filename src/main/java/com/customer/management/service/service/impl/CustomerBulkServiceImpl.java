@@ -0,0 +1,332 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.enums.CustomerChangeType;
+import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.exceptions.BulkJobNotFoundException;
+import com.customer.management.service.exceptions.CustomerAlreadyExistsException;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.request.BulkStatusRequest;
+import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.BulkCustomerItemResponse;
+import com.customer.management.service.response.BulkCustomerResponse;
+import com.customer.management.service.response.BulkStatusJobResponse;
+import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.service.CustomerBulkService;
+import com.customer.management.service.service.CustomerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link CustomerBulkService}.
+ * A bulk create runs in three phases:
+ * - Validation of every entry with the same constraints as the single create API
+ * - Chunking of the valid entries (customer.bulk.chunk-size per chunk)
+ * - One transaction per chunk, written by {@link CustomerBatchWriter}
+ * If a chunk loses a race against a concurrent create, it is retried entry by entry
+ * through {@link CustomerService#createCustomer(CustomerRequest)} so only the
+ * conflicting entries fail.
+ * A bulk status change runs as a background job on customer.bulk.status.job-threads threads:
+ * the selected customer ids are updated customer.bulk.status.chunk-size at a time with one
+ * set-based UPDATE ... WHERE customer_id IN (...) per transaction, so locks and undo log stay
+ * small however many customers are changed. Filters are walked with keyset pagination on
+ * customerId. Progress is kept in memory for customer.bulk.status.job-retention-minutes.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerBulkServiceImpl implements CustomerBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerBulkServiceImpl.class);
+    private final CustomerBatchWriter batchWriter;
+    private final CustomerService customerService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, CustomerStatusChangeJob> statusJobs = new ConcurrentHashMap<>();
+
+    @Value("${customer.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${customer.bulk.max-size:50000}")
+    private int maxSize;
+
+    @Value("${customer.bulk.status.chunk-size:1000}")
+    private int statusChunkSize;
+
+    @Value("${customer.bulk.status.job-threads:1}")
+    private int statusJobThreads;
+
+    @Value("${customer.bulk.status.job-retention-minutes:60}")
+    private long statusJobRetentionMinutes;
+
+    private ExecutorService statusJobExecutor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        statusJobExecutor = Executors.newFixedThreadPool(statusJobThreads, runnable -> {
+            Thread thread = new Thread(runnable, "customer-bulk-status-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        statusJobExecutor.shutdownNow();
+    }
+
+    /**
+     * Creates all customers of a partner batch.
+     *
+     * @param requests customers to create
+     * @return {@link BulkCustomerResponse} with one result per submitted entry
+     * @throws IllegalArgumentException if the batch is empty or larger than customer.bulk.max-size
+     */
+    @Override
+    public BulkCustomerResponse createCustomers(List<CustomerRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Bulk request must contain at least one customer");
+        }
+        if (requests.size() > maxSize) {
+            throw new IllegalArgumentException("Bulk request cannot contain more than " + maxSize + " customers");
+        }
+        logger.info("Bulk create request received for {} customers", requests.size());
+        long start = System.nanoTime();
+
+        BulkCustomerItemResponse[] results = new BulkCustomerItemResponse[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error == null) {
+                validIndexes.add(i);
+            } else {
+                results[i] = failure(i, requests.get(i), error);
+            }
+        }
+
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size()));
+            writeChunk(requests, chunk, results);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        int successCount = (int) Arrays.stream(results).filter(BulkCustomerItemResponse::isSuccess).count();
+        logger.info("Bulk create finished: {} created, {} failed in {} ms ({} rows/sec)",
+                successCount, requests.size() - successCount, elapsedMillis,
+                elapsedMillis == 0 ? successCount : successCount * 1000L / elapsedMillis);
+
+        return BulkCustomerResponse.builder()
+                .totalCount(requests.size())
+                .successCount(successCount)
+                .failureCount(requests.size() - successCount)
+                .elapsedMillis(elapsedMillis)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Starts a bulk status change job.
+     *
+     * @param request target status and either customerIds or a filter
+     * @return {@link BulkStatusJobResponse} of the started job
+     * @throws IllegalArgumentException if both ids and a filter are given, there are more than
+     *                                  customer.bulk.max-size ids, or the date range is inverted
+     */
+    @Override
+    public BulkStatusJobResponse startStatusChange(BulkStatusRequest request) {
+        boolean hasFilter = request.getCurrentStatus() != null || request.getCreatedFrom() != null
+                || request.getCreatedTo() != null;
+        List<Long> customerIds = null;
+        if (request.getCustomerIds() != null && !request.getCustomerIds().isEmpty()) {
+            if (hasFilter) {
+                throw new IllegalArgumentException("Give either customerIds or a filter, not both");
+            }
+            if (request.getCustomerIds().size() > maxSize) {
+                throw new IllegalArgumentException("Bulk request cannot contain more than " + maxSize + " customers");
+            }
+            customerIds = new ArrayList<>(new LinkedHashSet<>(request.getCustomerIds()));
+        }
+        if (request.getCreatedFrom() != null && request.getCreatedTo() != null
+                && request.getCreatedFrom().isAfter(request.getCreatedTo())) {
+            throw new IllegalArgumentException("createdFrom must not be after createdTo");
+        }
+
+        long totalCount = customerIds != null ? customerIds.size()
+                : customerRepository.countForStatusChange(request.getCurrentStatus(), request.getCreatedFrom(), request.getCreatedTo());
+        CustomerStatusChangeJob job = new CustomerStatusChangeJob(UUID.randomUUID().toString(), request.getStatus(), totalCount);
+        LocalDateTime expiry = LocalDateTime.now().minusMinutes(statusJobRetentionMinutes);
+        statusJobs.values().removeIf(finished -> finished.finishedBefore(expiry));
+        statusJobs.put(job.getJobId(), job);
+
+        List<Long> selectedIds = customerIds;
+        statusJobExecutor.execute(() -> runStatusChange(job, request, selectedIds));
+        logger.info("Bulk status change {} started: {} customers to {}", job.getJobId(), totalCount, request.getStatus());
+        return job.toResponse();
+    }
+
+    /**
+     * Returns the progress of a bulk status change.
+     *
+     * @param jobId id of the job
+     * @return {@link BulkStatusJobResponse} with the current progress
+     * @throws BulkJobNotFoundException if the job is unknown or expired
+     */
+    @Override
+    public BulkStatusJobResponse getStatusChange(String jobId) {
+        CustomerStatusChangeJob job = statusJobs.get(jobId);
+        if (job == null) {
+            throw new BulkJobNotFoundException("Bulk status job not found: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * Applies the status change chunk by chunk; committed chunks stay applied if a later one fails.
+     */
+    private void runStatusChange(CustomerStatusChangeJob job, BulkStatusRequest request, List<Long> customerIds) {
+        long start = System.nanoTime();
+        try {
+            if (customerIds != null) {
+                for (int from = 0; from < customerIds.size(); from += statusChunkSize) {
+                    applyStatusChunk(job, customerIds.subList(from, Math.min(from + statusChunkSize, customerIds.size())), null);
+                }
+            } else {
+                List<Long> chunk = nextStatusChunk(request, Long.MIN_VALUE);
+                while (!chunk.isEmpty()) {
+                    applyStatusChunk(job, chunk, request.getCurrentStatus());
+                    chunk = nextStatusChunk(request, chunk.get(chunk.size() - 1));
+                }
+            }
+            job.complete();
+            BulkStatusJobResponse progress = job.toResponse();
+            logger.info("Bulk status change {} finished: {} of {} customers changed in {} ms", job.getJobId(),
+                    progress.getUpdatedCount(), progress.getProcessedCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException exception) {
+            logger.error("Bulk status change {} failed", job.getJobId(), exception);
+            job.fail(exception.getMessage());
+        }
+    }
+
+    /**
+     * Selects the next customer.bulk.status.chunk-size customer ids matching the filter after the given id.
+     */
+    private List<Long> nextStatusChunk(BulkStatusRequest request, long afterCustomerId) {
+        return customerRepository.findCustomerIdsForStatusChange(afterCustomerId, request.getCurrentStatus(),
+                request.getCreatedFrom(), request.getCreatedTo(), PageRequest.of(0, statusChunkSize));
+    }
+
+    /**
+     * Updates one chunk with a single statement in its own transaction and publishes a
+     * {@link CustomerChangedEvent} per customer so cached copies are evicted.
+     */
+    private void applyStatusChunk(CustomerStatusChangeJob job, List<Long> customerIds,
+                                  CustomerStatus currentStatus) {
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = customerRepository.updateStatusByCustomerIdIn(customerIds, job.getTargetStatus(),
+                    currentStatus, LocalDateTime.now());
+            customerIds.forEach(customerId -> eventPublisher.publishEvent(CustomerChangedEvent.builder()
+                    .customerId(customerId)
+                    .changeType(CustomerChangeType.UPDATED)
+                    .build()));
+            return rows;
+        });
+        job.chunkCommitted(customerIds.size(), updated == null ? 0 : updated);
+    }
+
+    /**
+     * Writes one chunk in its own transaction, falling back to single creates
+     * when the chunk hits a unique constraint.
+     */
+    private void writeChunk(List<CustomerRequest> requests, List<Integer> chunk, BulkCustomerItemResponse[] results) {
+        List<CustomerRequest> chunkRequests = new ArrayList<>(chunk.size());
+        chunk.forEach(index -> chunkRequests.add(requests.get(index)));
+        try {
+            List<CustomerWriteResult> written = transactionTemplate.execute(status -> batchWriter.write(chunkRequests));
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                CustomerWriteResult result = written.get(i);
+                results[index] = result.isSuccess()
+                        ? BulkCustomerItemResponse.builder()
+                                .index(index)
+                                .mobileNumber(result.getModel().getMobileNumber())
+                                .success(true)
+                                .customerId(result.getModel().getCustomerId())
+                                .otp(result.getOtp())
+                                .build()
+                        : failure(index, result.getRequest(), result.getError());
+            }
+        } catch (DataIntegrityViolationException exception) {
+            logger.warn("Bulk chunk of {} customers hit a unique constraint, retrying one by one", chunk.size());
+            for (int index : chunk) {
+                results[index] = createSingle(index, requests.get(index));
+            }
+        }
+    }
+
+    private BulkCustomerItemResponse createSingle(int index, CustomerRequest request) {
+        try {
+            CustomerResponse response = customerService.createCustomer(request);
+            return BulkCustomerItemResponse.builder()
+                    .index(index)
+                    .mobileNumber(response.getMobileNumber())
+                    .success(true)
+                    .customerId(response.getCustomerId())
+                    .otp(response.getOtp())
+                    .build();
+        } catch (CustomerAlreadyExistsException exception) {
+            return failure(index, request, exception.getMessage());
+        } catch (DataIntegrityViolationException exception) {
+            return failure(index, request, "Customer already exists");
+        }
+    }
+
+    private String validate(CustomerRequest request) {
+        if (request == null) {
+            return "Customer request cannot be null";
+        }
+        Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static BulkCustomerItemResponse failure(int index, CustomerRequest request, String error) {
+        return BulkCustomerItemResponse.builder()
+                .index(index)
+                .mobileNumber(request == null ? null : request.getMobileNumber())
+                .success(false)
+                .error(error)
+                .build();
+    }
+}
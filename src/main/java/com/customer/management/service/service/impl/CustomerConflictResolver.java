@@ -0,0 +1,54 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.exceptions.CustomerAlreadyExistsException;
+import com.customer.management.service.repository.CustomerKeyView;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.request.CustomerRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.customer.management.service.constant.CustomerConstant.EMAIL_EXISTS;
+import static com.customer.management.service.constant.CustomerConstant.FULL_NAME_EXISTS;
+import static com.customer.management.service.constant.CustomerConstant.MOBILE_NUMBER_EXISTS;
+
+/**
+ * CustomerConflictResolver explains a unique constraint violation raised while inserting a customer.
+ * Creates insert first and rely on the unique constraints of the customers table, so the
+ * existence checks only run here, on the rare failure path.
+ * Called after the failed insert's transaction has rolled back: the failed flush leaves that
+ * persistence context unusable, and a second connection taken while the first is still held
+ * deadlocks the pool under a burst of duplicates. Checks keep the order of the former pre-insert checks
+ * (mobile number, email, full name), so clients see the same message as before;
+ * all three are checked with one query.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerConflictResolver {
+
+    private final CustomerRepository customerRepository;
+
+    /**
+     * @param request the customer request that failed to insert
+     * @return the exception describing which unique field is already taken
+     */
+    @Transactional(readOnly = true)
+    public CustomerAlreadyExistsException resolve(CustomerRequest request) {
+        // soft-deleted customers keep their keys until purged, so they are matched too
+        List<CustomerKeyView> existing = customerRepository.findExistingKeys(Set.of(request.getMobileNumber()),
+                Set.of(request.getEmailAddress()), Set.of(request.getFullName()));
+        if (existing.stream().anyMatch(key -> request.getMobileNumber().equalsIgnoreCase(key.getMobileNumber()))) {
+            return new CustomerAlreadyExistsException(MOBILE_NUMBER_EXISTS);
+        }
+        if (existing.stream().anyMatch(key -> request.getEmailAddress().equalsIgnoreCase(key.getEmailAddress()))) {
+            return new CustomerAlreadyExistsException(EMAIL_EXISTS);
+        }
+        if (existing.stream().anyMatch(key -> request.getFullName().equalsIgnoreCase(key.getFullName()))) {
+            return new CustomerAlreadyExistsException(FULL_NAME_EXISTS);
+        }
+        return new CustomerAlreadyExistsException("Customer already exists");
+    }
+}
@@ -0,0 +1,117 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.entity.AddressModel;
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.repository.CustomerAddressRepository;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.service.CustomerExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.customer.management.service.mapper.CustomerMapper.toCustomerResponse;
+
+/**
+ * Implementation of {@link CustomerExportService}.
+ * How the export keeps heap usage flat:
+ * - Customers are read through a forward-only, read-only Hibernate stream with a JDBC fetch size
+ *   (server side cursor on MySQL with useCursorFetch=true), never as a list.
+ * - Every customer.export.clear-interval customers, the addresses of that chunk are loaded with
+ *   one IN query, the chunk is written, and the persistence context is cleared.
+ * - JSON is written with one Jackson generator directly to the response stream.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerExportServiceImpl implements CustomerExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerExportServiceImpl.class);
+    private final CustomerRepository customerRepository;
+    private final CustomerAddressRepository addressRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${customer.export.clear-interval:1000}")
+    private int clearInterval;
+
+    /**
+     * Streams the matching customers as NDJSON.
+     *
+     * @param status       only export customers with this status, null for all
+     * @param updatedSince only export customers updated at or after this time, null for all
+     * @param out          target stream, left open
+     * @return number of exported customers
+     * @throws IOException if writing to the output stream fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCustomers(CustomerStatus status, LocalDateTime updatedSince, OutputStream out) throws IOException {
+        logger.info("Exporting customers status={} updatedSince={}", status, updatedSince);
+        long exported = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (Stream<CustomerModel> customers = customerRepository.streamForExport(status, updatedSince);
+             SequenceWriter writer = objectMapper.writer()
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                     .withRootValueSeparator("\n")
+                     .writeValues(generator)) {
+            List<CustomerModel> chunk = new ArrayList<>(clearInterval);
+            Iterator<CustomerModel> iterator = customers.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == clearInterval) {
+                    exported += writeChunk(chunk, writer);
+                }
+            }
+            exported += writeChunk(chunk, writer);
+            if (exported > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        generator.close();
+        logger.info("Exported {} customers", exported);
+        return exported;
+    }
+
+    /**
+     * Writes one chunk with its addresses, then detaches everything loaded for it.
+     */
+    private int writeChunk(List<CustomerModel> chunk, SequenceWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Long> customerIds = new ArrayList<>(chunk.size());
+        chunk.forEach(customer -> customerIds.add(customer.getCustomerId()));
+        Map<Long, List<AddressModel>> addressesByCustomer = new HashMap<>();
+        for (AddressModel address : addressRepository.findAllByCustomerIdIn(customerIds)) {
+            addressesByCustomer.computeIfAbsent(address.getCustomer().getCustomerId(), id -> new ArrayList<>()).add(address);
+        }
+        for (CustomerModel customer : chunk) {
+            writer.write(toCustomerResponse(customer,
+                    addressesByCustomer.getOrDefault(customer.getCustomerId(), Collections.emptyList())));
+        }
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return written;
+    }
+}
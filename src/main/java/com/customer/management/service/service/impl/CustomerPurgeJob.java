@@ -0,0 +1,151 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.repository.CustomerAddressRepository;
+import com.customer.management.service.repository.CustomerOTPRepository;
+import com.customer.management.service.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * CustomerPurgeJob physically removes soft-deleted customers with their addresses and OTP.
+ * How it stays out of the way of regular traffic:
+ * - Only customers deleted more than customer.purge.retention-hours ago are purged.
+ * - Runs every customer.purge.interval-millis, and only inside the optional
+ *   [customer.purge.window-start, customer.purge.window-end) time window (e.g. 01:00 - 05:00).
+ * - Works in chunks of customer.purge.chunk-size customers, each in its own short transaction
+ *   of four set-based statements, sleeps customer.purge.pause-millis between chunks and stops
+ *   after customer.purge.max-chunks-per-run chunks.
+ * Purged customers are counted in customer.purge.deleted.
+ */
+@Component
+public class CustomerPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerPurgeJob.class);
+
+    private final CustomerRepository customerRepository;
+    private final CustomerAddressRepository addressRepository;
+    private final CustomerOTPRepository otpRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purgedCounter;
+
+    @Value("${customer.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${customer.purge.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${customer.purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${customer.purge.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    @Value("${customer.purge.pause-millis:200}")
+    private long pauseMillis;
+
+    @Value("${customer.purge.window-start:}")
+    private String windowStart;
+
+    @Value("${customer.purge.window-end:}")
+    private String windowEnd;
+
+    public CustomerPurgeJob(CustomerRepository customerRepository,
+                            CustomerAddressRepository addressRepository,
+                            CustomerOTPRepository otpRepository,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        this.addressRepository = addressRepository;
+        this.otpRepository = otpRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.purgedCounter = Counter.builder("customer.purge.deleted")
+                .description("Soft-deleted customers removed from the database")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${customer.purge.interval-millis:300000}",
+            initialDelayString = "${customer.purge.interval-millis:300000}")
+    void run() {
+        if (!enabled || !insideWindow(LocalTime.now())) {
+            return;
+        }
+        purgeDeletedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    /**
+     * Purges customers soft-deleted before the given time, chunk by chunk.
+     *
+     * @param deletedBefore only customers deleted before this time are purged
+     * @return number of purged customers
+     */
+    public int purgeDeletedBefore(LocalDateTime deletedBefore) {
+        long start = System.nanoTime();
+        int purged = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer count = transactionTemplate.execute(status -> purgeChunk(deletedBefore));
+            if (count == null || count == 0) {
+                break;
+            }
+            purged += count;
+            purgedCounter.increment(count);
+            if (count < chunkSize || !pause()) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            logger.info("Purged {} soft-deleted customers in {} ms", purged, (System.nanoTime() - start) / 1_000_000);
+        }
+        return purged;
+    }
+
+    private int purgeChunk(LocalDateTime deletedBefore) {
+        List<Long> customerIds = customerRepository.findSoftDeletedCustomerIds(deletedBefore, chunkSize);
+        if (customerIds.isEmpty()) {
+            return 0;
+        }
+        otpRepository.deleteAllByCustomerIdIn(customerIds);
+        addressRepository.deleteAllByCustomerIdIn(customerIds);
+        return customerRepository.purgeSoftDeletedByCustomerIdIn(customerIds);
+    }
+
+    /**
+     * @return false when interrupted, so the run stops
+     */
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return true when no window is configured or the time is inside it (windows may wrap midnight)
+     */
+    boolean insideWindow(LocalTime time) {
+        if (windowStart.isBlank() || windowEnd.isBlank()) {
+            return true;
+        }
+        LocalTime from = LocalTime.parse(windowStart);
+        LocalTime to = LocalTime.parse(windowEnd);
+        if (from.isBefore(to)) {
+            return !time.isBefore(from) && time.isBefore(to);
+        }
+        return !time.isBefore(from) || time.isBefore(to);
+    }
+}
@@ -1,52 +1,113 @@
 package com.customer.management.service.service.impl;
 
+import com.customer.management.service.cache.CustomerCache;
+import com.customer.management.service.cache.CustomerLookupFilter;
+import com.customer.management.service.cache.MobileNumberIndex;
 import com.customer.management.service.entity.AddressModel;
 import com.customer.management.service.entity.CustomerModel;
-import com.customer.management.service.entity.OtpModel;
+import com.customer.management.service.enums.CustomerChangeType;
 import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.event.CustomerChangedEvent;
 import com.customer.management.service.exceptions.CustomerAlreadyExistsException;
 import com.customer.management.service.exceptions.CustomerNotFoundException;
+import com.customer.management.service.exceptions.InvalidOtpException;
+import com.customer.management.service.exceptions.PreconditionFailedException;
 import com.customer.management.service.mapper.CustomerMapper;
+import com.customer.management.service.otp.OtpStore;
+import com.customer.management.service.password.PasswordHashingService;
 import com.customer.management.service.repository.CustomerAddressRepository;
+import com.customer.management.service.repository.CustomerContactView;
+import com.customer.management.service.repository.CustomerCursorView;
 import com.customer.management.service.repository.CustomerOTPRepository;
 import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.repository.CustomerVersionView;
 import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.CustomerCursorResponse;
 import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.service.CustomerArchiveService;
 import com.customer.management.service.service.CustomerService;
+import com.customer.management.service.util.CustomerCursorUtil;
+import com.customer.management.service.util.CustomerETagUtil;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
+import static com.customer.management.service.constant.CustomerConstant.EMAIL_EXISTS;
+import static com.customer.management.service.constant.CustomerConstant.MOBILE_NUMBER_EXISTS;
 import static com.customer.management.service.mapper.CustomerMapper.*;
+import static com.customer.management.service.util.OtpUtil.generateOtp;
 
 /**
  * Implementation of {@link CustomerService}.
  * Handles all business logic related to customers:
- * - Creating customers and generating OTPs
+ * - Creating customers and generating OTPs (kept by the {@link OtpStore}), activating them by OTP
  * - Retrieving customers by various identifiers (mobile, email, fullName)
  * - Updating customer details (mobile, email, password)
- * - Deleting customers (soft-delete or physical delete)
+ * - Soft deleting customers (physically removed later by {@link CustomerPurgeJob})
+ * Lookups by mobile, email and full name are served from {@link CustomerCache};
+ * lookups by mobile and email that miss the customers table fall back to {@link CustomerArchiveService},
+ * and their latency is published per source as customer.lookup.
+ * every create, update and delete publishes a {@link CustomerChangedEvent} so the cache
+ * (and other listeners) can drop all keys of the changed customer.
+ * Updates are single UPDATE statements that also set updatedDate and increment the version, so the
+ * customer is never loaded just to change one column; the If-Match tag of the client is part of the
+ * WHERE clause and a stale one fails with {@link PreconditionFailedException}. Only endpoints that
+ * return the updated customer read it back afterwards; mobile and email updates lock the row and
+ * read the values they replace first, and a value taken by another customer fails with
+ * {@link CustomerAlreadyExistsException}.
+ * The latency of every public method is published as customer.service (tags class, method, exception).
  * Annotated with {@link Transactional} to ensure that all database operations
  * within a method execute as a single transaction.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "customer.service", description = "Latency of CustomerServiceImpl methods")
 public class CustomerServiceImpl implements CustomerService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerServiceImpl.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final String MOBILE_NUMBER = "mobileNumber";
+    private static final String EMAIL_ADDRESS = "emailAddress";
     private final CustomerRepository customerRepository;
     private final CustomerAddressRepository addressRepository;
     private final CustomerOTPRepository otpRepository;
+    private final CustomerConflictResolver conflictResolver;
+    private final CustomerCache customerCache;
+    private final CustomerLookupFilter lookupFilter;
+    private final MobileNumberIndex mobileNumberIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CustomerArchiveService archiveService;
+    private final OtpStore otpStore;
+    private final MeterRegistry meterRegistry;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Creates a new customer, saves related addresses, and generates an OTP.
+     * The customer and its addresses are persisted as one aggregate; the OTP is kept by the {@link OtpStore}.
+     * Duplicates are detected by the unique constraints of the customers table; the insert runs in its
+     * own transaction so the conflict is explained only after that transaction released its connection.
      *
      * @param request Customer details from API request
      * @return {@link CustomerResponse} containing saved customer details,
@@ -54,35 +115,41 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws CustomerAlreadyExistsException if mobile number, email, or full name already exist
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CustomerResponse createCustomer(CustomerRequest request) {
         logger.info("Create request received for mobile: {}", request.getMobileNumber());
 
-        if (customerRepository.existsByMobileNumber(request.getMobileNumber())) {
-            throw new CustomerAlreadyExistsException("Mobile number already exists");
-        }
-        if (customerRepository.existsByEmailAddress(request.getEmailAddress())) {
-            throw new CustomerAlreadyExistsException("Email already exists");
-        }
-        if (customerRepository.existsByFullName(request.getFullName())) {
-            throw new CustomerAlreadyExistsException("Full name already exists");
-        }
-
-        CustomerModel model = toCustomerModel(request);
-        CustomerModel savedModel = customerRepository.save(model);
+        CustomerModel model = toCustomerModel(request, passwordHashingService.hashGeneratedPassword());
         logger.info("addresses {} ", request.getAddresses());
         List<AddressModel> addressModels = new ArrayList<>();
         request.getAddresses()
-                .forEach(addressRequest -> addressModels.add(
-                        addressRepository.saveAndFlush(requestToAddressMapper(savedModel, addressRequest))));
-
-        OtpModel optModel = otpRepository.saveAndFlush(requestToOtpMapper(savedModel));
+                .forEach(addressRequest -> addressModels.add(requestToAddressMapper(model, addressRequest)));
+        model.setAddress(addressModels);
+        String otp = generateOtp();
 
-        logger.info("Customer created (id={} mobile={})", savedModel.getCustomerId(), savedModel.getMobileNumber());
-        return toCustomerResponse(savedModel, addressModels, optModel);
+        // Addresses are cascaded from the customer (CascadeType.ALL) and ids are
+        // allocated up front, so the whole aggregate is written by one flush as
+        // batched inserts instead of one flush per row. The OTP goes to the OtpStore.
+        // Uniqueness is enforced by the unique constraints, not by pre-insert queries.
+        try {
+            return transactionTemplate.execute(status -> {
+                CustomerModel savedModel = customerRepository.saveAndFlush(model);
+                logger.info("Customer created (id={} mobile={})", savedModel.getCustomerId(), savedModel.getMobileNumber());
+                publishChange(savedModel, CustomerChangeType.CREATED, null, null, savedModel.getVersion());
+                otpStore.save(savedModel.getCustomerId(), otp);
+                return toCustomerResponse(savedModel, savedModel.getAddress(), otp);
+            });
+        } catch (DataIntegrityViolationException exception) {
+            // the insert's transaction is rolled back and its connection is back in the pool
+            throw conflictResolver.resolve(request);
+        }
     }
 
     /**
      * Retrieves all customers with pagination and sorting.
+     * Loads the page in two phases to avoid one address query per customer:
+     * first the page of customer ids (plus the count), then all customers of
+     * the page with their addresses and OTP in a single fetch-join query.
      *
      * @param page   Page number (0-based index)
      * @param size   Number of records per page
@@ -93,36 +160,138 @@ public class CustomerServiceImpl implements CustomerService {
     public Page<CustomerResponse> getCustomers(int page, int size, String sortBy) {
         logger.info("Fetching customers page={} size={} sortBy={}", page, size, sortBy);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy).descending());
-        Page<CustomerModel> pageData = customerRepository.findAll(pageable);
-        return pageData.map(CustomerMapper::toCustomerResponse);
+        Page<Long> idPage = customerRepository.findCustomerIds(pageable);
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, idPage.getTotalElements());
+        }
+        Map<Long, CustomerModel> customersById = new HashMap<>();
+        customerRepository.findAllWithAddressesByCustomerIdIn(idPage.getContent())
+                .forEach(customer -> customersById.put(customer.getCustomerId(), customer));
+        return idPage.map(customerId -> CustomerMapper.toCustomerResponse(customersById.get(customerId)));
+    }
+
+    /**
+     * Retrieves customers with keyset pagination on (createdDate DESC, customerId DESC).
+     * Seeks from the cursor with an indexed range predicate, so deep pages cost the same
+     * as the first one, and never runs a COUNT query. One extra row is read to know
+     * whether a next page exists.
+     *
+     * @param cursor continuation token of the previous page, null or blank for the first page
+     * @param size   number of records per page (1 - 1000)
+     * @return {@link CustomerCursorResponse} with the page and the next cursor
+     * @throws IllegalArgumentException if size is out of range or the cursor is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerCursorResponse getCustomersByCursor(String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        logger.info("Fetching customers by cursor size={}", size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<CustomerCursorView> keys;
+        if (cursor == null || cursor.isBlank()) {
+            keys = customerRepository.findFirstCursorPage(limit);
+        } else {
+            CustomerCursorUtil.Position position = CustomerCursorUtil.decode(cursor);
+            keys = customerRepository.findCursorPageAfter(position.createdDate(), position.customerId(), limit);
+        }
+
+        boolean hasNext = keys.size() > size;
+        List<CustomerCursorView> pageKeys = hasNext ? keys.subList(0, size) : keys;
+        List<CustomerResponse> content = new ArrayList<>(pageKeys.size());
+        if (!pageKeys.isEmpty()) {
+            Map<Long, CustomerModel> customersById = new HashMap<>();
+            customerRepository.findAllWithAddressesByCustomerIdIn(
+                            pageKeys.stream().map(CustomerCursorView::getCustomerId).toList())
+                    .forEach(customer -> customersById.put(customer.getCustomerId(), customer));
+            pageKeys.forEach(key -> content.add(CustomerMapper.toCustomerResponse(customersById.get(key.getCustomerId()))));
+        }
+
+        CustomerCursorView last = hasNext ? pageKeys.get(pageKeys.size() - 1) : null;
+        return CustomerCursorResponse.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(last == null ? null : CustomerCursorUtil.encode(last.getCreatedDate(), last.getCustomerId()))
+                .build();
     }
 
     /**
      * Retrieves a customer by their mobile number.
+     * Served from the cache when possible; runs without a transaction (SUPPORTS) so
+     * a cache hit never borrows a database connection. Numbers the {@link MobileNumberIndex}
+     * knows are fetched by primary key, others by mobile number.
+     * A customer missing from the customers table is looked up in the archive, unless the
+     * {@link CustomerLookupFilter} knows the number to be absent. An authoritative filter also
+     * skips the customers table.
      *
      * @param mobileNumber Unique mobile number of the customer
      * @return {@link CustomerResponse} containing customer details
      * @throws CustomerNotFoundException if no customer is found with the given mobile number
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CustomerResponse getCustomerByMobileNumber(String mobileNumber) {
-        CustomerModel model = customerRepository.findCustomerByMobileNumber(mobileNumber)
-                .orElseThrow(()-> new CustomerNotFoundException("Customer not found with Mobile Number: "+ mobileNumber));
-        return CustomerMapper.toCustomerResponse(model);
+        long start = System.nanoTime();
+        Optional<CustomerResponse> cached = customerCache.getByMobileNumber(mobileNumber);
+        if (cached.isPresent()) {
+            return recordLookup(MOBILE_NUMBER, "cache", start, cached.get());
+        }
+        if (lookupFilter.excludesMobileNumber(mobileNumber)) {
+            recordLookup(MOBILE_NUMBER, "miss", start, null);
+            throw new CustomerNotFoundException("Customer not found with Mobile Number: "+ mobileNumber);
+        }
+        Optional<CustomerModel> model = findCustomerByMobileNumber(mobileNumber);
+        if (model.isPresent()) {
+            return recordLookup(MOBILE_NUMBER, "hot", start, cache(CustomerMapper.toCustomerResponse(model.get())));
+        }
+        if (lookupFilter.mightContainMobileNumber(mobileNumber)) {
+            Optional<CustomerResponse> archived = archiveService.findArchivedByMobileNumber(mobileNumber);
+            if (archived.isPresent()) {
+                return recordLookup(MOBILE_NUMBER, "archive", start, archived.get());
+            }
+            lookupFilter.recordMobileNumberFalsePositive();
+        }
+        recordLookup(MOBILE_NUMBER, "miss", start, null);
+        throw new CustomerNotFoundException("Customer not found with Mobile Number: "+ mobileNumber);
     }
 
     /**
      * Retrieves a customer by their email address.
+     * A customer missing from the customers table is looked up in the archive, unless the
+     * {@link CustomerLookupFilter} knows the address to be absent. An authoritative filter also
+     * skips the customers table.
      *
      * @param emailAddress Unique email address of the customer
      * @return {@link CustomerResponse} containing customer details
      * @throws CustomerNotFoundException if no customer is found with the given email address
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CustomerResponse getCustomerByEmailAddress(String emailAddress) {
-        CustomerModel model = customerRepository.findCustomerByEmailAddress(emailAddress)
-                .orElseThrow(()-> new CustomerNotFoundException("Customer not found with Email Address: "+ emailAddress));
-        return CustomerMapper.toCustomerResponse(model);
+        long start = System.nanoTime();
+        Optional<CustomerResponse> cached = customerCache.getByEmailAddress(emailAddress);
+        if (cached.isPresent()) {
+            return recordLookup(EMAIL_ADDRESS, "cache", start, cached.get());
+        }
+        if (lookupFilter.excludesEmailAddress(emailAddress)) {
+            recordLookup(EMAIL_ADDRESS, "miss", start, null);
+            throw new CustomerNotFoundException("Customer not found with Email Address: "+ emailAddress);
+        }
+        Optional<CustomerModel> model = customerRepository.findCustomerByEmailAddress(emailAddress);
+        if (model.isPresent()) {
+            return recordLookup(EMAIL_ADDRESS, "hot", start, cache(CustomerMapper.toCustomerResponse(model.get())));
+        }
+        if (lookupFilter.mightContainEmailAddress(emailAddress)) {
+            Optional<CustomerResponse> archived = archiveService.findArchivedByEmailAddress(emailAddress);
+            if (archived.isPresent()) {
+                return recordLookup(EMAIL_ADDRESS, "archive", start, archived.get());
+            }
+            lookupFilter.recordEmailAddressFalsePositive();
+        }
+        recordLookup(EMAIL_ADDRESS, "miss", start, null);
+        throw new CustomerNotFoundException("Customer not found with Email Address: "+ emailAddress);
     }
 
     /**
@@ -133,48 +302,107 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws CustomerNotFoundException if no customer is found with the given full name
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CustomerResponse getCustomerByFullName(String fullName) {
-        CustomerModel model = customerRepository.findCustomerByFullName(fullName)
-                .orElseThrow(()-> new CustomerNotFoundException("Customer not found with fullName: "+ fullName));
-        return CustomerMapper.toCustomerResponse(model);
+        return customerCache.getByFullName(fullName).orElseGet(() -> {
+            CustomerModel model = customerRepository.findCustomerByFullName(fullName)
+                    .orElseThrow(()-> new CustomerNotFoundException("Customer not found with fullName: "+ fullName));
+            return cache(CustomerMapper.toCustomerResponse(model));
+        });
+    }
+
+    /**
+     * Returns the ETag of a customer by mobile number, from the cache or a (customerId, version) query.
+     *
+     * @param mobileNumber Unique mobile number of the customer
+     * @return the ETag, empty if no such customer exists
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<String> getCustomerETagByMobileNumber(String mobileNumber) {
+        return customerCache.getByMobileNumber(mobileNumber).map(CustomerETagUtil::etag)
+                .or(() -> customerRepository.findVersionByMobileNumber(mobileNumber).map(CustomerServiceImpl::etag));
+    }
+
+    /**
+     * Returns the ETag of a customer by email address, from the cache or a (customerId, version) query.
+     *
+     * @param emailAddress Unique email address of the customer
+     * @return the ETag, empty if no such customer exists
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<String> getCustomerETagByEmailAddress(String emailAddress) {
+        return customerCache.getByEmailAddress(emailAddress).map(CustomerETagUtil::etag)
+                .or(() -> customerRepository.findVersionByEmailAddress(emailAddress).map(CustomerServiceImpl::etag));
+    }
+
+    /**
+     * Returns the ETag of a customer by full name, from the cache or a (customerId, version) query.
+     *
+     * @param fullName Full name of the customer
+     * @return the ETag, empty if no such customer exists
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<String> getCustomerETagByFullName(String fullName) {
+        return customerCache.getByFullName(fullName).map(CustomerETagUtil::etag)
+                .or(() -> customerRepository.findVersionByFullName(fullName).map(CustomerServiceImpl::etag));
     }
 
     /**
      * Updates the customer's mobile number.
+     * The row is locked and its mobile number read first, as in {@link #updateCustomerMobileNumberByCustomerId}.
      *
      * @param customerId      Unique ID of the customer
      * @param newMobileNumber New mobile number to update
+     * @param ifMatch         Expected version from the If-Match header, null for an unconditional update
      * @return {@link CustomerResponse} with updated mobile number
      * @throws CustomerNotFoundException if no customer is found with the given ID
+     * @throws PreconditionFailedException if the customer's version does not match ifMatch
+     * @throws CustomerAlreadyExistsException if another customer already uses the new mobile number
      */
     @Override
-    public CustomerResponse updateCustomerByMobileNumber(Long customerId, String newMobileNumber) {
-        CustomerModel model = customerRepository.findByCustomerId(customerId)
-                .orElseThrow(()-> new CustomerNotFoundException("Customer not found with customerId: "+ customerId));
-        model.setMobileNumber(newMobileNumber);
-        CustomerModel updatedCustomerMobileNumber = customerRepository.saveAndFlush(model);
+    public CustomerResponse updateCustomerByMobileNumber(Long customerId, String newMobileNumber, CustomerETagUtil.Tag ifMatch) {
+        CustomerContactView current = lockContact(customerId, ifMatch);
+        int updated = updateUniqueKey(() -> customerRepository.updateMobileNumberByCustomerId(customerId, newMobileNumber,
+                LocalDateTime.now(), current.getVersion()), MOBILE_NUMBER_EXISTS);
+        checkUpdated(updated, ifMatch, () -> customerRepository.findVersionByCustomerId(customerId),
+                "Customer not found with customerId: "+ customerId);
+        CustomerModel updatedCustomerMobileNumber = reload(customerId);
+        publishChange(updatedCustomerMobileNumber, CustomerChangeType.UPDATED,
+                replaced(current.getMobileNumber(), newMobileNumber), null, updatedCustomerMobileNumber.getVersion());
         return CustomerMapper.toCustomerResponse(updatedCustomerMobileNumber);
     }
 
     /**
      * Updates the customer's email address.
+     * The row is locked and its email address read first, as in {@link #updateCustomerMobileNumberByCustomerId}.
      *
      * @param customerId      Unique ID of the customer
      * @param newEmailAddress New email address to update
+     * @param ifMatch         Expected version from the If-Match header, null for an unconditional update
      * @return {@link CustomerResponse} with updated email address
      * @throws CustomerNotFoundException if no customer is found with the given ID
+     * @throws PreconditionFailedException if the customer's version does not match ifMatch
+     * @throws CustomerAlreadyExistsException if another customer already uses the new email address
      */
     @Override
-    public CustomerResponse updateCustomerByEmailAddress(Long customerId, String newEmailAddress) {
-        CustomerModel model = customerRepository.findByCustomerId(customerId)
-                .orElseThrow(()-> new CustomerNotFoundException("Customer not found with customerId: "+ customerId));
-        model.setEmailAddress(newEmailAddress);
-        CustomerModel updatedCustomerEmail = customerRepository.saveAndFlush(model);
+    public CustomerResponse updateCustomerByEmailAddress(Long customerId, String newEmailAddress, CustomerETagUtil.Tag ifMatch) {
+        CustomerContactView current = lockContact(customerId, ifMatch);
+        int updated = updateUniqueKey(() -> customerRepository.updateEmailAddressByCustomerId(customerId, newEmailAddress,
+                LocalDateTime.now(), current.getVersion()), EMAIL_EXISTS);
+        checkUpdated(updated, ifMatch, () -> customerRepository.findVersionByCustomerId(customerId),
+                "Customer not found with customerId: "+ customerId);
+        CustomerModel updatedCustomerEmail = reload(customerId);
+        publishChange(updatedCustomerEmail, CustomerChangeType.UPDATED, null,
+                replaced(current.getEmailAddress(), newEmailAddress), updatedCustomerEmail.getVersion());
         return CustomerMapper.toCustomerResponse(updatedCustomerEmail);
     }
 
     /**
-     * Deletes a customer using their mobile number.
+     * Soft deletes a customer using their mobile number: one UPDATE sets INACTIVE and deleted_date,
+     * addresses and OTP stay until the customer is purged by {@link CustomerPurgeJob}.
      *
      * @param mobileNumber Unique mobile number of the customer
      * @return {@link CustomerResponse} of deleted customer
@@ -182,14 +410,13 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public CustomerResponse deleteCustomerByMobileNumber(String mobileNumber) {
-        CustomerModel model = customerRepository.findCustomerByMobileNumber(mobileNumber)
+        CustomerModel model = findCustomerByMobileNumber(mobileNumber)
                 .orElseThrow(()-> new CustomerNotFoundException("Customer not Found with Mobile Number: "+ mobileNumber));
-        customerRepository.delete(model);
-        return CustomerMapper.toCustomerResponse(model);
+        return softDelete(model, "Customer not Found with Mobile Number: "+ mobileNumber);
     }
 
     /**
-     * Deletes a customer using their email address.
+     * Soft deletes a customer using their email address.
      *
      * @param emailAddress Unique email address of the customer
      * @return {@link CustomerResponse} of deleted customer
@@ -199,112 +426,359 @@ public class CustomerServiceImpl implements CustomerService {
     public CustomerResponse deleteCustomerByEmailAddress(String emailAddress) {
         CustomerModel model = customerRepository.findCustomerByEmailAddress(emailAddress)
                 .orElseThrow(()-> new CustomerNotFoundException("Customer not Found with Email Address: "+ emailAddress));
-        customerRepository.delete(model);
-        return CustomerMapper.toCustomerResponse(model);
+        return softDelete(model, "Customer not Found with Email Address: "+ emailAddress);
     }
 
     /**
      * Updates a customer's password using their mobile number.
+     * The password is hashed on the hashing pool before the transaction starts, so no connection
+     * is held while the KDF runs.
      *
      * @param mobileNumber Customer's mobile number
-     * @param newPassword  New password (will be encrypted before saving)
+     * @param newPassword  New password (hashed by {@link PasswordHashingService} before saving)
+     * @param ifMatch      Expected version from the If-Match header, null for an unconditional update
      * @return {@link CustomerResponse} with updated password (not exposed in response)
      * @throws CustomerNotFoundException if no customer is found with the given mobile number
+     * @throws PreconditionFailedException if the customer's version does not match ifMatch
      */
     @Override
-    public CustomerResponse updatePasswordByMobileNumber(String mobileNumber, String newPassword) {
-        CustomerModel model = customerRepository.findCustomerByMobileNumber(mobileNumber)
-                .orElseThrow(()-> new CustomerNotFoundException("Customer not Found with Mobile Number: "+ mobileNumber));
-        model.setPassword(newPassword);
-        CustomerModel updatedCustomer = customerRepository.saveAndFlush(model);
-        return CustomerMapper.toCustomerResponse(updatedCustomer);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CustomerResponse updatePasswordByMobileNumber(String mobileNumber, String newPassword, CustomerETagUtil.Tag ifMatch) {
+        String passwordHash = passwordHashingService.hash(newPassword);
+        return transactionTemplate.execute(status -> {
+            int updated = customerRepository.updatePasswordByMobileNumber(mobileNumber, passwordHash, LocalDateTime.now(),
+                    ifMatch == null ? null : ifMatch.customerId(), ifMatch == null ? null : ifMatch.version());
+            checkUpdated(updated, ifMatch, () -> customerRepository.findVersionByMobileNumber(mobileNumber),
+                    "Customer not Found with Mobile Number: "+ mobileNumber);
+            CustomerModel updatedCustomer = findCustomerByMobileNumber(mobileNumber)
+                    .orElseThrow(()-> new CustomerNotFoundException("Customer not Found with Mobile Number: "+ mobileNumber));
+            publishChange(updatedCustomer, CustomerChangeType.UPDATED, null, null, updatedCustomer.getVersion());
+            return CustomerMapper.toCustomerResponse(updatedCustomer);
+        });
     }
 
     /**
      * Updates a customer's password using their email address.
+     * The password is hashed before the transaction starts, as in {@link #updatePasswordByMobileNumber}.
      *
      * @param emailAddress Customer's email address
-     * @param newPassword  New password (will be encrypted before saving)
+     * @param newPassword  New password (hashed by {@link PasswordHashingService} before saving)
+     * @param ifMatch      Expected version from the If-Match header, null for an unconditional update
      * @return {@link CustomerResponse} with updated password (not exposed in response)
      * @throws CustomerNotFoundException if no customer is found with the given email address
+     * @throws PreconditionFailedException if the customer's version does not match ifMatch
      */
     @Override
-    public CustomerResponse updatePasswordByEmailAddress(String emailAddress, String newPassword) {
-        CustomerModel model = customerRepository.findCustomerByEmailAddress(emailAddress)
-                .orElseThrow(()-> new CustomerNotFoundException("Customer not Found with Email Address: "+ emailAddress));
-        model.setPassword(newPassword);
-        CustomerModel updatedCustomer = customerRepository.saveAndFlush(model);
-        return CustomerMapper.toCustomerResponse(updatedCustomer);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CustomerResponse updatePasswordByEmailAddress(String emailAddress, String newPassword, CustomerETagUtil.Tag ifMatch) {
+        String passwordHash = passwordHashingService.hash(newPassword);
+        return transactionTemplate.execute(status -> {
+            int updated = customerRepository.updatePasswordByEmailAddress(emailAddress, passwordHash, LocalDateTime.now(),
+                    ifMatch == null ? null : ifMatch.customerId(), ifMatch == null ? null : ifMatch.version());
+            checkUpdated(updated, ifMatch, () -> customerRepository.findVersionByEmailAddress(emailAddress),
+                    "Customer not Found with Email Address: "+ emailAddress);
+            CustomerModel updatedCustomer = customerRepository.findCustomerByEmailAddress(emailAddress)
+                    .orElseThrow(()-> new CustomerNotFoundException("Customer not Found with Email Address: "+ emailAddress));
+            publishChange(updatedCustomer, CustomerChangeType.UPDATED, null, null, updatedCustomer.getVersion());
+            return CustomerMapper.toCustomerResponse(updatedCustomer);
+        });
     }
 
     /**
      * Updates the mobile number of a customer by their customer ID.
+     * The row is locked and its mobile number read first, so caches and indexes are told
+     * which number was replaced even when they never saw it.
      *
      * @param customerId      Unique identifier of the customer
      * @param newMobileNumber New mobile number to update
+     * @param ifMatch         Expected version from the If-Match header, null for an unconditional update
      * @return Success message
-     * @throws RuntimeException if the customer with the given ID does not exist
+     * @throws CustomerNotFoundException if the customer with the given ID does not exist
+     * @throws PreconditionFailedException if the customer's version does not match ifMatch
+     * @throws CustomerAlreadyExistsException if another customer already uses the new mobile number
      */
     @Override
     @Transactional
-    public String updateCustomerMobileNumberByCustomerId(Long customerId, String newMobileNumber) {
-        CustomerModel customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found with customerId: " + customerId));
-        customer.setMobileNumber(newMobileNumber);
-        customerRepository.save(customer);
+    public String updateCustomerMobileNumberByCustomerId(Long customerId, String newMobileNumber, CustomerETagUtil.Tag ifMatch) {
+        CustomerContactView current = lockContact(customerId, ifMatch);
+        int updated = updateUniqueKey(() -> customerRepository.updateMobileNumberByCustomerId(customerId, newMobileNumber,
+                LocalDateTime.now(), current.getVersion()), MOBILE_NUMBER_EXISTS);
+        checkUpdated(updated, ifMatch, () -> customerRepository.findVersionByCustomerId(customerId),
+                "Customer not found with customerId: " + customerId);
+        publishChange(customerId, CustomerChangeType.UPDATED, newMobileNumber, null,
+                replaced(current.getMobileNumber(), newMobileNumber), null, current.getVersion() + 1);
         return "Mobile number updated successfully";
     }
 
     /**
      * Updates the email address of a customer by their customer ID.
+     * The row is locked and its email address read first, as in {@link #updateCustomerMobileNumberByCustomerId}.
      *
      * @param customerId      Unique identifier of the customer
      * @param newEmailAddress New email address to update
+     * @param ifMatch         Expected version from the If-Match header, null for an unconditional update
      * @return Success message
-     * @throws RuntimeException if the customer with the given ID does not exist
+     * @throws CustomerNotFoundException if the customer with the given ID does not exist
+     * @throws PreconditionFailedException if the customer's version does not match ifMatch
+     * @throws CustomerAlreadyExistsException if another customer already uses the new email address
      */
     @Override
     @Transactional
-    public String updateCustomerEmailAddressByCustomerId(Long customerId, String newEmailAddress) {
-        CustomerModel customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found with customerId: " + customerId));
-        customer.setEmailAddress(newEmailAddress);
-        customerRepository.save(customer);
+    public String updateCustomerEmailAddressByCustomerId(Long customerId, String newEmailAddress, CustomerETagUtil.Tag ifMatch) {
+        CustomerContactView current = lockContact(customerId, ifMatch);
+        int updated = updateUniqueKey(() -> customerRepository.updateEmailAddressByCustomerId(customerId, newEmailAddress,
+                LocalDateTime.now(), current.getVersion()), EMAIL_EXISTS);
+        checkUpdated(updated, ifMatch, () -> customerRepository.findVersionByCustomerId(customerId),
+                "Customer not found with customerId: " + customerId);
+        publishChange(customerId, CustomerChangeType.UPDATED, null, newEmailAddress, null,
+                replaced(current.getEmailAddress(), newEmailAddress), current.getVersion() + 1);
         return "Email address updated successfully";
     }
 
     /**
      * Updates the password of a customer by their customer ID.
+     * The password is hashed before the transaction starts, as in {@link #updatePasswordByMobileNumber}.
      *
      * @param customerId Unique identifier of the customer
-     * @param newPassword New password to update
+     * @param newPassword New password (hashed by {@link PasswordHashingService} before saving)
+     * @param ifMatch     Expected version from the If-Match header, null for an unconditional update
      * @return Success message
-     * @throws RuntimeException if the customer with the given ID does not exist
+     * @throws CustomerNotFoundException if the customer with the given ID does not exist
+     * @throws PreconditionFailedException if the customer's version does not match ifMatch
      */
     @Override
-    @Transactional
-    public String updatePasswordByCustomerId(Long customerId, String newPassword) {
-        CustomerModel customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found with customerId: " + customerId));
-        customer.setPassword(newPassword);
-        customerRepository.save(customer);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String updatePasswordByCustomerId(Long customerId, String newPassword, CustomerETagUtil.Tag ifMatch) {
+        Long expectedVersion = expectedVersion(customerId, ifMatch);
+        String passwordHash = passwordHashingService.hash(newPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            int updated = customerRepository.updatePasswordByCustomerId(customerId, passwordHash, LocalDateTime.now(),
+                    expectedVersion);
+            checkUpdated(updated, ifMatch, () -> customerRepository.findVersionByCustomerId(customerId),
+                    "Customer not found with customerId: " + customerId);
+            publishChange(customerId, CustomerChangeType.UPDATED, null, null, null, null, nextVersion(ifMatch));
+        });
         return "Password updated successfully";
     }
 
     /**
-     * Deletes a customer by marking them as INACTIVE using their customer ID.
+     * Soft deletes a customer by marking them as INACTIVE using their customer ID,
+     * with a single UPDATE and without loading the customer.
      *
      * @param customerId Unique identifier of the customer
      * @return Success message
-     * @throws RuntimeException if the customer with the given ID does not exist
+     * @throws CustomerNotFoundException if the customer with the given ID does not exist
      */
     @Override
     @Transactional
     public String deleteCustomerByCustomerId(Long customerId) {
-        CustomerModel customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found with customerId: " + customerId));
-        customerRepository.save(customer);
+        Optional<CustomerResponse> cached = customerCache.getByCustomerId(customerId);
+        if (customerRepository.softDeleteByCustomerId(customerId, CustomerStatus.INACTIVE, LocalDateTime.now()) == 0) {
+            throw new CustomerNotFoundException("Customer not found with customerId: " + customerId);
+        }
+        publishChange(customerId, CustomerChangeType.DELETED, cached.map(CustomerResponse::getMobileNumber).orElse(null),
+                cached.map(CustomerResponse::getEmailAddress).orElse(null), null, null, null);
         return "Customer deleted successfully";
     }
 
+    /**
+     * Activates a customer with the OTP issued when it was created.
+     * The OTP is checked by the {@link OtpStore}; wrong guesses are counted and not rolled back.
+     * An already active customer is returned unchanged.
+     *
+     * @param mobileNumber Unique mobile number of the customer
+     * @param otp          OTP entered by the customer
+     * @return {@link CustomerResponse} of the activated customer
+     * @throws CustomerNotFoundException if no customer is found with the given mobile number
+     * @throws InvalidOtpException       if the OTP is wrong, expired, already used or has no attempts left
+     */
+    @Override
+    @Transactional(noRollbackFor = InvalidOtpException.class)
+    public CustomerResponse activateByOtp(String mobileNumber, String otp) {
+        Long customerId = customerRepository.findVersionByMobileNumber(mobileNumber)
+                .map(CustomerVersionView::getCustomerId)
+                .orElseThrow(()-> new CustomerNotFoundException("Customer not found with Mobile Number: "+ mobileNumber));
+        otpStore.verify(customerId, otp);
+        if (customerRepository.updateStatusByCustomerIdIn(List.of(customerId), CustomerStatus.ACTIVE, null,
+                LocalDateTime.now()) > 0) {
+            publishChange(customerId, CustomerChangeType.UPDATED, mobileNumber, null, null, null, null);
+        }
+        logger.info("Customer {} activated by OTP", customerId);
+        return CustomerMapper.toCustomerResponse(reload(customerId));
+    }
+
+    /**
+     * Finds a customer by mobile number with a primary key fetch when the
+     * {@link MobileNumberIndex} knows the number, otherwise by the mobile number itself.
+     * An index entry is only a hint: the fetched customer must still have this number.
+     */
+    private Optional<CustomerModel> findCustomerByMobileNumber(String mobileNumber) {
+        long customerId = mobileNumberIndex.find(mobileNumber);
+        if (customerId != MobileNumberIndex.NOT_FOUND) {
+            Optional<CustomerModel> model = customerRepository.findWithAddressByCustomerId(customerId)
+                    .filter(customer -> mobileNumber.equals(customer.getMobileNumber()));
+            if (model.isPresent()) {
+                return model;
+            }
+        }
+        return customerRepository.findCustomerByMobileNumber(mobileNumber);
+    }
+
+    /**
+     * Returns the version an update by customerId must match, or null for an unconditional update.
+     */
+    private static Long expectedVersion(Long customerId, CustomerETagUtil.Tag ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        if (!ifMatch.customerId().equals(customerId)) {
+            throw new PreconditionFailedException("If-Match is an ETag of customer " + ifMatch.customerId()
+                    + ", not of customer " + customerId);
+        }
+        return ifMatch.version();
+    }
+
+    /**
+     * Locks the row of a customer for an update by customerId and checks If-Match against it.
+     * The update that follows in the same transaction overwrites exactly the values read here.
+     */
+    private CustomerContactView lockContact(Long customerId, CustomerETagUtil.Tag ifMatch) {
+        Long expectedVersion = expectedVersion(customerId, ifMatch);
+        CustomerContactView current = customerRepository.lockContactByCustomerId(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with customerId: " + customerId));
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw new PreconditionFailedException("Customer " + customerId + " was modified, current ETag is " + etag(current));
+        }
+        return current;
+    }
+
+    /**
+     * Runs a single-statement update of a unique column. A unique constraint violation means another
+     * customer, possibly soft-deleted, already uses the new value: reported like a duplicate create.
+     */
+    private static int updateUniqueKey(IntSupplier update, String existsMessage) {
+        try {
+            return update.getAsInt();
+        } catch (DataIntegrityViolationException exception) {
+            throw new CustomerAlreadyExistsException(existsMessage);
+        }
+    }
+
+    /**
+     * Previous value of a unique key for a {@link CustomerChangedEvent}, null when the update did not change it.
+     */
+    private static String replaced(String previous, String next) {
+        return Objects.equals(previous, next) ? null : previous;
+    }
+
+    /**
+     * Turns "no row updated" into the right error: only a conditional update needs a second
+     * (customerId, version) query to tell a stale If-Match from a missing customer.
+     */
+    private static void checkUpdated(int updated, CustomerETagUtil.Tag ifMatch,
+                                     Supplier<Optional<CustomerVersionView>> currentVersion, String notFoundMessage) {
+        if (updated > 0) {
+            return;
+        }
+        if (ifMatch != null) {
+            Optional<CustomerVersionView> current = currentVersion.get();
+            if (current.isPresent()) {
+                throw new PreconditionFailedException("Customer " + current.get().getCustomerId()
+                        + " was modified, current ETag is " + etag(current.get()));
+            }
+        }
+        throw new CustomerNotFoundException(notFoundMessage);
+    }
+
+    /**
+     * Soft deletes a loaded customer and returns it as it is after the delete.
+     */
+    private CustomerResponse softDelete(CustomerModel model, String notFoundMessage) {
+        CustomerResponse response = CustomerMapper.toCustomerResponse(model);
+        LocalDateTime deletedDate = LocalDateTime.now();
+        if (customerRepository.softDeleteByCustomerId(model.getCustomerId(), CustomerStatus.INACTIVE, deletedDate) == 0) {
+            throw new CustomerNotFoundException(notFoundMessage);
+        }
+        publishChange(model, CustomerChangeType.DELETED, null, null, model.getVersion() + 1);
+        response.setStatus(CustomerStatus.INACTIVE);
+        response.setUpdatedDate(deletedDate);
+        response.setVersion(model.getVersion() + 1);
+        return response;
+    }
+
+    /**
+     * Loads a customer with its addresses after a single-statement update.
+     */
+    private CustomerModel reload(Long customerId) {
+        return customerRepository.findWithAddressByCustomerId(customerId)
+                .orElseThrow(()-> new CustomerNotFoundException("Customer not found with customerId: "+ customerId));
+    }
+
+    /**
+     * Version after a conditional single-statement update, null when the update was unconditional.
+     */
+    private static Long nextVersion(CustomerETagUtil.Tag ifMatch) {
+        return ifMatch == null ? null : ifMatch.version() + 1;
+    }
+
+    private static String etag(CustomerVersionView version) {
+        return CustomerETagUtil.etag(version.getCustomerId(), version.getVersion());
+    }
+
+    /**
+     * Records the latency of a lookup in customer.lookup, tagged with the key it used and where
+     * it was answered: cache, hot (customers table), archive or miss.
+     */
+    private CustomerResponse recordLookup(String key, String source, long start, CustomerResponse customer) {
+        meterRegistry.timer("customer.lookup", "key", key, "source", source)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return customer;
+    }
+
+    /**
+     * Stores a looked up customer in the cache and returns it.
+     */
+    private CustomerResponse cache(CustomerResponse response) {
+        customerCache.put(response);
+        return response;
+    }
+
+    /**
+     * Publishes a {@link CustomerChangedEvent} for the given customer.
+     *
+     * @param model                customer after the change
+     * @param changeType           kind of change
+     * @param previousMobileNumber old mobile number when it changed, otherwise null
+     * @param previousEmailAddress old email address when it changed, otherwise null
+     */
+    private void publishChange(CustomerModel model, CustomerChangeType changeType,
+                               String previousMobileNumber, String previousEmailAddress, Long version) {
+        eventPublisher.publishEvent(CustomerChangedEvent.builder()
+                .customerId(model.getCustomerId())
+                .changeType(changeType)
+                .mobileNumber(model.getMobileNumber())
+                .emailAddress(model.getEmailAddress())
+                .fullName(model.getFullName())
+                .previousMobileNumber(previousMobileNumber)
+                .previousEmailAddress(previousEmailAddress)
+                .version(version)
+                .build());
+    }
+
+    /**
+     * Publishes a {@link CustomerChangedEvent} after a single-statement update that did not load
+     * the customer: only the changed key is known, listeners evict everything else by customerId.
+     */
+    private void publishChange(Long customerId, CustomerChangeType changeType, String mobileNumber, String emailAddress,
+                               String previousMobileNumber, String previousEmailAddress, Long version) {
+        eventPublisher.publishEvent(CustomerChangedEvent.builder()
+                .customerId(customerId)
+                .changeType(changeType)
+                .mobileNumber(mobileNumber)
+                .emailAddress(emailAddress)
+                .previousMobileNumber(previousMobileNumber)
+                .previousEmailAddress(previousEmailAddress)
+                .version(version)
+                .build());
+    }
 }
@@ -0,0 +1,87 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.enums.BulkJobState;
+import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.response.BulkStatusJobResponse;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk status change.
+ * Written by the job thread after every committed chunk, read by the progress endpoint.
+ */
+class CustomerStatusChangeJob {
+
+    private final String jobId;
+    private final CustomerStatus targetStatus;
+    private final long totalCount;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong updatedCount = new AtomicLong();
+    private final AtomicInteger chunkCount = new AtomicInteger();
+    private volatile BulkJobState state = BulkJobState.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    CustomerStatusChangeJob(String jobId, CustomerStatus targetStatus, long totalCount) {
+        this.jobId = jobId;
+        this.targetStatus = targetStatus;
+        this.totalCount = totalCount;
+    }
+
+    String getJobId() {
+        return jobId;
+    }
+
+    CustomerStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    /**
+     * Records a committed chunk.
+     *
+     * @param selected customers in the chunk
+     * @param updated  customers whose status changed
+     */
+    void chunkCommitted(int selected, int updated) {
+        processedCount.addAndGet(selected);
+        updatedCount.addAndGet(updated);
+        chunkCount.incrementAndGet();
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        state = BulkJobState.COMPLETED;
+    }
+
+    void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        state = BulkJobState.FAILED;
+    }
+
+    /**
+     * @return true when the job finished before the given time and may be forgotten
+     */
+    boolean finishedBefore(LocalDateTime time) {
+        LocalDateTime finished = finishedAt;
+        return finished != null && finished.isBefore(time);
+    }
+
+    BulkStatusJobResponse toResponse() {
+        return BulkStatusJobResponse.builder()
+                .jobId(jobId)
+                .state(state)
+                .targetStatus(targetStatus)
+                .totalCount(totalCount)
+                .processedCount(processedCount.get())
+                .updatedCount(updatedCount.get())
+                .chunkCount(chunkCount.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.request.CustomerRequest;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of writing one {@link CustomerRequest} as part of a batch.
+ * Either holds the inserted {@link CustomerModel} (with addresses attached) and its OTP
+ * or the conflict message explaining why the entry was skipped.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CustomerWriteResult {
+
+    private final CustomerRequest request;
+    private final CustomerModel model;
+    private final String otp;
+    private final String error;
+
+    public static CustomerWriteResult created(CustomerRequest request, CustomerModel model, String otp) {
+        return new CustomerWriteResult(request, model, otp, null);
+    }
+
+    public static CustomerWriteResult failed(CustomerRequest request, String error) {
+        return new CustomerWriteResult(request, null, null, error);
+    }
+
+    public boolean isSuccess() {
+        return model != null;
+    }
+}
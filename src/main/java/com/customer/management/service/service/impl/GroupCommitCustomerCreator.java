@@ -0,0 +1,228 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.exceptions.CustomerAlreadyExistsException;
+import com.customer.management.service.exceptions.CustomerCreationUnavailableException;
+import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.service.CustomerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.customer.management.service.mapper.CustomerMapper.toCustomerResponse;
+
+/**
+ * GroupCommitCustomerCreator batches concurrent single create requests into one transaction.
+ * Why we need this:
+ * - Every create used to run its own transaction, so under load MySQL pays one
+ *   commit (and log fsync) per customer.
+ * - Here callers enqueue their request and wait; writer threads collect requests for up to
+ *   customer.create.group-commit.window-millis or customer.create.group-commit.max-batch
+ *   entries and write them with {@link CustomerBatchWriter} in a single commit.
+ * Every caller still receives its own {@link CustomerResponse} or its own
+ * {@link CustomerAlreadyExistsException}. If a batch loses a race on a unique key,
+ * its entries are retried one by one through {@link CustomerService#createCustomer(CustomerRequest)}.
+ * A caller waits at most customer.create.group-commit.timeout-millis; a timeout, like a create that
+ * arrives during shutdown, fails with {@link CustomerCreationUnavailableException} (503). Enqueueing and
+ * shutdown exclude each other, so no request is left in the queue after the writers stopped.
+ * Opt-in with customer.create.group-commit.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.create.group-commit.enabled", havingValue = "true")
+public class GroupCommitCustomerCreator {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitCustomerCreator.class);
+    private final CustomerBatchWriter batchWriter;
+    private final CustomerService customerService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final long windowMillis;
+    private final int maxBatch;
+    private final int queueCapacity;
+    private final int writerThreads;
+    private final long timeoutMillis;
+    private final ReentrantReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private final List<Thread> writers = new ArrayList<>();
+    private BlockingQueue<PendingCreate> queue;
+    private volatile boolean running;
+
+    public GroupCommitCustomerCreator(CustomerBatchWriter batchWriter,
+                                      CustomerService customerService,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${customer.create.group-commit.window-millis:5}") long windowMillis,
+                                      @Value("${customer.create.group-commit.max-batch:64}") int maxBatch,
+                                      @Value("${customer.create.group-commit.queue-capacity:10000}") int queueCapacity,
+                                      @Value("${customer.create.group-commit.writer-threads:1}") int writerThreads,
+                                      @Value("${customer.create.group-commit.timeout-millis:10000}") long timeoutMillis) {
+        this.batchWriter = batchWriter;
+        this.customerService = customerService;
+        this.transactionTemplate = transactionTemplate;
+        this.windowMillis = windowMillis;
+        this.maxBatch = maxBatch;
+        this.queueCapacity = queueCapacity;
+        this.writerThreads = writerThreads;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        for (int i = 0; i < writerThreads; i++) {
+            Thread writer = new Thread(this::runWriter, "customer-group-commit-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+        logger.info("Group commit enabled (window={}ms, maxBatch={}, writers={})", windowMillis, maxBatch, writerThreads);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        List<PendingCreate> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.future.completeExceptionally(
+                new CustomerCreationUnavailableException("Service is shutting down, retry later")));
+    }
+
+    /**
+     * Creates a customer as part of the next group commit and waits for its outcome.
+     * Falls back to a regular create when the queue is full.
+     *
+     * @param request validated customer request
+     * @return CustomerResponse of the created customer
+     * @throws CustomerAlreadyExistsException       if mobile number, email, or full name already exist
+     * @throws CustomerCreationUnavailableException if the create did not finish in time or the service stopped
+     */
+    public CustomerResponse create(CustomerRequest request) {
+        PendingCreate pending = new PendingCreate(request);
+        if (!enqueue(pending)) {
+            return customerService.createCustomer(request);
+        }
+        try {
+            return pending.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            if (queue.remove(pending)) {
+                throw new CustomerCreationUnavailableException("Too many customer creations in progress, retry later");
+            }
+            // already taken by a writer: its commit may still succeed
+            throw new CustomerCreationUnavailableException(
+                    "Customer creation did not finish in time, look the customer up before retrying");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for customer creation", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Customer creation failed", exception.getCause());
+        }
+    }
+
+    /**
+     * @return false when the service stopped or the queue is full
+     */
+    private boolean enqueue(PendingCreate pending) {
+        lifecycle.readLock().lock();
+        try {
+            return running && queue.offer(pending);
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                PendingCreate first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingCreate> batch = new ArrayList<>(maxBatch);
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void commit(List<PendingCreate> batch) {
+        List<CustomerRequest> requests = new ArrayList<>(batch.size());
+        batch.forEach(pending -> requests.add(pending.request));
+        try {
+            List<CustomerWriteResult> results = transactionTemplate.execute(status -> batchWriter.write(requests));
+            for (int i = 0; i < batch.size(); i++) {
+                CustomerWriteResult result = results.get(i);
+                if (result.isSuccess()) {
+                    CustomerModel model = result.getModel();
+                    batch.get(i).future.complete(toCustomerResponse(model, model.getAddress(), result.getOtp()));
+                } else {
+                    batch.get(i).future.completeExceptionally(new CustomerAlreadyExistsException(result.getError()));
+                }
+            }
+            logger.debug("Group commit wrote {} create requests", batch.size());
+        } catch (DataIntegrityViolationException exception) {
+            logger.warn("Group commit of {} creates hit a unique constraint, retrying one by one", batch.size());
+            for (PendingCreate pending : batch) {
+                try {
+                    pending.future.complete(customerService.createCustomer(pending.request));
+                } catch (RuntimeException singleException) {
+                    pending.future.completeExceptionally(singleException);
+                }
+            }
+        } catch (RuntimeException exception) {
+            logger.error("Group commit of {} creates failed", batch.size(), exception);
+            batch.forEach(pending -> pending.future.completeExceptionally(exception));
+        }
+    }
+
+    private static final class PendingCreate {
+        private final CustomerRequest request;
+        private final CompletableFuture<CustomerResponse> future = new CompletableFuture<>();
+
+        private PendingCreate(CustomerRequest request) {
+            this.request = request;
+        }
+    }
+}
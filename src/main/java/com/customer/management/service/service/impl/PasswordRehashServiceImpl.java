@@ -0,0 +1,285 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.entity.PasswordRehashCheckpointModel;
+import com.customer.management.service.password.PasswordHashingService;
+import com.customer.management.service.repository.CustomerBatchRepository;
+import com.customer.management.service.repository.CustomerPasswordView;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.repository.PasswordRehashCheckpointRepository;
+import com.customer.management.service.response.PasswordRehashProgressResponse;
+import com.customer.management.service.service.PasswordRehashService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of {@link PasswordRehashService}.
+ * How a chunk of customer.password.rehash.chunk-size customers is converted:
+ * - The next legacy passwords after the checkpoint are read in customerId order (keyset pagination
+ *   over the primary key, soft-deleted customers included); only this chunk is held in memory.
+ * - The new hashes are computed in parallel on a dedicated {@link ForkJoinPool} of
+ *   customer.password.rehash.parallelism threads, outside any transaction.
+ * - One transaction writes them with a JDBC batch of single-column updates that only apply while the
+ *   row still holds the old value, and moves the checkpoint in password_rehash_checkpoint.
+ * Runs every customer.password.rehash.interval-millis when customer.password.rehash.enabled is set, or
+ * when started through the API, inside the optional window and at most customer.password.rehash.rows-per-second.
+ * A run stops at the end of the window or on an error; the next run resumes at the checkpoint.
+ * Converted passwords are counted in customer.password.rehash.rehashed.
+ */
+@Service
+public class PasswordRehashServiceImpl implements PasswordRehashService {
+
+    static final String MIGRATION_NAME = "customers.password";
+    private static final Logger logger = LoggerFactory.getLogger(PasswordRehashServiceImpl.class);
+
+    private final CustomerRepository customerRepository;
+    private final CustomerBatchRepository batchRepository;
+    private final PasswordRehashCheckpointRepository checkpointRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter rehashedCounter;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile double rowsPerSecond;
+    private volatile String lastError;
+    private ExecutorService migrationExecutor;
+    private ForkJoinPool hashingPool;
+
+    @Value("${customer.password.rehash.enabled:false}")
+    private boolean enabled;
+
+    @Value("${customer.password.rehash.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${customer.password.rehash.parallelism:0}")
+    private int parallelism;
+
+    @Value("${customer.password.rehash.rows-per-second:500}")
+    private int maxRowsPerSecond;
+
+    @Value("${customer.password.rehash.window-start:}")
+    private String windowStart;
+
+    @Value("${customer.password.rehash.window-end:}")
+    private String windowEnd;
+
+    public PasswordRehashServiceImpl(CustomerRepository customerRepository,
+                                     CustomerBatchRepository batchRepository,
+                                     PasswordRehashCheckpointRepository checkpointRepository,
+                                     PasswordHashingService passwordHashingService,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        this.batchRepository = batchRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = transactionTemplate;
+        this.rehashedCounter = Counter.builder("customer.password.rehash.rehashed")
+                .description("Legacy passwords converted to the current hash format")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void createPools() {
+        hashingPool = new ForkJoinPool(parallelism > 0 ? parallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        migrationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "password-rehash");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        migrationExecutor.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${customer.password.rehash.interval-millis:60000}",
+            initialDelayString = "${customer.password.rehash.interval-millis:60000}")
+    void run() {
+        if (enabled && insideWindow(LocalTime.now()) && running.compareAndSet(false, true)) {
+            migrateAndRelease();
+        }
+    }
+
+    @Override
+    public PasswordRehashProgressResponse start() {
+        if (running.compareAndSet(false, true)) {
+            migrationExecutor.execute(this::migrateAndRelease);
+        }
+        return getProgress();
+    }
+
+    @Override
+    public PasswordRehashProgressResponse getProgress() {
+        PasswordRehashProgressResponse.PasswordRehashProgressResponseBuilder progress = PasswordRehashProgressResponse.builder()
+                .running(running.get())
+                .maxCustomerId(customerRepository.findMaxCustomerId())
+                .rowsPerSecond(rowsPerSecond)
+                .error(lastError);
+        checkpointRepository.findById(MIGRATION_NAME).ifPresent(checkpoint -> progress
+                .completed(checkpoint.getCompletedDate() != null)
+                .lastCustomerId(checkpoint.getLastCustomerId())
+                .rehashedCount(checkpoint.getRehashedCount())
+                .skippedCount(checkpoint.getSkippedCount())
+                .startedDate(checkpoint.getStartedDate())
+                .updatedDate(checkpoint.getUpdatedDate())
+                .completedDate(checkpoint.getCompletedDate()));
+        return progress.build();
+    }
+
+    /**
+     * Runs the migration from the checkpoint until it is complete, the window ends or the thread is interrupted.
+     *
+     * @return number of legacy passwords read in this run
+     */
+    long migrate() {
+        PasswordRehashCheckpointModel checkpoint = transactionTemplate.execute(status -> loadCheckpoint());
+        if (checkpoint == null || checkpoint.getCompletedDate() != null) {
+            return 0;
+        }
+        lastError = null;
+        long lastCustomerId = checkpoint.getLastCustomerId();
+        long start = System.nanoTime();
+        long processed = 0;
+        while (insideWindow(LocalTime.now()) && !Thread.currentThread().isInterrupted()) {
+            List<CustomerPasswordView> chunk = customerRepository.findLegacyPasswordsAfter(lastCustomerId, chunkSize);
+            if (chunk.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> complete());
+                logger.info("Password rehash completed");
+                break;
+            }
+            List<String> newPasswords = hashInParallel(chunk);
+            long chunkEnd = chunk.get(chunk.size() - 1).getCustomerId();
+            Integer updated = transactionTemplate.execute(status -> writeChunk(chunk, newPasswords, chunkEnd));
+            rehashedCounter.increment(updated == null ? 0 : updated);
+            lastCustomerId = chunkEnd;
+            processed += chunk.size();
+            rowsPerSecond = processed * 1e9 / Math.max(1, System.nanoTime() - start);
+            if (!throttle(start, processed)) {
+                break;
+            }
+        }
+        if (processed > 0) {
+            logger.info("Password rehash processed {} passwords up to customerId {} in {} ms", processed, lastCustomerId,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return processed;
+    }
+
+    private void migrateAndRelease() {
+        try {
+            migrate();
+        } catch (RuntimeException exception) {
+            lastError = exception.getMessage();
+            logger.error("Password rehash stopped, the next run resumes at the checkpoint", exception);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private PasswordRehashCheckpointModel loadCheckpoint() {
+        return checkpointRepository.findById(MIGRATION_NAME).orElseGet(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            return checkpointRepository.save(PasswordRehashCheckpointModel.builder()
+                    .migrationName(MIGRATION_NAME)
+                    .startedDate(now)
+                    .updatedDate(now)
+                    .build());
+        });
+    }
+
+    private List<String> hashInParallel(List<CustomerPasswordView> chunk) {
+        try {
+            return hashingPool.submit(() -> chunk.parallelStream()
+                    .map(customer -> passwordHashingService.rehashLegacy(customer.getPassword()))
+                    .toList()).get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Hashing passwords failed", exception.getCause());
+        }
+    }
+
+    private int writeChunk(List<CustomerPasswordView> chunk, List<String> newPasswords, long chunkEnd) {
+        List<Long> customerIds = new ArrayList<>(chunk.size());
+        List<String> oldPasswords = new ArrayList<>(chunk.size());
+        List<String> hashes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (newPasswords.get(i) != null) {
+                customerIds.add(chunk.get(i).getCustomerId());
+                oldPasswords.add(chunk.get(i).getPassword());
+                hashes.add(newPasswords.get(i));
+            }
+        }
+        int updated = batchRepository.updatePasswords(customerIds, oldPasswords, hashes);
+        PasswordRehashCheckpointModel checkpoint = loadCheckpoint();
+        checkpoint.setLastCustomerId(chunkEnd);
+        checkpoint.setRehashedCount(checkpoint.getRehashedCount() + updated);
+        checkpoint.setSkippedCount(checkpoint.getSkippedCount() + chunk.size() - updated);
+        checkpoint.setUpdatedDate(LocalDateTime.now());
+        return updated;
+    }
+
+    private void complete() {
+        PasswordRehashCheckpointModel checkpoint = loadCheckpoint();
+        checkpoint.setCompletedDate(LocalDateTime.now());
+        checkpoint.setUpdatedDate(checkpoint.getCompletedDate());
+    }
+
+    /**
+     * Sleeps until the run is back under customer.password.rehash.rows-per-second.
+     *
+     * @return false when interrupted, so the run stops
+     */
+    private boolean throttle(long startNanos, long processed) {
+        if (maxRowsPerSecond <= 0) {
+            return true;
+        }
+        long aheadNanos = processed * 1_000_000_000L / maxRowsPerSecond - (System.nanoTime() - startNanos);
+        if (aheadNanos <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(aheadNanos / 1_000_000, (int) (aheadNanos % 1_000_000));
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return true when no window is configured or the time is inside it (windows may wrap midnight)
+     */
+    boolean insideWindow(LocalTime time) {
+        if (windowStart.isBlank() || windowEnd.isBlank()) {
+            return true;
+        }
+        LocalTime from = LocalTime.parse(windowStart);
+        LocalTime to = LocalTime.parse(windowEnd);
+        if (from.isBefore(to)) {
+            return !time.isBefore(from) && time.isBefore(to);
+        }
+        return !time.isBefore(from) || time.isBefore(to);
+    }
+}
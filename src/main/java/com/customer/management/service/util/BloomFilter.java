@@ -0,0 +1,126 @@
+package com.customer.management.service.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter for strings.
+ * - Answers "definitely not present" or "maybe present" using m bits and k hash functions.
+ * - m and k are derived from the expected number of insertions and the target
+ *   false-positive probability.
+ * - Bits are set with CAS, so concurrent {@link #put(String)} calls need no lock and
+ *   {@link #mightContain(String)} never blocks.
+ * - The k positions come from two 64-bit hashes (h1 + i * h2), so only one pass over the
+ *   string is needed.
+ * Elements cannot be removed; callers rebuild the filter to drop deleted keys.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    /**
+     * @param expectedInsertions number of elements the filter is sized for (at least 1)
+     * @param falsePositiveRate  target false-positive probability, between 0 and 1 (exclusive)
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) >>> 6));
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value value to add, ignored when null
+     */
+    public void put(String value) {
+        if (value == null) {
+            return;
+        }
+        long h1 = HashUtil.hash64(value);
+        long h2 = HashUtil.mix64(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit(Math.floorMod(h1 + i * h2, bitSize));
+        }
+    }
+
+    /**
+     * @param value value to test
+     * @return false if the value was definitely never added, true if it may have been
+     */
+    public boolean mightContain(String value) {
+        if (value == null) {
+            return false;
+        }
+        long h1 = HashUtil.hash64(value);
+        long h2 = HashUtil.mix64(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false-positive probability for the current fill level: (set bits / m)^k
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitSize, hashFunctions);
+    }
+
+    /**
+     * @return estimated number of distinct elements added so far
+     */
+    public long approximateElementCount() {
+        double fraction = (double) bitsSet.get() / bitSize;
+        if (fraction >= 1) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-Math.log1p(-fraction) * bitSize / hashFunctions);
+    }
+
+    /**
+     * @return size of the bit array in bytes
+     */
+    public long memoryBytes() {
+        return bitSize >>> 3;
+    }
+
+    /**
+     * @return number of bits (m)
+     */
+    public long bitSize() {
+        return bitSize;
+    }
+
+    /**
+     * @return number of hash functions (k)
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        bitsSet.incrementAndGet();
+    }
+}
@@ -0,0 +1,51 @@
+package com.customer.management.service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Utility class for the opaque continuation tokens of cursor pagination.
+ * A token encodes the (createdDate, customerId) of the last customer of a page
+ * as URL-safe Base64, so clients never depend on its content.
+ */
+public class CustomerCursorUtil {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Position of a cursor inside the (createdDate DESC, customerId DESC) ordering.
+     */
+    public record Position(LocalDateTime createdDate, Long customerId) {
+    }
+
+    /**
+     * Encodes the position of the last customer of a page.
+     *
+     * @return opaque continuation token
+     */
+    public static String encode(LocalDateTime createdDate, Long customerId) {
+        String raw = createdDate.toString() + SEPARATOR + customerId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token.
+     *
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode(LocalDateTime, Long)}
+     */
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, exception);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.customer.management.service.util;
+
+import com.customer.management.service.exceptions.PreconditionFailedException;
+import com.customer.management.service.response.CustomerResponse;
+
+import java.util.List;
+
+/**
+ * Utility class for the entity tags of the customer API.
+ * The ETag of a customer is the strong tag "customerId-version"; the version is the
+ * {@code @Version} column of the customer, so the tag changes with every update.
+ * Lists get a strong tag built from the ids and versions of their customers.
+ */
+public class CustomerETagUtil {
+
+    private static final char SEPARATOR = '-';
+
+    /**
+     * Parsed If-Match tag of a conditional update.
+     */
+    public record Tag(Long customerId, long version) {
+
+        /**
+         * @return true when the tag was issued for this customer at this version
+         */
+        public boolean matches(Long currentCustomerId, long currentVersion) {
+            return customerId.equals(currentCustomerId) && version == currentVersion;
+        }
+    }
+
+    /**
+     * @return the quoted strong ETag of a customer at the given version
+     */
+    public static String etag(Long customerId, long version) {
+        return "\"" + customerId + SEPARATOR + version + "\"";
+    }
+
+    /**
+     * @return the quoted strong ETag of a customer, or null when its version is unknown
+     */
+    public static String etag(CustomerResponse customer) {
+        return customer.getVersion() == null ? null : etag(customer.getCustomerId(), customer.getVersion());
+    }
+
+    /**
+     * Builds the ETag of a list of customers from their ids and versions, so it changes
+     * whenever one of them is updated, added or removed.
+     *
+     * @param customers customers in response order
+     * @param extra     anything else the response body contains (totals, next cursor)
+     * @return quoted strong ETag
+     */
+    public static String etag(List<CustomerResponse> customers, String extra) {
+        long hash = HashUtil.hash64(extra);
+        for (CustomerResponse customer : customers) {
+            hash = HashUtil.mix64(hash * 31 + customer.getCustomerId());
+            hash = HashUtil.mix64(hash * 31 + (customer.getVersion() == null ? -1 : customer.getVersion()));
+        }
+        return "\"l" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Parses the If-Match header of a conditional update.
+     *
+     * @param ifMatch header value, may be null
+     * @return the expected tag, or null when the update is unconditional (no header or "*")
+     * @throws PreconditionFailedException if the header is not a strong tag issued by {@link #etag(Long, long)},
+     *                                     since such a tag can never match
+     */
+    public static Tag parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag: " + ifMatch);
+        }
+        value = value.substring(1, value.length() - 1);
+        int separator = value.lastIndexOf(SEPARATOR);
+        try {
+            return new Tag(Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException exception) {
+            throw new PreconditionFailedException("If-Match does not match any customer version: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.customer.management.service.util;
+
+/**
+ * Utility class for fast non-cryptographic 64-bit hashing of in-memory keys.
+ * Used by the Bloom filters and the off-heap index; never for anything security related.
+ */
+public class HashUtil {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private HashUtil() {
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars followed by {@link #mix64(long)}.
+     *
+     * @param value value to hash
+     * @return well distributed 64-bit hash
+     */
+    public static long hash64(CharSequence value) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix64(h);
+    }
+
+    /**
+     * MurmurHash3 fmix64 finalizer: spreads every input bit over the whole result.
+     *
+     * @param h value to mix
+     * @return mixed value
+     */
+    public static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53ef86bL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,240 @@
+package com.customer.management.service.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive long values.
+ * - Keys and values live in two parallel long[] arrays: 16 bytes per slot, no boxing
+ *   and no per-entry objects.
+ * - Linear probing with a mixed hash; removal uses backward-shift deletion, so there are
+ *   no tombstones and lookups never slow down after many removals.
+ * - Key 0 marks a free slot and is stored separately.
+ * Not thread-safe: callers guard writes and decide how reads are published.
+ */
+public final class LongLongHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasZeroKey;
+    private long zeroValue;
+    private final long missingValue;
+
+    /**
+     * @param expectedSize number of entries to size the table for without resizing
+     * @param missingValue value returned by {@link #get(long)} for absent keys
+     */
+    public LongLongHashMap(int expectedSize, long missingValue) {
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(4, (int) Math.min(1 << 30, (long) (expectedSize / LOAD_FACTOR) + 1)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * @param key key to look up
+     * @return the value, or the missing value given to the constructor
+     */
+    public long get(long key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : missingValue;
+        }
+        long[] keys = this.keys;
+        int mask = this.mask;
+        int slot = slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long existing = keys[slot];
+            if (existing == key) {
+                return values[slot];
+            }
+            if (existing == 0) {
+                return missingValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * @param key key to test
+     * @return true if the key is present
+     */
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int slot = slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @return the previous value, or the missing value
+     */
+    public long put(long key, long value) {
+        if (key == 0) {
+            long previous = hasZeroKey ? zeroValue : missingValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int slot = slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            allocate(keys.length << 1);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @return the removed value, or the missing value
+     */
+    public long remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return missingValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int slot = slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * Removes the key only while it is mapped to the given value.
+     *
+     * @return true if the entry was removed
+     */
+    public boolean remove(long key, long value) {
+        if (!containsKey(key) || get(key) != value) {
+            return false;
+        }
+        remove(key);
+        return true;
+    }
+
+    /**
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return bytes used by the key and value arrays
+     */
+    public long memoryBytes() {
+        return (long) keys.length * Long.BYTES * 2;
+    }
+
+    /**
+     * Calls the consumer for every entry, in no particular order.
+     */
+    public void forEach(LongLongConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes all entries, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    /**
+     * Callback for {@link #forEach(LongLongConsumer)}.
+     */
+    @FunctionalInterface
+    public interface LongLongConsumer {
+        void accept(long key, long value);
+    }
+
+    private void shiftBack(int slot) {
+        int free = slot;
+        int next = (free + 1) & mask;
+        while (keys[next] != 0) {
+            int home = slot(keys[next], mask);
+            // move the entry back if its home slot is not inside (free, next]
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[free] = 0;
+        values[free] = 0;
+    }
+
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+        if (oldKeys == null) {
+            return;
+        }
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int slot = slot(key, mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,171 @@
+package com.customer.management.service.util;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * RandomPool hands out cryptographically strong random characters from pre-generated byte buffers,
+ * so OTPs and passwords no longer need one synchronized {@link SecureRandom} call per character.
+ * How it works:
+ * - A power of two number of stripes (twice the CPU count), each with its own DRBG {@link SecureRandom},
+ *   a 4 KB buffer of random bytes and a spare buffer. A thread takes a free stripe with one
+ *   compare-and-set, starting at a stripe picked from its thread id, and never blocks on a lock.
+ * - When a buffer is used up, the stripe switches to its spare and wakes the refill thread, which
+ *   fills empty spares in the background. Without a spare the stripe refills its buffer in place.
+ * - Characters are drawn by rejection sampling: a byte is used only if it is below the largest
+ *   multiple of the alphabet size, so every character is exactly as likely as with
+ *   {@link SecureRandom#nextInt(int)}; every byte is used once.
+ */
+public final class RandomPool {
+
+    private static final int BUFFER_BYTES = 4096;
+    private static final long REFILL_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final RandomPool SHARED =
+            new RandomPool(Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1) << 1, BUFFER_BYTES);
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int bufferBytes;
+    private final Thread refiller;
+
+    RandomPool(int stripeCount, int bufferBytes) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripeCount must be a power of two");
+        }
+        this.bufferBytes = bufferBytes;
+        this.mask = stripeCount - 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(newSecureRandom(), bufferBytes);
+        }
+        this.refiller = new Thread(this::refillSpares, "random-pool-refill");
+        this.refiller.setDaemon(true);
+        this.refiller.start();
+    }
+
+    /**
+     * @return the pool shared by {@link OtpUtil} and {@link PasswordUtil}
+     */
+    public static RandomPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a string of uniformly and independently chosen characters of the alphabet.
+     *
+     * @param alphabet characters to choose from, at most 256
+     * @param length   length of the string
+     * @return the random string
+     */
+    public String nextString(String alphabet, int length) {
+        int bound = alphabet.length();
+        if (bound == 0 || bound > 256) {
+            throw new IllegalArgumentException("Alphabet must have 1 to 256 characters");
+        }
+        int limit = 256 - 256 % bound;
+        char[] chars = new char[length];
+        Stripe stripe = acquire();
+        try {
+            for (int i = 0; i < length; ) {
+                int value = stripe.nextByte() & 0xff;
+                if (value < limit) {
+                    chars[i++] = alphabet.charAt(value % bound);
+                }
+            }
+        } finally {
+            stripe.busy.set(false);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Fills the array with random bytes.
+     *
+     * @param bytes array to fill
+     */
+    public void nextBytes(byte[] bytes) {
+        Stripe stripe = acquire();
+        try {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = stripe.nextByte();
+            }
+        } finally {
+            stripe.busy.set(false);
+        }
+    }
+
+    private Stripe acquire() {
+        long h = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L;
+        int start = (int) (h >>> 32);
+        while (true) {
+            for (int i = 0; i <= mask; i++) {
+                Stripe stripe = stripes[(start + i) & mask];
+                if (!stripe.busy.get() && stripe.busy.compareAndSet(false, true)) {
+                    return stripe;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Body of the refill thread: fills every empty spare, then sleeps until woken or for 100 ms.
+     */
+    private void refillSpares() {
+        SecureRandom random = newSecureRandom();
+        while (true) {
+            for (Stripe stripe : stripes) {
+                if (stripe.spare.get() == null) {
+                    byte[] spare = new byte[bufferBytes];
+                    random.nextBytes(spare);
+                    stripe.spare.set(spare);
+                }
+            }
+            LockSupport.parkNanos(this, REFILL_IDLE_NANOS);
+        }
+    }
+
+    private static SecureRandom newSecureRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException exception) {
+            return new SecureRandom();
+        }
+    }
+
+    private final class Stripe {
+
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private final AtomicReference<byte[]> spare = new AtomicReference<>();
+        private final SecureRandom random;
+        private byte[] buffer;
+        private int position;
+
+        Stripe(SecureRandom random, int bufferBytes) {
+            this.random = random;
+            this.buffer = new byte[bufferBytes];
+            random.nextBytes(buffer);
+        }
+
+        /**
+         * Only called by the thread holding the stripe.
+         */
+        byte nextByte() {
+            if (position == buffer.length) {
+                byte[] next = spare.getAndSet(null);
+                if (next != null) {
+                    buffer = next;
+                } else {
+                    random.nextBytes(buffer);
+                }
+                position = 0;
+                LockSupport.unpark(refiller);
+            }
+            return buffer[position++];
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.customer.management.service.cache;
+
+import com.customer.management.service.enums.CustomerChangeType;
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.response.CustomerResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerCacheTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// tombstones live for one second
+	private final CustomerCache cache = new CustomerCache(100, 600, 1000, meterRegistry, Optional.empty(), nanos::get);
+
+	@Test
+	void putOfAVersionLoadedBeforeACommittedChangeIsDropped() {
+		cache.put(customer(1L, "9100000001", 3L));
+		cache.afterCustomerChangeCommitted(changed(1L, "9100000001", 4L));
+
+		// a reader that loaded version 3 before the commit puts it afterwards
+		cache.put(customer(1L, "9100000001", 3L));
+		assertThat(cache.getByCustomerId(1L)).isEmpty();
+		assertThat(cache.getByMobileNumber("9100000001")).isEmpty();
+		assertThat(meterRegistry.get("customer.cache.stale.puts").counter().count()).isEqualTo(1);
+
+		cache.put(customer(1L, "9100000001", 4L));
+		assertThat(cache.getByMobileNumber("9100000001")).get()
+				.extracting(CustomerResponse::getVersion).isEqualTo(4L);
+	}
+
+	@Test
+	void changeWithoutAVersionDropsEveryPutUntilTheTombstoneExpires() {
+		cache.afterCustomerChangeCommitted(changed(2L, "9100000002", null));
+
+		cache.put(customer(2L, "9100000002", 7L));
+		assertThat(cache.getByCustomerId(2L)).isEmpty();
+
+		nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+		cache.put(customer(2L, "9100000002", 7L));
+		assertThat(cache.getByCustomerId(2L)).isPresent();
+	}
+
+	@Test
+	void tombstonesOnlyAffectTheirOwnCustomer() {
+		cache.afterCustomerChangeCommitted(changed(3L, "9100000003", 9L));
+
+		cache.put(customer(4L, "9100000004", 1L));
+		assertThat(cache.getByMobileNumber("9100000004")).isPresent();
+	}
+
+	private static CustomerChangedEvent changed(Long customerId, String mobileNumber, Long version) {
+		return CustomerChangedEvent.builder()
+				.customerId(customerId)
+				.changeType(CustomerChangeType.UPDATED)
+				.mobileNumber(mobileNumber)
+				.version(version)
+				.build();
+	}
+
+	private static CustomerResponse customer(Long customerId, String mobileNumber, Long version) {
+		return CustomerResponse.builder()
+				.customerId(customerId)
+				.mobileNumber(mobileNumber)
+				.emailAddress("customer" + mobileNumber + "@example.com")
+				.fullName("Test Customer " + mobileNumber)
+				.version(version)
+				.build();
+	}
+}
@@ -0,0 +1,111 @@
+package com.customer.management.service.cache;
+
+import com.customer.management.service.enums.CustomerChangeType;
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.repository.ArchivedCustomerRepository;
+import com.customer.management.service.repository.CustomerKeyView;
+import com.customer.management.service.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerLookupFilterTests {
+
+	private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+	private final ArchivedCustomerRepository archivedCustomerRepository = mock(ArchivedCustomerRepository.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+	CustomerLookupFilterTests() {
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		when(archivedCustomerRepository.streamAllKeys()).thenAnswer(invocation -> Stream.empty());
+	}
+
+	@Test
+	void onlyAnAuthoritativeFilterExcludesUnknownKeys() {
+		when(customerRepository.streamAllKeys()).thenAnswer(invocation -> Stream.of(key("9500000001")));
+		CustomerLookupFilter filter = filter(false);
+		CustomerLookupFilter authoritative = filter(true);
+		filter.rebuild();
+		authoritative.rebuild();
+
+		assertThat(filter.excludesMobileNumber("9500000002")).isFalse();
+		assertThat(filter.mightContainMobileNumber("9500000002")).isFalse();
+		assertThat(authoritative.excludesMobileNumber("9500000002")).isTrue();
+		assertThat(authoritative.excludesEmailAddress("Customer9500000002@example.com")).isTrue();
+		assertThat(authoritative.excludesMobileNumber("9500000001")).isFalse();
+		assertThat(authoritative.excludesEmailAddress(" CUSTOMER9500000001@example.com")).isFalse();
+	}
+
+	@Test
+	void nothingIsExcludedUntilTheFilterIsBuilt() {
+		CustomerLookupFilter filter = filter(true);
+
+		assertThat(filter.excludesMobileNumber("9500000003")).isFalse();
+	}
+
+	@Test
+	void keyIsAddedBeforeItsChangeCommits() {
+		when(customerRepository.streamAllKeys()).thenAnswer(invocation -> Stream.empty());
+		CustomerLookupFilter filter = filter(true);
+		filter.rebuild();
+
+		filter.onCustomerChanged(created("9500000004"));
+
+		assertThat(filter.excludesMobileNumber("9500000004")).isFalse();
+	}
+
+	@Test
+	void keyWrittenDuringTheScanIsKeptByTheRebuiltFilter() {
+		CustomerLookupFilter filter = filter(true);
+		// the scan snapshot was taken before the create committed
+		when(customerRepository.streamAllKeys()).thenAnswer(invocation -> {
+			filter.afterCustomerChangeCommitted(created("9500000005"));
+			return Stream.empty();
+		});
+
+		filter.rebuild();
+
+		assertThat(filter.excludesMobileNumber("9500000005")).isFalse();
+	}
+
+	private CustomerLookupFilter filter(boolean authoritative) {
+		return new CustomerLookupFilter(customerRepository, archivedCustomerRepository, transactionManager,
+				new SimpleMeterRegistry(), true, authoritative, 1000, 0.01);
+	}
+
+	private static CustomerChangedEvent created(String mobileNumber) {
+		return CustomerChangedEvent.builder()
+				.customerId(1L)
+				.changeType(CustomerChangeType.CREATED)
+				.mobileNumber(mobileNumber)
+				.emailAddress("customer" + mobileNumber + "@example.com")
+				.build();
+	}
+
+	private static CustomerKeyView key(String mobileNumber) {
+		return new CustomerKeyView() {
+			@Override
+			public String getMobileNumber() {
+				return mobileNumber;
+			}
+
+			@Override
+			public String getEmailAddress() {
+				return "customer" + mobileNumber + "@example.com";
+			}
+
+			@Override
+			public String getFullName() {
+				return "Test Customer";
+			}
+		};
+	}
+}
@@ -0,0 +1,137 @@
+package com.customer.management.service.cache;
+
+import com.customer.management.service.enums.CustomerChangeType;
+import com.customer.management.service.event.CustomerChangedEvent;
+import com.customer.management.service.repository.CustomerMobileView;
+import com.customer.management.service.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MobileNumberIndexTests {
+
+	private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+	private final MobileNumberIndex index;
+
+	MobileNumberIndexTests() {
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		index = new MobileNumberIndex(customerRepository, transactionManager, new SimpleMeterRegistry(), true, 16);
+	}
+
+	@Test
+	void encodeKeepsLeadingZerosApart() {
+		assertThat(MobileNumberIndex.encode("0123")).isNotEqualTo(MobileNumberIndex.encode("123"));
+		assertThat(MobileNumberIndex.encode("00123")).isNotEqualTo(MobileNumberIndex.encode("0123"));
+		assertThat(MobileNumberIndex.encode("0")).isNotEqualTo(MobileNumberIndex.encode("00"));
+	}
+
+	@Test
+	void encodeAcceptsUpToSeventeenDigits() {
+		String longest = "9".repeat(17);
+
+		assertThat(MobileNumberIndex.encode(longest)).isNotEqualTo(MobileNumberIndex.NOT_FOUND);
+		assertThat(MobileNumberIndex.encode("1" + "0".repeat(16)))
+				.isNotEqualTo(MobileNumberIndex.encode(longest))
+				.isNotEqualTo(MobileNumberIndex.NOT_FOUND);
+		assertThat(MobileNumberIndex.encode("9".repeat(18))).isEqualTo(MobileNumberIndex.NOT_FOUND);
+	}
+
+	@Test
+	void encodeRejectsValuesThatAreNotPlainDigits() {
+		assertThat(MobileNumberIndex.encode(null)).isEqualTo(MobileNumberIndex.NOT_FOUND);
+		assertThat(MobileNumberIndex.encode("")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+		assertThat(MobileNumberIndex.encode("+919876543210")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+		assertThat(MobileNumberIndex.encode("98765 43210")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+		assertThat(MobileNumberIndex.encode("98765-43210")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+	}
+
+	@Test
+	void findIsNotFoundUntilTheIndexIsBuilt() {
+		when(customerRepository.streamAllMobileNumbers()).thenReturn(Stream.of(view(1L, "9400000001")));
+
+		assertThat(index.find("9400000001")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+		index.rebuild();
+		assertThat(index.find("9400000001")).isEqualTo(1L);
+		assertThat(index.find("09400000001")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+	}
+
+	@Test
+	void changedMobileNumberIsReKeyed() {
+		when(customerRepository.streamAllMobileNumbers()).thenReturn(Stream.of(view(1L, "9400000001")));
+		index.rebuild();
+
+		index.afterCustomerChangeCommitted(changed(1L, CustomerChangeType.UPDATED, "9400000002", "9400000001"));
+
+		assertThat(index.find("9400000001")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+		assertThat(index.find("9400000002")).isEqualTo(1L);
+	}
+
+	@Test
+	void releasedMobileNumberTakenByAnotherCustomerIsNotRemovedByTheOldOwner() {
+		when(customerRepository.streamAllMobileNumbers()).thenReturn(Stream.of(view(1L, "9400000001")));
+		index.rebuild();
+
+		// customer 2 takes the number customer 1 released; the events arrive out of order
+		index.afterCustomerChangeCommitted(changed(2L, CustomerChangeType.CREATED, "9400000001", null));
+		index.afterCustomerChangeCommitted(changed(1L, CustomerChangeType.UPDATED, "9400000002", "9400000001"));
+
+		assertThat(index.find("9400000001")).isEqualTo(2L);
+		assertThat(index.find("9400000002")).isEqualTo(1L);
+	}
+
+	@Test
+	void deletedCustomerIsRemoved() {
+		when(customerRepository.streamAllMobileNumbers()).thenReturn(Stream.of(view(1L, "9400000001")));
+		index.rebuild();
+
+		index.afterCustomerChangeCommitted(changed(1L, CustomerChangeType.DELETED, "9400000001", null));
+
+		assertThat(index.find("9400000001")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+	}
+
+	@Test
+	void changeCommittedDuringTheScanWinsOverTheScannedRow() {
+		// the scan still sees the old owner of 9400000001, the change commits while it runs
+		when(customerRepository.streamAllMobileNumbers()).thenAnswer(invocation -> {
+			index.afterCustomerChangeCommitted(changed(2L, CustomerChangeType.UPDATED, "9400000001", null));
+			return Stream.of(view(1L, "9400000001"));
+		});
+
+		index.rebuild();
+
+		assertThat(index.find("9400000001")).isEqualTo(2L);
+	}
+
+	private static CustomerChangedEvent changed(Long customerId, CustomerChangeType changeType,
+			String mobileNumber, String previousMobileNumber) {
+		return CustomerChangedEvent.builder()
+				.customerId(customerId)
+				.changeType(changeType)
+				.mobileNumber(mobileNumber)
+				.previousMobileNumber(previousMobileNumber)
+				.build();
+	}
+
+	private static CustomerMobileView view(Long customerId, String mobileNumber) {
+		return new CustomerMobileView() {
+			@Override
+			public Long getCustomerId() {
+				return customerId;
+			}
+
+			@Override
+			public String getMobileNumber() {
+				return mobileNumber;
+			}
+		};
+	}
+}
@@ -0,0 +1,80 @@
+package com.customer.management.service.cache;
+
+import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.response.AddressResponse;
+import com.customer.management.service.response.CustomerResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapCustomerStoreTests {
+
+	private final OffHeapCustomerStore store = new OffHeapCustomerStore(1, 2, 16, new SimpleMeterRegistry());
+
+	@Test
+	void storedCustomerIsReachableByEveryKey() {
+		CustomerResponse customer = customer(1L, "9000000001");
+		store.put(customer);
+
+		assertThat(store.getByCustomerId(1L)).contains(customer);
+		assertThat(store.getByMobileNumber("9000000001")).contains(customer);
+		assertThat(store.getByEmailAddress("customer9000000001@example.com")).contains(customer);
+	}
+
+	@Test
+	void updatedCustomerIsNotReachableByOldKeys() {
+		store.put(customer(2L, "9000000002"));
+		store.put(customer(2L, "9000000003"));
+
+		assertThat(store.getByMobileNumber("9000000002")).isEmpty();
+		assertThat(store.getByMobileNumber("9000000003")).get()
+				.extracting(CustomerResponse::getCustomerId).isEqualTo(2L);
+
+		store.remove(2L, List.of("9000000003"), List.of());
+		assertThat(store.getByCustomerId(2L)).isEmpty();
+	}
+
+	@Test
+	void rewritesBeyondCapacityAreCompacted() {
+		// 2 segments of 1 MB; rewriting the same 1000 customers many times forces compaction
+		for (int round = 0; round < 50; round++) {
+			for (long id = 1; id <= 1000; id++) {
+				store.put(customer(id, String.valueOf(9_100_000_000L + id)));
+			}
+		}
+
+		for (long id = 1; id <= 1000; id++) {
+			assertThat(store.getByMobileNumber(String.valueOf(9_100_000_000L + id))).get()
+					.extracting(CustomerResponse::getCustomerId).isEqualTo(id);
+		}
+	}
+
+	private static CustomerResponse customer(Long customerId, String mobileNumber) {
+		LocalDateTime now = LocalDateTime.of(2025, 9, 1, 13, 14, 53, 393074000);
+		return CustomerResponse.builder()
+				.customerId(customerId)
+				.firstName("Test")
+				.lastName("Customer")
+				.fullName("Test Customer " + customerId)
+				.age(30)
+				.mobileNumber(mobileNumber)
+				.emailAddress("customer" + mobileNumber + "@example.com")
+				.status(CustomerStatus.INACTIVE)
+				.createdDate(now)
+				.updatedDate(now)
+				.addresses(List.of(AddressResponse.builder()
+						.addressId(customerId * 10)
+						.street("Street 0")
+						.city("Chinnamandem")
+						.state("Andhra pradesh")
+						.country("India")
+						.addressType("HOME")
+						.pincode(516214L)
+						.build()))
+				.build();
+	}
+}
@@ -0,0 +1,368 @@
+package com.customer.management.service.controller;
+
+import com.customer.management.service.request.AddressRequest;
+import com.customer.management.service.repository.CustomerCursorView;
+import com.customer.management.service.repository.CustomerRepository;
+import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.service.CustomerService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.customer.management.service.constant.CustomerConstant.EMAIL_EXISTS;
+import static com.customer.management.service.constant.CustomerConstant.MOBILE_NUMBER_EXISTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Same context as CustomerServiceImplTests; MockMvc is built by hand so the context is shared
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerControllerTests {
+
+	private static final String API = "/customer-management-service/api/v1";
+	// older than any customer created by the tests
+	private static final LocalDateTime TIED_CREATED_DATE = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+	}
+
+	@Test
+	void bulkCreateReportsEveryEntryInRequestOrder() throws Exception {
+		CustomerRequest invalid = customerRequest("9300000002", 1);
+		invalid.setEmailAddress("not-an-email");
+
+		JsonNode response = bulkCreate(List.of(customerRequest("9300000001", 2), invalid, customerRequest("9300000003", 1)));
+
+		assertThat(response.get("totalCount").asInt()).isEqualTo(3);
+		assertThat(response.get("successCount").asInt()).isEqualTo(2);
+		assertThat(response.get("failureCount").asInt()).isEqualTo(1);
+		JsonNode results = response.get("results");
+		for (int i = 0; i < 3; i++) {
+			assertThat(results.get(i).get("index").asInt()).isEqualTo(i);
+		}
+		assertThat(results.get(0).get("success").asBoolean()).isTrue();
+		assertThat(results.get(0).get("customerId").isNumber()).isTrue();
+		assertThat(results.get(1).get("success").asBoolean()).isFalse();
+		assertThat(results.get(1).get("error").asText()).isEqualTo("emailAddress: Email must be valid");
+		assertThat(results.get(2).get("mobileNumber").asText()).isEqualTo("9300000003");
+		assertThat(customerService.getCustomerByMobileNumber("9300000001").getAddresses()).hasSize(2);
+
+		// the OTP in the response is the one that was stored on commit
+		mockMvc.perform(patch(API + "/activateByOtp/9300000001/" + results.get(0).get("otp").asText()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("ACTIVE"));
+	}
+
+	@Test
+	void bulkCreateRejectsDuplicatesWithinTheBatch() throws Exception {
+		CustomerRequest sameMobileNumber = customerRequest("9300000101", 1);
+		sameMobileNumber.setEmailAddress("other9300000101@example.com");
+		sameMobileNumber.setFullName("Other Customer 9300000101");
+
+		JsonNode results = bulkCreate(List.of(customerRequest("9300000101", 1), sameMobileNumber)).get("results");
+
+		assertThat(results.get(0).get("success").asBoolean()).isTrue();
+		assertThat(results.get(1).get("success").asBoolean()).isFalse();
+		assertThat(results.get(1).get("error").asText()).isEqualTo(MOBILE_NUMBER_EXISTS);
+		assertThat(customerService.getCustomerByMobileNumber("9300000101").getEmailAddress())
+				.isEqualTo("customer9300000101@example.com");
+	}
+
+	@Test
+	void bulkCreateRejectsDuplicatesOfExistingCustomers() throws Exception {
+		customerService.createCustomer(customerRequest("9300000201", 1));
+		CustomerRequest sameEmailAddress = customerRequest("9300000202", 1);
+		sameEmailAddress.setEmailAddress("customer9300000201@example.com");
+
+		JsonNode response = bulkCreate(List.of(sameEmailAddress, customerRequest("9300000203", 1)));
+
+		JsonNode results = response.get("results");
+		assertThat(results.get(0).get("error").asText()).isEqualTo(EMAIL_EXISTS);
+		assertThat(results.get(1).get("success").asBoolean()).isTrue();
+		assertThat(response.get("successCount").asInt()).isEqualTo(1);
+	}
+
+	@Test
+	void chunkFailingOnInsertIsRetriedOneByOne() throws Exception {
+		// passes validation but not the full_name column, so the whole JDBC batch fails
+		CustomerRequest tooLong = customerRequest("9300000302", 1);
+		tooLong.setFullName("x".repeat(300));
+
+		JsonNode results = bulkCreate(List.of(customerRequest("9300000301", 1), tooLong,
+				customerRequest("9300000303", 1))).get("results");
+
+		assertThat(results.get(0).get("success").asBoolean()).isTrue();
+		assertThat(results.get(1).get("success").asBoolean()).isFalse();
+		assertThat(results.get(2).get("success").asBoolean()).isTrue();
+		assertThat(customerService.getCustomerByMobileNumber("9300000301").getCustomerId())
+				.isEqualTo(results.get(0).get("customerId").asLong());
+		mockMvc.perform(patch(API + "/activateByOtp/9300000303/" + results.get(2).get("otp").asText()))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void emptyBulkCreateIsABadRequest() throws Exception {
+		mockMvc.perform(post(API + "/customers/bulk").contentType(MediaType.APPLICATION_JSON).content("[]"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void patchToAMobileNumberOfAnotherCustomerIsAConflict() throws Exception {
+		Long customerId = customerService.createCustomer(customerRequest("9300001101", 1)).getCustomerId();
+		customerService.createCustomer(customerRequest("9300001102", 1));
+
+		mockMvc.perform(patch(API + "/updateCustomerByMobileNumber/" + customerId + "/9300001102"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.error").value(MOBILE_NUMBER_EXISTS));
+		mockMvc.perform(patch(API + "/updateCustomerEmailAddressByCustomerId/" + customerId + "/customer9300001102@example.com"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.error").value(EMAIL_EXISTS));
+	}
+
+	@Test
+	void cachedJsonIsWhatJacksonWrites() throws Exception {
+		customerService.createCustomer(customerRequest("9300000401", 2));
+		byte[] expected = objectMapper.writeValueAsBytes(customerService.getCustomerByMobileNumber("9300000401"));
+		double hits = jsonCacheGets("hit");
+
+		MvcResult first = getByMobileNumber("9300000401");
+		MvcResult second = getByMobileNumber("9300000401");
+
+		assertThat(first.getResponse().getContentAsByteArray()).isEqualTo(expected);
+		assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(expected);
+		assertThat(second.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(first.getResponse().getHeader(HttpHeaders.ETAG));
+		assertThat(jsonCacheGets("hit")).isEqualTo(hits + 1);
+	}
+
+	@Test
+	void updateEvictsTheCachedJson() throws Exception {
+		Long customerId = customerService.createCustomer(customerRequest("9300000501", 1)).getCustomerId();
+		String etag = getByMobileNumber("9300000501").getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(patch(API + "/updateCustomerByEmailAddress/" + customerId + "/changed9300000501@example.com"))
+				.andExpect(status().isOk());
+		double misses = jsonCacheGets("miss");
+		MvcResult updated = getByMobileNumber("9300000501");
+
+		assertThat(jsonCacheGets("miss")).isEqualTo(misses + 1);
+		assertThat(updated.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+		assertThat(objectMapper.readTree(updated.getResponse().getContentAsByteArray()).get("emailAddress").asText())
+				.isEqualTo("changed9300000501@example.com");
+	}
+
+	@Test
+	void deleteEvictsTheCachedJson() throws Exception {
+		customerService.createCustomer(customerRequest("9300000601", 1));
+		getByMobileNumber("9300000601");
+		double size = meterRegistry.get("cache.size").tag("cache", "customerJson").gauge().value();
+
+		mockMvc.perform(delete(API + "/deleteCustomerByMobileNumber/9300000601")).andExpect(status().isOk());
+
+		assertThat(meterRegistry.get("cache.size").tag("cache", "customerJson").gauge().value()).isEqualTo(size - 1);
+		mockMvc.perform(get(API + "/getCustomerByMobileNumber/9300000601")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void currentETagInIfNoneMatchIsNotModifiedWithoutABody() throws Exception {
+		customerService.createCustomer(customerRequest("9300000701", 1));
+		String etag = getByMobileNumber("9300000701").getResponse().getHeader(HttpHeaders.ETAG);
+
+		MvcResult notModified = mockMvc.perform(get(API + "/getCustomerByMobileNumber/9300000701")
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andReturn();
+		assertThat(notModified.getResponse().getContentAsByteArray()).isEmpty();
+
+		mockMvc.perform(get(API + "/getCustomerByMobileNumber/9300000701")
+						.header(HttpHeaders.IF_NONE_MATCH, "\"0-0\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(jsonPath("$.mobileNumber").value("9300000701"));
+	}
+
+	@Test
+	void cursorCrawlReturnsEveryCustomerOnceWhenCreatedDatesAreEqual() throws Exception {
+		List<Long> tied = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			tied.add(customerService.createCustomer(customerRequest("930000080" + i, 1)).getCustomerId());
+		}
+		jdbcTemplate.update("UPDATE customers SET created_date = ? WHERE mobile_number LIKE '930000080_'", TIED_CREATED_DATE);
+		List<Long> expected = jdbcTemplate.queryForList("SELECT customer_id FROM customers WHERE deleted_date IS NULL " +
+				"ORDER BY created_date DESC, customer_id DESC", Long.class);
+
+		// page size 3 puts page boundaries inside the group of equal created dates
+		List<Long> crawled = new ArrayList<>();
+		String cursor = null;
+		JsonNode page;
+		do {
+			page = objectMapper.readTree(mockMvc.perform(get(API + "/customers/cursor")
+							.param("size", "3")
+							.param("cursor", cursor == null ? "" : cursor))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString());
+			page.get("content").forEach(customer -> crawled.add(customer.get("customerId").asLong()));
+			cursor = page.path("nextCursor").asText(null);
+		} while (page.get("hasNext").asBoolean());
+
+		assertThat(cursor).isNull();
+		assertThat(crawled).doesNotHaveDuplicates().containsAll(tied).isEqualTo(expected);
+	}
+
+	@Test
+	void cursorPageAfterARowWithAnEqualCreatedDateStartsWithTheNextLowerId() {
+		List<Long> tied = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			tied.add(customerService.createCustomer(customerRequest("930000090" + i, 1)).getCustomerId());
+		}
+		LocalDateTime createdDate = TIED_CREATED_DATE.minusDays(1);
+		jdbcTemplate.update("UPDATE customers SET created_date = ? WHERE mobile_number LIKE '930000090_'", createdDate);
+		tied.sort((first, second) -> Long.compare(second, first));
+
+		List<CustomerCursorView> page = customerRepository.findCursorPageAfter(createdDate, tied.get(1), PageRequest.of(0, 3));
+
+		// no customer is older, so the page ends with the group
+		assertThat(page).extracting(CustomerCursorView::getCustomerId).containsExactly(tied.get(2), tied.get(3));
+		assertThat(page).extracting(CustomerCursorView::getCreatedDate).containsOnly(createdDate);
+	}
+
+	@Test
+	void malformedCursorIsABadRequest() throws Exception {
+		mockMvc.perform(get(API + "/customers/cursor").param("cursor", "not-a-cursor"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value(startsWith("Invalid cursor")));
+	}
+
+	@Test
+	void exportWritesOneJsonCustomerPerLineAndAppliesTheFilters() throws Exception {
+		String otp = customerService.createCustomer(customerRequest("9300001001", 2)).getOtp();
+		customerService.activateByOtp("9300001001", otp);
+		customerService.createCustomer(customerRequest("9300001002", 1));
+		customerService.createCustomer(customerRequest("9300001003", 1));
+		customerService.deleteCustomerByMobileNumber("9300001003");
+		// future updated dates single out these customers, the deleted one included
+		jdbcTemplate.update("UPDATE customers SET updated_date = ? WHERE mobile_number LIKE '93000010__'",
+				LocalDateTime.of(2100, 1, 1, 0, 0));
+
+		List<JsonNode> updated = export("updatedSince", "2099-12-31T00:00:00");
+		assertThat(updated).extracting(customer -> customer.get("mobileNumber").asText())
+				.containsExactlyInAnyOrder("9300001001", "9300001002");
+		JsonNode active = updated.stream().filter(customer -> customer.get("mobileNumber").asText().equals("9300001001"))
+				.findFirst().orElseThrow();
+		assertThat(active.get("addresses")).hasSize(2);
+		assertThat(active.path("otp").asText(null)).isNull();
+
+		assertThat(export("updatedSince", "2099-12-31T00:00:00", "status", "ACTIVE"))
+				.extracting(customer -> customer.get("mobileNumber").asText())
+				.containsExactly("9300001001");
+		assertThat(export("updatedSince", "2100-01-01T00:00:01")).isEmpty();
+	}
+
+	private List<JsonNode> export(String... parameters) throws Exception {
+		var request = get(API + "/customers/export");
+		for (int i = 0; i < parameters.length; i += 2) {
+			request.param(parameters[i], parameters[i + 1]);
+		}
+		String body = mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("application/x-ndjson")))
+				.andReturn().getResponse().getContentAsString();
+		List<JsonNode> customers = new ArrayList<>();
+		if (!body.isEmpty()) {
+			assertThat(body).endsWith("\n");
+			for (String line : body.split("\n")) {
+				// every line is a complete JSON object on its own
+				customers.add(objectMapper.readTree(line));
+			}
+		}
+		return customers;
+	}
+
+	private MvcResult getByMobileNumber(String mobileNumber) throws Exception {
+		return mockMvc.perform(get(API + "/getCustomerByMobileNumber/" + mobileNumber))
+				.andExpect(status().isOk())
+				.andReturn();
+	}
+
+	private double jsonCacheGets(String result) {
+		return meterRegistry.get("cache.gets").tag("cache", "customerJson").tag("result", result).functionCounter().count();
+	}
+
+	private JsonNode bulkCreate(List<CustomerRequest> requests) throws Exception {
+		String body = mockMvc.perform(post(API + "/customers/bulk")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(requests)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private static CustomerRequest customerRequest(String mobileNumber, int addressCount) {
+		List<AddressRequest> addresses = new ArrayList<>();
+		for (int i = 0; i < addressCount; i++) {
+			addresses.add(AddressRequest.builder()
+					.street("Street " + i)
+					.city("Chinnamandem")
+					.state("Andhra pradesh")
+					.country("India")
+					.addressType(i == 0 ? "HOME" : "OFFICE")
+					.pincode(516214L)
+					.build());
+		}
+		return CustomerRequest.builder()
+				.firstName("Test")
+				.lastName("Customer")
+				.fullName("Test Customer " + mobileNumber)
+				.age(30)
+				.mobileNumber(mobileNumber)
+				.emailAddress("customer" + mobileNumber + "@example.com")
+				.addresses(addresses)
+				.build();
+	}
+}
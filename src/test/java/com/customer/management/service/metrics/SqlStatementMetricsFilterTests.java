@@ -0,0 +1,43 @@
+package com.customer.management.service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementMetricsFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SqlStatementCounter counter = new SqlStatementCounter();
+	private final SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(counter, meterRegistry);
+
+	@Test
+	void statementsOfARequestAreRecordedByUriPattern() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/customer-management-service/api/v1/customers");
+		filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+			servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/customer-management-service/api/v1/customers");
+			counter.inspect("select count(*) from customers");
+			counter.inspect("select * from customers limit 20");
+		});
+
+		DistributionSummary statements = meterRegistry.get("customer.sql.statements")
+				.tag("method", "GET").tag("uri", "/customer-management-service/api/v1/customers").summary();
+		assertThat(statements.count()).isEqualTo(1);
+		assertThat(statements.totalAmount()).isEqualTo(2);
+	}
+
+	@Test
+	void statementsOutsideARequestAreNotCounted() throws Exception {
+		counter.inspect("select 1");
+		MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/unknown");
+		filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+		});
+		counter.inspect("select 2");
+
+		assertThat(meterRegistry.get("customer.sql.statements").tag("uri", "UNKNOWN").summary().totalAmount()).isZero();
+	}
+}
@@ -0,0 +1,102 @@
+package com.customer.management.service.otp;
+
+import com.customer.management.service.exceptions.InvalidOtpException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryOtpStoreTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+	// TTL of 60 seconds, 3 attempts, 1 second ticks
+	private final InMemoryOtpStore store = new InMemoryOtpStore(60, 3, 1000, 16, new SimpleMeterRegistry(), nanos::get);
+
+	@Test
+	void otpIsVerifiedOnlyOnce() {
+		store.save(1L, "012345");
+
+		assertThatThrownBy(() -> store.verify(1L, "12345")).isInstanceOf(InvalidOtpException.class);
+		assertThatCode(() -> store.verify(1L, "012345")).doesNotThrowAnyException();
+		assertThatThrownBy(() -> store.verify(1L, "012345")).isInstanceOf(InvalidOtpException.class);
+	}
+
+	@Test
+	void otpIsInvalidatedAfterTooManyWrongAttempts() {
+		store.save(2L, "222222");
+
+		assertThatThrownBy(() -> store.verify(2L, "000000")).hasMessage("Invalid OTP");
+		assertThatThrownBy(() -> store.verify(2L, "000001")).hasMessage("Invalid OTP");
+		assertThatThrownBy(() -> store.verify(2L, "000002")).hasMessageStartingWith("Too many wrong attempts");
+		assertThatThrownBy(() -> store.verify(2L, "222222")).isInstanceOf(InvalidOtpException.class);
+	}
+
+	@Test
+	void expiredOtpsAreRejectedAndSweptByTheWheel() {
+		store.save(3L, "333333");
+		advanceSeconds(30);
+		store.save(4L, "444444");
+
+		advanceSeconds(31);
+		store.sweep();
+		assertThat(store.size()).isEqualTo(1);
+		assertThatThrownBy(() -> store.verify(3L, "333333")).isInstanceOf(InvalidOtpException.class);
+
+		// a sweep that is minutes late still empties every slot
+		advanceSeconds(600);
+		store.sweep();
+		assertThat(store.size()).isZero();
+	}
+
+	@Test
+	void otpsSavedInATransactionAppearOnlyAfterItCommits() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			store.save(5L, "555555");
+			store.saveAll(Map.of(6L, "666666"));
+			assertThat(store.size()).isZero();
+			TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+					TransactionSynchronization.STATUS_ROLLED_BACK);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertThat(store.size()).isZero();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			store.saveAll(Map.of(6L, "666666"));
+			TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertThatThrownBy(() -> store.verify(5L, "555555")).isInstanceOf(InvalidOtpException.class);
+		assertThatCode(() -> store.verify(6L, "666666")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void oneMillionOutstandingOtpsFitInAboutFortyMegabytes() {
+		InMemoryOtpStore large = new InMemoryOtpStore(600, 5, 1000, 1_000_000, new SimpleMeterRegistry(), nanos::get);
+		for (long customerId = 1; customerId <= 1_000_000; customerId++) {
+			large.save(customerId, "123456");
+			if (customerId % 10_000 == 0) {
+				advanceSeconds(1);
+			}
+		}
+
+		assertThat(large.size()).isEqualTo(1_000_000);
+		assertThat(large.memoryBytes()).isLessThan(48L << 20);
+	}
+
+	private void advanceSeconds(long seconds) {
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+	}
+}
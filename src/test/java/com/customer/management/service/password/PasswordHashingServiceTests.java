@@ -0,0 +1,96 @@
+package com.customer.management.service.password;
+
+import com.customer.management.service.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTests {
+
+	private final PasswordHashingService service = service(new Pbkdf2PasswordHasher(1000), 2, 16);
+
+	@Test
+	void pbkdf2MatchesTheJdkImplementation() throws Exception {
+		byte[] salt = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+		SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+		for (String password : List.of("secret", "pässwörd@123", "x")) {
+			byte[] expected = factory.generateSecret(new PBEKeySpec(password.toCharArray(), salt, 1000, 256)).getEncoded();
+			assertThat(Pbkdf2PasswordHasher.derive(password, salt, 1000)).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void hashesAreSaltedAndVerifyByTheirAlgorithmId() {
+		String first = service.hash("sufiyan@1234");
+		String second = service.hash("sufiyan@1234");
+		String generated = service.hashGeneratedPassword();
+
+		assertThat(first).startsWith("$pbkdf2-sha256$i=1000$").isNotEqualTo(second);
+		assertThat(generated).startsWith("$sha256$v=1$");
+		assertThat(service.matches("sufiyan@1234", first)).isTrue();
+		assertThat(service.matches("sufiyan@1235", first)).isFalse();
+		assertThat(service.needsRehash(first)).isFalse();
+		assertThat(service.needsRehash(generated)).isFalse();
+	}
+
+	@Test
+	void weakerAndLegacyHashesVerifyAndNeedARehash() throws Exception {
+		String weaker = new Pbkdf2PasswordHasher(10).hash("secret");
+		byte[] sha256 = MessageDigest.getInstance("SHA-256").digest("secret".getBytes(StandardCharsets.UTF_8));
+		String hex = HexFormat.of().formatHex(sha256);
+		String base64 = Base64.getEncoder().encodeToString(sha256);
+
+		for (String stored : List.of(weaker, hex, base64, "secret")) {
+			assertThat(service.matches("secret", stored)).as(stored).isTrue();
+			assertThat(service.matches("secret!", stored)).as(stored).isFalse();
+			assertThat(service.needsRehash(stored)).as(stored).isTrue();
+		}
+	}
+
+	@Test
+	void saturatedPoolRejectsInsteadOfQueueing() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordHasher blocking = new Pbkdf2PasswordHasher(1) {
+			@Override
+			public String hash(String rawPassword) {
+				try {
+					release.await();
+				} catch (InterruptedException exception) {
+					Thread.currentThread().interrupt();
+				}
+				return super.hash(rawPassword);
+			}
+		};
+		PasswordHashingService saturated = service(blocking, 1, 1);
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			// one hash runs, one waits in the queue, the third is rejected
+			callers.submit(() -> saturated.hash("first"));
+			callers.submit(() -> saturated.hash("second"));
+			Thread.sleep(200);
+			assertThatThrownBy(() -> saturated.hash("third")).isInstanceOf(PasswordHashingUnavailableException.class);
+		} finally {
+			release.countDown();
+			callers.shutdown();
+			saturated.stop();
+		}
+	}
+
+	private static PasswordHashingService service(PasswordHasher pbkdf2, int threads, int queueCapacity) {
+		return new PasswordHashingService(List.of(pbkdf2, new Sha256PasswordHasher()), Pbkdf2PasswordHasher.ID,
+				Sha256PasswordHasher.ID, threads, queueCapacity, 5000, new SimpleMeterRegistry());
+	}
+}
@@ -0,0 +1,54 @@
+package com.customer.management.service.repository;
+
+import com.customer.management.service.generator.IdAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerBatchRepositoryTests {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final CustomerBatchRepository repository = new CustomerBatchRepository(jdbcTemplate, mock(IdAllocator.class));
+
+	@Test
+	void rewrittenBatchCountsOnlyRowsHoldingTheNewPassword() {
+		int noInfo = Statement.SUCCESS_NO_INFO;
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{noInfo, noInfo, noInfo});
+		// customer 2 set a password of its own before the batch ran
+		when(jdbcTemplate.queryForList(anyString(), any(Object[].class))).thenReturn(List.of(
+				Map.of("customer_id", 1L, "password", "new-1"),
+				Map.of("customer_id", 2L, "password", "own-2"),
+				Map.of("customer_id", 3L, "password", "new-3")));
+
+		int updated = repository.updatePasswords(List.of(1L, 2L, 3L),
+				List.of("old-1", "old-2", "old-3"), List.of("new-1", "new-2", "new-3"));
+
+		assertThat(updated).isEqualTo(2);
+		verify(jdbcTemplate).queryForList(
+				eq("SELECT customer_id, password FROM customers WHERE customer_id IN (?, ?, ?)"), any(Object[].class));
+	}
+
+	@Test
+	void reportedRowCountsAreUsedAsTheyAre() {
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0, 1});
+
+		int updated = repository.updatePasswords(List.of(1L, 2L, 3L),
+				List.of("old-1", "old-2", "old-3"), List.of("new-1", "new-2", "new-3"));
+
+		assertThat(updated).isEqualTo(2);
+		verify(jdbcTemplate, never()).queryForList(anyString(), any(Object[].class));
+	}
+}
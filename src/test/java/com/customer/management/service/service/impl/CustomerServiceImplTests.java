@@ -0,0 +1,495 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.cache.MobileNumberIndex;
+import com.customer.management.service.enums.BulkJobState;
+import com.customer.management.service.enums.CustomerStatus;
+import com.customer.management.service.exceptions.CustomerAlreadyExistsException;
+import com.customer.management.service.exceptions.CustomerNotFoundException;
+import com.customer.management.service.exceptions.InvalidOtpException;
+import com.customer.management.service.exceptions.PreconditionFailedException;
+import com.customer.management.service.password.PasswordHashingService;
+import com.customer.management.service.request.AddressRequest;
+import com.customer.management.service.request.BulkStatusRequest;
+import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.BulkStatusJobResponse;
+import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.response.PasswordRehashProgressResponse;
+import com.customer.management.service.service.CustomerArchiveService;
+import com.customer.management.service.service.CustomerBulkService;
+import com.customer.management.service.service.CustomerExportService;
+import com.customer.management.service.service.CustomerService;
+import com.customer.management.service.util.CustomerETagUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.customer.management.service.constant.CustomerConstant.EMAIL_EXISTS;
+import static com.customer.management.service.constant.CustomerConstant.MOBILE_NUMBER_EXISTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerServiceImplTests {
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private CustomerBulkService customerBulkService;
+
+	@Autowired
+	private CustomerPurgeJob purgeJob;
+
+	@Autowired
+	private CustomerArchiveService archiveService;
+
+	@Autowired
+	private PasswordRehashServiceImpl passwordRehashService;
+
+	@Autowired
+	private PasswordHashingService passwordHashingService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CustomerExportService exportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private MobileNumberIndex mobileNumberIndex;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void createCustomerPersistsAggregateInOneFlush() {
+		CustomerResponse response = customerService.createCustomer(customerRequest("9000000001", 3));
+
+		assertThat(response.getCustomerId()).isNotNull();
+		assertThat(response.getAddresses()).hasSize(3);
+		assertThat(response.getOtp()).hasSize(6);
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(4);
+		// one batched insert per table (customers, customer_address), no uniqueness queries, the OTP stays in memory
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void createCustomerReportsViolatedUniqueField() {
+		customerService.createCustomer(customerRequest("9000000002", 1));
+
+		CustomerRequest sameMobile = customerRequest("9000000002", 1);
+		sameMobile.setEmailAddress("other9000000002@example.com");
+		sameMobile.setFullName("Other Customer 9000000002");
+		assertThatThrownBy(() -> customerService.createCustomer(sameMobile))
+				.isInstanceOf(CustomerAlreadyExistsException.class)
+				.hasMessage(MOBILE_NUMBER_EXISTS);
+
+		CustomerRequest sameEmail = customerRequest("9000000003", 1);
+		sameEmail.setEmailAddress("customer9000000002@example.com");
+		assertThatThrownBy(() -> customerService.createCustomer(sameEmail))
+				.isInstanceOf(CustomerAlreadyExistsException.class)
+				.hasMessage(EMAIL_EXISTS);
+	}
+
+	@Test
+	void concurrentCreatesWithSameKeysLetExactlyOneThrough() throws Exception {
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> outcomes = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			outcomes.add(executor.submit(() -> {
+				start.await();
+				try {
+					customerService.createCustomer(customerRequest("9000000004", 2));
+					return "created";
+				} catch (RuntimeException exception) {
+					return "rejected";
+				}
+			}));
+		}
+		start.countDown();
+
+		List<String> results = new ArrayList<>();
+		for (Future<String> outcome : outcomes) {
+			results.add(outcome.get(30, TimeUnit.SECONDS));
+		}
+		executor.shutdown();
+
+		assertThat(results).filteredOn("created"::equals).hasSize(1);
+		assertThat(results).filteredOn("rejected"::equals).hasSize(threads - 1);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM customers WHERE mobile_number = ?", Integer.class, "9000000004")).isEqualTo(1);
+		assertThat(customerService.getCustomerByMobileNumber("9000000004").getAddresses()).hasSize(2);
+	}
+
+	@Test
+	void getCustomersUsesConstantQueryCountRegardlessOfPageSize() {
+		for (int i = 0; i < 5; i++) {
+			customerService.createCustomer(customerRequest("900000010" + i, 2));
+		}
+
+		for (int size : new int[]{2, 5, 50}) {
+			statistics.clear();
+			Page<CustomerResponse> page = customerService.getCustomers(0, size, "createdDate");
+
+			assertThat(page.getContent()).isNotEmpty().allSatisfy(customer -> assertThat(customer.getAddresses()).isNotEmpty());
+			// id page + optional count + one fetch-join query for the whole page
+			assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+		}
+	}
+
+	@Test
+	void cachedLookupsAreInvalidatedForOldAndNewKeys() {
+		CustomerResponse created = customerService.createCustomer(customerRequest("9000000201", 1));
+		customerService.getCustomerByMobileNumber("9000000201");
+
+		statistics.clear();
+		assertThat(customerService.getCustomerByEmailAddress("customer9000000201@example.com").getCustomerId())
+				.isEqualTo(created.getCustomerId());
+		assertThat(customerService.getCustomerByFullName("Test Customer 9000000201").getCustomerId())
+				.isEqualTo(created.getCustomerId());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		customerService.updateCustomerByMobileNumber(created.getCustomerId(), "9000000202", null);
+
+		assertThatThrownBy(() -> customerService.getCustomerByMobileNumber("9000000201"))
+				.isInstanceOf(CustomerNotFoundException.class);
+		assertThat(customerService.getCustomerByEmailAddress("customer9000000201@example.com").getMobileNumber())
+				.isEqualTo("9000000202");
+	}
+
+	@Test
+	void lookupOfUnknownMobileNumberSkipsOnlyTheArchive() {
+		customerService.createCustomer(customerRequest("9000000301", 1));
+
+		statistics.clear();
+		assertThatThrownBy(() -> customerService.getCustomerByMobileNumber("9000000399"))
+				.isInstanceOf(CustomerNotFoundException.class)
+				.satisfies(exception -> assertThat(exception.getStackTrace()).isEmpty());
+		// the customers table is queried, the archive is not
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(customerService.getCustomerByMobileNumber("9000000301").getMobileNumber()).isEqualTo("9000000301");
+	}
+
+	@Test
+	void keysWrittenByAnotherInstanceAreFoundBeforeTheFilterIsRebuilt() {
+		Long customerId = customerService.createCustomer(customerRequest("9000000311", 1)).getCustomerId();
+		// no change event reaches this instance's filter
+		jdbcTemplate.update("UPDATE customers SET mobile_number = ?, email_address = ? WHERE customer_id = ?",
+				"9000000312", "other9000000311@example.com", customerId);
+
+		assertThat(customerService.getCustomerByMobileNumber("9000000312").getCustomerId()).isEqualTo(customerId);
+		assertThat(customerService.getCustomerByEmailAddress("other9000000311@example.com").getCustomerId())
+				.isEqualTo(customerId);
+	}
+
+	@Test
+	void conditionalUpdateWithStaleETagIsRejected() {
+		CustomerResponse created = customerService.createCustomer(customerRequest("9000000401", 1));
+		String etag = customerService.getCustomerETagByMobileNumber("9000000401").orElseThrow();
+		assertThat(etag).isEqualTo(CustomerETagUtil.etag(created.getCustomerId(), 0));
+
+		CustomerResponse updated = customerService.updateCustomerByEmailAddress(created.getCustomerId(),
+				"first9000000401@example.com", CustomerETagUtil.parseIfMatch(etag));
+		assertThat(updated.getVersion()).isEqualTo(1);
+
+		assertThatThrownBy(() -> customerService.updateCustomerByEmailAddress(created.getCustomerId(),
+				"second9000000401@example.com", CustomerETagUtil.parseIfMatch(etag)))
+				.isInstanceOf(PreconditionFailedException.class);
+		assertThat(customerService.getCustomerETagByMobileNumber("9000000401"))
+				.contains(CustomerETagUtil.etag(created.getCustomerId(), 1));
+	}
+
+	@Test
+	void updateByCustomerIdDoesNotLoadTheCustomer() {
+		CustomerResponse created = customerService.createCustomer(customerRequest("9000000501", 2));
+
+		statistics.clear();
+		customerService.updatePasswordByCustomerId(created.getCustomerId(), "secret", null);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		// locked read of (customerId, version, mobile, email), then the UPDATE
+		statistics.clear();
+		customerService.updateCustomerEmailAddressByCustomerId(created.getCustomerId(), "new9000000501@example.com", null);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+
+		CustomerResponse updated = customerService.getCustomerByEmailAddress("new9000000501@example.com");
+		assertThat(updated.getVersion()).isEqualTo(2);
+		assertThat(updated.getUpdatedDate()).isAfterOrEqualTo(created.getUpdatedDate());
+		assertThatThrownBy(() -> customerService.updatePasswordByCustomerId(-1L, "secret", null))
+				.isInstanceOf(CustomerNotFoundException.class);
+	}
+
+	@Test
+	void bulkStatusChangeUpdatesSelectedCustomersAndEvictsCache() throws Exception {
+		List<Long> customerIds = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			customerIds.add(customerService.createCustomer(customerRequest("900000060" + i, 1)).getCustomerId());
+		}
+		assertThat(customerService.getCustomerByMobileNumber("9000000600").getStatus()).isEqualTo(CustomerStatus.INACTIVE);
+
+		BulkStatusJobResponse job = customerBulkService.startStatusChange(BulkStatusRequest.builder()
+				.status(CustomerStatus.ACTIVE)
+				.customerIds(customerIds.subList(0, 4))
+				.build());
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (job.getState() == BulkJobState.RUNNING && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+			job = customerBulkService.getStatusChange(job.getJobId());
+		}
+
+		assertThat(job.getState()).isEqualTo(BulkJobState.COMPLETED);
+		assertThat(job.getProcessedCount()).isEqualTo(4);
+		assertThat(job.getUpdatedCount()).isEqualTo(4);
+		assertThat(customerService.getCustomerByMobileNumber("9000000600").getStatus()).isEqualTo(CustomerStatus.ACTIVE);
+		assertThat(customerService.getCustomerByMobileNumber("9000000604").getStatus()).isEqualTo(CustomerStatus.INACTIVE);
+	}
+
+	@Test
+	void deletedCustomerIsHiddenAtOnceAndPurgedLater() {
+		CustomerResponse created = customerService.createCustomer(customerRequest("9000000701", 2));
+
+		CustomerResponse deleted = customerService.deleteCustomerByMobileNumber("9000000701");
+		assertThat(deleted.getStatus()).isEqualTo(CustomerStatus.INACTIVE);
+		assertThatThrownBy(() -> customerService.getCustomerByMobileNumber("9000000701"))
+				.isInstanceOf(CustomerNotFoundException.class);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE customer_id = ?",
+				Long.class, created.getCustomerId())).isEqualTo(1);
+
+		purgeJob.purgeDeletedBefore(LocalDateTime.now().plusSeconds(1));
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE customer_id = ?",
+				Long.class, created.getCustomerId())).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer_address WHERE customer_id = ?",
+				Long.class, created.getCustomerId())).isZero();
+	}
+
+	@Test
+	void inactiveCustomerIsArchivedFoundByLookupAndRestored() {
+		CustomerResponse created = customerService.createCustomer(customerRequest("9000000801", 2));
+		jdbcTemplate.update("UPDATE customers SET updated_date = ? WHERE customer_id = ?",
+				LocalDateTime.now().minusDays(400), created.getCustomerId());
+
+		assertThat(archiveService.archiveInactiveBefore(LocalDateTime.now().minusDays(365))).isGreaterThanOrEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE customer_id = ?",
+				Long.class, created.getCustomerId())).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer_address_archive WHERE customer_id = ?",
+				Long.class, created.getCustomerId())).isEqualTo(2);
+
+		CustomerResponse archived = customerService.getCustomerByMobileNumber("9000000801");
+		assertThat(archived.getCustomerId()).isEqualTo(created.getCustomerId());
+		assertThat(archived.getAddresses()).hasSize(2);
+		assertThat(customerService.getCustomerByEmailAddress("customer9000000801@example.com").getCustomerId())
+				.isEqualTo(created.getCustomerId());
+
+		CustomerResponse restored = archiveService.restoreCustomer(created.getCustomerId());
+		assertThat(restored.getVersion()).isEqualTo(created.getVersion() + 1);
+		assertThat(restored.getAddresses()).hasSize(2);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers_archive WHERE customer_id = ?",
+				Long.class, created.getCustomerId())).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer_address WHERE customer_id = ?",
+				Long.class, created.getCustomerId())).isEqualTo(2);
+		assertThat(customerService.getCustomerByMobileNumber("9000000801").getVersion()).isEqualTo(restored.getVersion());
+	}
+
+	@Test
+	void activateByOtpCountsWrongAttemptsAndConsumesTheOtp() {
+		CustomerResponse created = customerService.createCustomer(customerRequest("9000000901", 1));
+		String wrongOtp = created.getOtp().equals("000000") ? "111111" : "000000";
+
+		assertThatThrownBy(() -> customerService.activateByOtp("9000000901", wrongOtp))
+				.isInstanceOf(InvalidOtpException.class);
+		assertThat(customerService.getCustomerByMobileNumber("9000000901").getStatus()).isEqualTo(CustomerStatus.INACTIVE);
+
+		CustomerResponse activated = customerService.activateByOtp("9000000901", created.getOtp());
+		assertThat(activated.getStatus()).isEqualTo(CustomerStatus.ACTIVE);
+		assertThat(customerService.getCustomerByMobileNumber("9000000901").getStatus()).isEqualTo(CustomerStatus.ACTIVE);
+		assertThatThrownBy(() -> customerService.activateByOtp("9000000901", created.getOtp()))
+				.isInstanceOf(InvalidOtpException.class);
+	}
+
+	@Test
+	void legacyPasswordsAreRehashedAndStillVerify() throws Exception {
+		Long hexCustomerId = customerService.createCustomer(customerRequest("9000001001", 1)).getCustomerId();
+		Long rawCustomerId = customerService.createCustomer(customerRequest("9000001002", 1)).getCustomerId();
+		String legacyHex = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+				.digest("generated@123".getBytes(StandardCharsets.UTF_8)));
+		jdbcTemplate.update("UPDATE customers SET password = ? WHERE customer_id = ?", legacyHex, hexCustomerId);
+		jdbcTemplate.update("UPDATE customers SET password = ? WHERE customer_id = ?", "sufiyan@1234", rawCustomerId);
+
+		assertThat(passwordRehashService.migrate()).isGreaterThanOrEqualTo(2);
+
+		String wrapped = jdbcTemplate.queryForObject("SELECT password FROM customers WHERE customer_id = ?",
+				String.class, hexCustomerId);
+		String hashed = jdbcTemplate.queryForObject("SELECT password FROM customers WHERE customer_id = ?",
+				String.class, rawCustomerId);
+		assertThat(wrapped).startsWith("$pbkdf2-sha256$i=1000,w=sha256-hex$");
+		assertThat(hashed).startsWith("$pbkdf2-sha256$i=1000$");
+		assertThat(passwordHashingService.matches("generated@123", wrapped)).isTrue();
+		assertThat(passwordHashingService.matches("sufiyan@1234", hashed)).isTrue();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE password NOT LIKE '$%'",
+				Long.class)).isZero();
+
+		PasswordRehashProgressResponse progress = passwordRehashService.getProgress();
+		assertThat(progress.isCompleted()).isTrue();
+		assertThat(progress.getLastCustomerId()).isGreaterThanOrEqualTo(Math.max(hexCustomerId, rawCustomerId));
+		assertThat(progress.getRehashedCount()).isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	void updateByCustomerIdReleasesTheKeyItReallyReplaced() {
+		Long customerId = customerService.createCustomer(customerRequest("9000001201", 1)).getCustomerId();
+		customerService.getCustomerByMobileNumber("9000001201");
+		// changed by another instance: this instance's cache still holds 9000001201
+		jdbcTemplate.update("UPDATE customers SET mobile_number = ?, version = version + 1 WHERE customer_id = ?",
+				"9000001202", customerId);
+
+		customerService.updateCustomerMobileNumberByCustomerId(customerId, "9000001203", CustomerETagUtil.parseIfMatch(
+				CustomerETagUtil.etag(customerId, 1)));
+
+		assertThat(mobileNumberIndex.find("9000001202")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+		assertThat(mobileNumberIndex.find("9000001203")).isEqualTo(customerId);
+		assertThat(customerService.getCustomerByMobileNumber("9000001203").getVersion()).isEqualTo(2);
+		assertThatThrownBy(() -> customerService.getCustomerByMobileNumber("9000001202"))
+				.isInstanceOf(CustomerNotFoundException.class);
+		assertThatThrownBy(() -> customerService.updateCustomerEmailAddressByCustomerId(customerId,
+				"stale9000001201@example.com", CustomerETagUtil.parseIfMatch(CustomerETagUtil.etag(customerId, 1))))
+				.isInstanceOf(PreconditionFailedException.class)
+				.hasMessageContaining(CustomerETagUtil.etag(customerId, 2));
+	}
+
+	@Test
+	void updateOfAnUncachedCustomerReleasesTheOldKeys() {
+		// created but never read, so neither cache holds the customer
+		Long customerId = customerService.createCustomer(customerRequest("9000001301", 1)).getCustomerId();
+
+		customerService.updateCustomerByMobileNumber(customerId, "9000001302", null);
+		customerService.updateCustomerByEmailAddress(customerId, "new9000001301@example.com", null);
+
+		assertThat(mobileNumberIndex.find("9000001301")).isEqualTo(MobileNumberIndex.NOT_FOUND);
+		assertThat(mobileNumberIndex.find("9000001302")).isEqualTo(customerId);
+		assertThatThrownBy(() -> customerService.getCustomerByMobileNumber("9000001301"))
+				.isInstanceOf(CustomerNotFoundException.class);
+		assertThatThrownBy(() -> customerService.getCustomerByEmailAddress("customer9000001301@example.com"))
+				.isInstanceOf(CustomerNotFoundException.class);
+		assertThat(customerService.getCustomerByEmailAddress("new9000001301@example.com").getMobileNumber())
+				.isEqualTo("9000001302");
+	}
+
+	@Test
+	void updateToAKeyOfAnotherCustomerIsRejectedAsAlreadyExisting() {
+		Long customerId = customerService.createCustomer(customerRequest("9000001401", 1)).getCustomerId();
+		customerService.createCustomer(customerRequest("9000001402", 1));
+
+		assertThatThrownBy(() -> customerService.updateCustomerByMobileNumber(customerId, "9000001402", null))
+				.isInstanceOf(CustomerAlreadyExistsException.class)
+				.hasMessage(MOBILE_NUMBER_EXISTS);
+		assertThatThrownBy(() -> customerService.updateCustomerEmailAddressByCustomerId(customerId,
+				"customer9000001402@example.com", null))
+				.isInstanceOf(CustomerAlreadyExistsException.class)
+				.hasMessage(EMAIL_EXISTS);
+		assertThat(customerService.getCustomerByMobileNumber("9000001401").getVersion()).isZero();
+	}
+
+	@Test
+	void duplicateCreateNeedsOnlyOneFreeConnection() throws Exception {
+		customerService.createCustomer(customerRequest("9000001501", 1));
+		HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+		List<Connection> held = new ArrayList<>();
+		try {
+			// leave a single connection: explaining the conflict must not need a second one
+			while (held.size() < pool.getMaximumPoolSize() - 1) {
+				held.add(pool.getConnection());
+			}
+
+			assertThatThrownBy(() -> customerService.createCustomer(customerRequest("9000001501", 1)))
+					.isInstanceOf(CustomerAlreadyExistsException.class)
+					.hasMessage(MOBILE_NUMBER_EXISTS);
+		} finally {
+			for (Connection connection : held) {
+				connection.close();
+			}
+		}
+	}
+
+	@Test
+	void exportReleasesItsConnectionWhenTheClientDisconnects() throws Exception {
+		customerService.createCustomer(customerRequest("9000001101", 1));
+		OutputStream disconnected = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+		};
+
+		assertThatThrownBy(() -> exportService.exportCustomers(null, null, disconnected))
+				.isInstanceOf(IOException.class);
+		// the row stream and its transaction are closed, so the connection is back in the pool
+		assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+		assertThat(exportService.exportCustomers(null, null, OutputStream.nullOutputStream())).isPositive();
+	}
+
+	static CustomerRequest customerRequest(String mobileNumber, int addressCount) {
+		List<AddressRequest> addresses = new ArrayList<>();
+		for (int i = 0; i < addressCount; i++) {
+			addresses.add(AddressRequest.builder()
+					.street("Street " + i)
+					.city("Chinnamandem")
+					.state("Andhra pradesh")
+					.country("India")
+					.addressType(i == 0 ? "HOME" : "OFFICE")
+					.pincode(516214L)
+					.build());
+		}
+		return CustomerRequest.builder()
+				.firstName("Test")
+				.lastName("Customer")
+				.fullName("Test Customer " + mobileNumber)
+				.age(30)
+				.mobileNumber(mobileNumber)
+				.emailAddress("customer" + mobileNumber + "@example.com")
+				.addresses(addresses)
+				.build();
+	}
+}
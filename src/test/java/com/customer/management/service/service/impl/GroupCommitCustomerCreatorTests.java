@@ -0,0 +1,200 @@
+package com.customer.management.service.service.impl;
+
+import com.customer.management.service.entity.CustomerModel;
+import com.customer.management.service.exceptions.CustomerAlreadyExistsException;
+import com.customer.management.service.exceptions.CustomerCreationUnavailableException;
+import com.customer.management.service.request.CustomerRequest;
+import com.customer.management.service.response.CustomerResponse;
+import com.customer.management.service.service.CustomerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.customer.management.service.service.impl.CustomerServiceImplTests.customerRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupCommitCustomerCreatorTests {
+
+	private final CustomerBatchWriter batchWriter = mock(CustomerBatchWriter.class);
+	private final CustomerService customerService = mock(CustomerService.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final ExecutorService callers = Executors.newFixedThreadPool(16);
+	private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+	private GroupCommitCustomerCreator creator;
+
+	GroupCommitCustomerCreatorTests() {
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+		when(customerService.createCustomer(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		callers.shutdownNow();
+		if (creator != null) {
+			creator.stop();
+		}
+	}
+
+	@Test
+	void concurrentCreatesShareOneCommit() throws Exception {
+		writerCreatesAllExcept(null);
+		creator = start(200, 64, 100, 1, 10_000);
+
+		List<Future<CustomerResponse>> responses = createConcurrently(10);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(responses.get(i).get(10, TimeUnit.SECONDS).getMobileNumber()).isEqualTo(mobileNumber(i));
+		}
+		assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(10);
+		assertThat(batchSizes.size()).isLessThan(10);
+		verify(customerService, never()).createCustomer(any());
+	}
+
+	@Test
+	void duplicateInABatchFailsOnlyItsOwnCaller() throws Exception {
+		writerCreatesAllExcept(mobileNumber(3));
+		creator = start(200, 64, 100, 1, 10_000);
+
+		List<Future<CustomerResponse>> responses = createConcurrently(6);
+
+		for (int i = 0; i < 6; i++) {
+			Future<CustomerResponse> response = responses.get(i);
+			if (i == 3) {
+				assertThatThrownBy(() -> response.get(10, TimeUnit.SECONDS))
+						.hasCauseInstanceOf(CustomerAlreadyExistsException.class);
+			} else {
+				assertThat(response.get(10, TimeUnit.SECONDS).getMobileNumber()).isEqualTo(mobileNumber(i));
+			}
+		}
+	}
+
+	@Test
+	void batchLosingAUniqueKeyRaceIsRetriedOneByOne() throws Exception {
+		when(batchWriter.write(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+		doAnswer(invocation -> {
+			CustomerRequest request = invocation.getArgument(0);
+			if (request.getMobileNumber().equals(mobileNumber(1))) {
+				throw new CustomerAlreadyExistsException("Mobile number already exists");
+			}
+			return response(request);
+		}).when(customerService).createCustomer(any());
+		creator = start(200, 64, 100, 1, 10_000);
+
+		List<Future<CustomerResponse>> responses = createConcurrently(3);
+
+		assertThat(responses.get(0).get(10, TimeUnit.SECONDS).getMobileNumber()).isEqualTo(mobileNumber(0));
+		assertThatThrownBy(() -> responses.get(1).get(10, TimeUnit.SECONDS))
+				.hasCauseInstanceOf(CustomerAlreadyExistsException.class);
+		assertThat(responses.get(2).get(10, TimeUnit.SECONDS).getMobileNumber()).isEqualTo(mobileNumber(2));
+	}
+
+	@Test
+	void fullQueueFallsBackToASingleCreate() throws Exception {
+		// no writer: the first create occupies the only queue slot
+		creator = start(5, 64, 1, 0, 10_000);
+		Future<CustomerResponse> queued = callers.submit(() -> creator.create(customerRequest(mobileNumber(0), 1)));
+		Thread.sleep(200);
+
+		CustomerResponse response = creator.create(customerRequest(mobileNumber(1), 1));
+
+		assertThat(response.getMobileNumber()).isEqualTo(mobileNumber(1));
+		verify(customerService).createCustomer(any());
+		assertThat(queued).isNotDone();
+	}
+
+	@Test
+	void shutdownFailsQueuedCreatesAndLaterCreatesRunAlone() throws Exception {
+		creator = start(5, 64, 10, 0, 10_000);
+		Future<CustomerResponse> queued = callers.submit(() -> creator.create(customerRequest(mobileNumber(0), 1)));
+		Thread.sleep(200);
+
+		creator.stop();
+
+		assertThatThrownBy(() -> queued.get(10, TimeUnit.SECONDS))
+				.hasCauseInstanceOf(CustomerCreationUnavailableException.class);
+		assertThat(creator.create(customerRequest(mobileNumber(1), 1)).getMobileNumber()).isEqualTo(mobileNumber(1));
+		verify(customerService).createCustomer(any());
+	}
+
+	@Test
+	void waitingLongerThanTheTimeoutFailsWithoutHanging() {
+		creator = start(5, 64, 10, 0, 100);
+
+		assertThatThrownBy(() -> creator.create(customerRequest(mobileNumber(0), 1)))
+				.isInstanceOf(CustomerCreationUnavailableException.class)
+				.hasMessageContaining("retry later");
+		verify(customerService, never()).createCustomer(any());
+	}
+
+	private GroupCommitCustomerCreator start(long windowMillis, int maxBatch, int queueCapacity, int writers, long timeoutMillis) {
+		GroupCommitCustomerCreator started = new GroupCommitCustomerCreator(batchWriter, customerService, transactionTemplate,
+				windowMillis, maxBatch, queueCapacity, writers, timeoutMillis);
+		started.start();
+		return started;
+	}
+
+	private void writerCreatesAllExcept(String duplicateMobileNumber) {
+		when(batchWriter.write(anyList())).thenAnswer(invocation -> {
+			List<CustomerRequest> requests = invocation.getArgument(0);
+			batchSizes.add(requests.size());
+			List<CustomerWriteResult> results = new ArrayList<>();
+			for (CustomerRequest request : requests) {
+				results.add(request.getMobileNumber().equals(duplicateMobileNumber)
+						? CustomerWriteResult.failed(request, "Mobile number already exists")
+						: CustomerWriteResult.created(request, model(request), "123456"));
+			}
+			return results;
+		});
+	}
+
+	private List<Future<CustomerResponse>> createConcurrently(int count) {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<CustomerResponse>> responses = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			CustomerRequest request = customerRequest(mobileNumber(i), 1);
+			responses.add(callers.submit(() -> {
+				start.await();
+				return creator.create(request);
+			}));
+		}
+		start.countDown();
+		return responses;
+	}
+
+	private static String mobileNumber(int index) {
+		return String.valueOf(9_200_000_000L + index);
+	}
+
+	private static CustomerModel model(CustomerRequest request) {
+		return CustomerModel.builder()
+				.customerId(Long.parseLong(request.getMobileNumber()))
+				.mobileNumber(request.getMobileNumber())
+				.emailAddress(request.getEmailAddress())
+				.address(new ArrayList<>())
+				.build();
+	}
+
+	private static CustomerResponse response(CustomerRequest request) {
+		return CustomerResponse.builder().mobileNumber(request.getMobileNumber()).build();
+	}
+}
@@ -0,0 +1,49 @@
+package com.customer.management.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerCursorUtilTests {
+
+	@Test
+	void decodeReturnsTheEncodedPosition() {
+		LocalDateTime createdDate = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_932);
+
+		String cursor = CustomerCursorUtil.encode(createdDate, 1_234_567_890_123L);
+
+		assertThat(CustomerCursorUtil.decode(cursor))
+				.isEqualTo(new CustomerCursorUtil.Position(createdDate, 1_234_567_890_123L));
+	}
+
+	@Test
+	void cursorIsUrlSafe() {
+		// whole seconds and nanoseconds print differently; both must survive the round trip
+		for (LocalDateTime createdDate : new LocalDateTime[]{LocalDateTime.of(2025, 1, 1, 0, 0),
+				LocalDateTime.of(2025, 12, 31, 23, 59, 59, 999_999_999)}) {
+			String cursor = CustomerCursorUtil.encode(createdDate, Long.MAX_VALUE);
+
+			assertThat(cursor).matches("[A-Za-z0-9_-]+");
+			assertThat(CustomerCursorUtil.decode(cursor).createdDate()).isEqualTo(createdDate);
+		}
+	}
+
+	@Test
+	void malformedCursorsAreRejected() {
+		for (String cursor : new String[]{"not base64!", encoded("2025-01-01T00:00"), encoded("yesterday|42"),
+				encoded("2025-01-01T00:00|forty-two"), encoded("|42"), ""}) {
+			assertThatThrownBy(() -> CustomerCursorUtil.decode(cursor))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessageStartingWith("Invalid cursor");
+		}
+	}
+
+	private static String encoded(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
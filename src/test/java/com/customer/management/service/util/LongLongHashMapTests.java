@@ -0,0 +1,164 @@
+package com.customer.management.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongLongHashMapTests {
+
+	private static final long MISSING = -1;
+
+	@Test
+	void entriesSurviveResizes() {
+		LongLongHashMap map = new LongLongHashMap(4, MISSING);
+		long initialBytes = map.memoryBytes();
+
+		for (long key = 1; key <= 10_000; key++) {
+			assertThat(map.put(key, key * 3)).isEqualTo(MISSING);
+		}
+
+		assertThat(map.memoryBytes()).isGreaterThan(initialBytes);
+		assertThat(map.size()).isEqualTo(10_000);
+		for (long key = 1; key <= 10_000; key++) {
+			assertThat(map.get(key)).isEqualTo(key * 3);
+		}
+		for (long key = 1; key <= 10_000; key += 2) {
+			assertThat(map.remove(key)).isEqualTo(key * 3);
+		}
+		assertThat(map.size()).isEqualTo(5_000);
+		for (long key = 1; key <= 10_000; key++) {
+			assertThat(map.containsKey(key)).isEqualTo(key % 2 == 0);
+			assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? key * 3 : MISSING);
+		}
+	}
+
+	@Test
+	void putReturnsThePreviousValue() {
+		LongLongHashMap map = new LongLongHashMap(16, MISSING);
+
+		assertThat(map.put(42, 1)).isEqualTo(MISSING);
+		assertThat(map.put(42, 2)).isEqualTo(1);
+		assertThat(map.get(42)).isEqualTo(2);
+		assertThat(map.size()).isEqualTo(1);
+		assertThat(map.remove(42)).isEqualTo(2);
+		assertThat(map.remove(42)).isEqualTo(MISSING);
+	}
+
+	@Test
+	void zeroIsAnOrdinaryKey() {
+		LongLongHashMap map = new LongLongHashMap(16, MISSING);
+
+		assertThat(map.get(0)).isEqualTo(MISSING);
+		map.put(0, 7);
+		map.put(1, 8);
+		assertThat(map.get(0)).isEqualTo(7);
+		assertThat(map.size()).isEqualTo(2);
+		assertThat(map.remove(0)).isEqualTo(7);
+		assertThat(map.containsKey(0)).isFalse();
+		assertThat(map.get(1)).isEqualTo(8);
+	}
+
+	@Test
+	void removalInsideACollisionClusterKeepsLaterKeysReachable() {
+		// sized for 100 entries: 256 slots, no resize below 153 entries
+		LongLongHashMap map = new LongLongHashMap(100, MISSING);
+		int capacity = (int) (map.memoryBytes() / (Long.BYTES * 2));
+		long[] homeTen = keysWithHomeSlot(10, capacity, 3);
+		long homeEleven = keysWithHomeSlot(11, capacity, 1)[0];
+		long homeThirteen = keysWithHomeSlot(13, capacity, 1)[0];
+		// occupies slots 10..14; a shift must never move an entry in front of its home slot
+		long[] cluster = {homeTen[0], homeTen[1], homeTen[2], homeEleven, homeThirteen};
+		for (long key : cluster) {
+			map.put(key, key + 1);
+		}
+
+		map.remove(homeTen[0]);
+		assertCluster(map, cluster, homeTen[0]);
+
+		map.remove(homeTen[2]);
+		map.put(homeTen[0], homeTen[0] + 1);
+		assertCluster(map, cluster, homeTen[2]);
+	}
+
+	@Test
+	void removalInAClusterThatWrapsAroundTheTable() {
+		LongLongHashMap map = new LongLongHashMap(100, MISSING);
+		int capacity = (int) (map.memoryBytes() / (Long.BYTES * 2));
+		long[] homeLast = keysWithHomeSlot(capacity - 1, capacity, 3);
+		long homeZero = keysWithHomeSlot(0, capacity, 1)[0];
+		// occupies the last slot and wraps to slots 0..2
+		long[] cluster = {homeLast[0], homeLast[1], homeLast[2], homeZero};
+		for (long key : cluster) {
+			map.put(key, key + 1);
+		}
+
+		map.remove(homeLast[1]);
+
+		assertCluster(map, cluster, homeLast[1]);
+	}
+
+	@Test
+	void randomOperationsMatchAHashMap() {
+		LongLongHashMap map = new LongLongHashMap(8, MISSING);
+		Map<Long, Long> expected = new HashMap<>();
+		SplittableRandom random = new SplittableRandom(7);
+
+		for (int i = 0; i < 200_000; i++) {
+			// a small key space so removals keep hitting existing clusters
+			long key = random.nextLong(2_000);
+			long value = random.nextLong(1_000_000);
+			if (random.nextInt(3) == 0) {
+				assertThat(map.remove(key)).isEqualTo(expected.getOrDefault(key, MISSING));
+				expected.remove(key);
+			} else {
+				assertThat(map.put(key, value)).isEqualTo(expected.getOrDefault(key, MISSING));
+				expected.put(key, value);
+			}
+		}
+
+		assertThat(map.size()).isEqualTo(expected.size());
+		for (long key = 0; key < 2_000; key++) {
+			assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, MISSING));
+		}
+		Map<Long, Long> visited = new HashMap<>();
+		map.forEach(visited::put);
+		assertThat(visited).isEqualTo(expected);
+	}
+
+	@Test
+	void conditionalRemoveOnlyRemovesAMatchingValue() {
+		LongLongHashMap map = new LongLongHashMap(16, MISSING);
+		map.put(5, 50);
+
+		assertThat(map.remove(5, 51)).isFalse();
+		assertThat(map.get(5)).isEqualTo(50);
+		assertThat(map.remove(5, 50)).isTrue();
+		assertThat(map.containsKey(5)).isFalse();
+		assertThat(map.remove(6, MISSING)).isFalse();
+	}
+
+	private static void assertCluster(LongLongHashMap map, long[] cluster, long removed) {
+		for (long key : cluster) {
+			assertThat(map.get(key)).isEqualTo(key == removed ? MISSING : key + 1);
+		}
+		assertThat(map.size()).isEqualTo(cluster.length - 1);
+	}
+
+	// same hash as LongLongHashMap.slot
+	private static long[] keysWithHomeSlot(int slot, int capacity, int count) {
+		long[] found = new long[count];
+		int mask = capacity - 1;
+		int index = 0;
+		for (long key = 1; index < count; key++) {
+			long h = key * 0x9e3779b97f4a7c15L;
+			if (((int) (h ^ (h >>> 32)) & mask) == slot) {
+				found[index++] = key;
+			}
+		}
+		return found;
+	}
+}
@@ -0,0 +1,64 @@
+package com.customer.management.service.util;
+
+import com.customer.management.service.constant.CustomerConstant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RandomPoolTests {
+
+	// 4 stripes of 64 bytes, so buffers are switched and refilled many times
+	private final RandomPool pool = new RandomPool(4, 64);
+
+	@Test
+	void charactersAreUniformOverAnAlphabetThatDoesNotDivide256() {
+		String alphabet = CustomerConstant.PASSWORD_CHARACTERS;
+		int[] counts = new int[alphabet.length()];
+		int samples = 650_000;
+		String drawn = pool.nextString(alphabet, samples);
+		for (int i = 0; i < samples; i++) {
+			counts[alphabet.indexOf(drawn.charAt(i))]++;
+		}
+
+		// chi-square with 64 degrees of freedom, the 0.9999 quantile is about 116
+		double expected = (double) samples / alphabet.length();
+		double chiSquare = 0;
+		for (int count : counts) {
+			chiSquare += (count - expected) * (count - expected) / expected;
+		}
+		assertThat(chiSquare).isLessThan(116);
+	}
+
+	@Test
+	void concurrentCallersGetDistinctPasswords() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			Set<String> passwords = ConcurrentHashMap.newKeySet();
+			List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < 16; thread++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						String password = pool.nextString(CustomerConstant.PASSWORD_CHARACTERS, CustomerConstant.PASSWORD_LENGTH);
+						assertThat(password).hasSize(CustomerConstant.PASSWORD_LENGTH);
+						passwords.add(password);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			// 160,000 passwords of 12 characters out of 65 collide with a probability below 1e-11
+			assertThat(passwords).hasSize(160_000);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}